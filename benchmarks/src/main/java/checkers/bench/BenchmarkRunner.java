@@ -0,0 +1,38 @@
+package checkers.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with allocation profiling on and writes the results as JSON,
+ * so two builds can be compared number by number.
+ * Usage: {@code java -jar target/benchmarks.jar [regexp] [result file]}
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args an optional regular expression of the benchmarks to run (all by default),
+   *             and an optional name of the JSON result file (jmh-result.json by default)
+   * @throws RunnerException if JMH fails to run a benchmark
+   */
+  public static void main(String[] args) throws RunnerException {
+    String include = args.length > 0 ? args[0] : "checkers\\.bench\\..*";
+    String result = args.length > 1 ? args[1] : "jmh-result.json";
+    Options options = new OptionsBuilder()
+        .include(include)
+        .addProfiler(GCProfiler.class)
+        .resultFormat(ResultFormatType.JSON)
+        .result(result)
+        .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,64 @@
+package checkers.bench;
+
+import checkers.Board;
+import checkers.Color;
+import checkers.MoveGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the board-wide rule checks: Board.canMove, Board.canCapture and generating
+ * every legal move, as the counterpart of the single-piece checks in PieceRulesBenchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+  @Param({"opening", "midgame", "endgame"})
+  public String position;
+
+  private Board board;
+  private final long[] moves = new long[MoveGenerator.MAX_MOVES];
+
+  /**
+   * Builds the board.
+   */
+  @Setup
+  public void setUp() {
+    board = Positions.of(position);
+  }
+
+  /**
+   * Finds every black piece that can move or capture.
+   *
+   * @return the masks combined, so the work cannot be optimized away
+   */
+  @Benchmark
+  public int boardMasks() {
+    return board.canMove(Color.BLACK) ^ board.canCapture(Color.BLACK);
+  }
+
+  /**
+   * Generates every legal move of black into a reused buffer.
+   *
+   * @return the number of moves, so the work cannot be optimized away
+   */
+  @Benchmark
+  public int generate() {
+    return MoveGenerator.generate(board, Color.BLACK, moves, 0);
+  }
+}
@@ -0,0 +1,46 @@
+package checkers.bench;
+
+import checkers.Color;
+import checkers.SearchEngine;
+import checkers.SearchLimits;
+import checkers.SearchResult;
+
+/**
+ * Measures how many nodes move ordering saves: every position is searched to the same
+ * depth with ordering on and off, each time from an empty table, and the node counts
+ * and times are compared.
+ * Usage: {@code MoveOrderingNodes [depth]}
+ */
+public final class MoveOrderingNodes {
+
+  private static final String[] POSITIONS = {"opening", "midgame", "endgame"};
+  private static final int TABLE_MEGABYTES = 64;
+
+  private MoveOrderingNodes() {
+  }
+
+  /**
+   * Prints the node counts with and without move ordering.
+   *
+   * @param args the depth to search (12 by default)
+   */
+  public static void main(String[] args) {
+    int depth = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+    System.out.printf("%-10s %16s %16s %10s %12s %12s%n", "position", "unordered",
+        "ordered", "ratio", "unordered ms", "ordered ms");
+    for (String position : POSITIONS) {
+      SearchResult unordered = search(position, depth, false);
+      SearchResult ordered = search(position, depth, true);
+      System.out.printf("%-10s %16d %16d %10.2f %12.1f %12.1f%n", position,
+          unordered.getNodes(), ordered.getNodes(),
+          (double) unordered.getNodes() / ordered.getNodes(),
+          unordered.getNanos() / 1e6, ordered.getNanos() / 1e6);
+    }
+  }
+
+  private static SearchResult search(String position, int depth, boolean ordering) {
+    SearchEngine engine = new SearchEngine(TABLE_MEGABYTES);
+    engine.setMoveOrdering(ordering);
+    return engine.search(Positions.of(position), Color.BLACK, SearchLimits.depth(depth));
+  }
+}
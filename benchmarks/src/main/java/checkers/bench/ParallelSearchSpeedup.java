@@ -0,0 +1,60 @@
+package checkers.bench;
+
+import checkers.Board;
+import checkers.Color;
+import checkers.ParallelSearch;
+import checkers.SearchLimits;
+import checkers.SearchResult;
+
+/**
+ * Measures how much faster the parallel search reaches a fixed depth as threads are
+ * added. For each thread count, every position is searched from an empty table and the
+ * times are added up; the speedup is the one-thread time divided by that time.
+ * Usage: {@code ParallelSearchSpeedup [depth] [max threads]}
+ */
+public final class ParallelSearchSpeedup {
+
+  private static final String[] POSITIONS = {"opening", "midgame", "endgame"};
+  private static final int TABLE_MEGABYTES = 64;
+
+  private ParallelSearchSpeedup() {
+  }
+
+  /**
+   * Prints the speedup curve for 1, 2, 4, ... threads.
+   *
+   * @param args the depth to search (14 by default) and the most threads to try
+   *             (the number of processors by default)
+   */
+  public static void main(String[] args) {
+    int depth = args.length > 0 ? Integer.parseInt(args[0]) : 14;
+    int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+        : Runtime.getRuntime().availableProcessors();
+
+    // warm up the JIT so the one-thread time is not penalized
+    try (ParallelSearch warmup = new ParallelSearch(1, TABLE_MEGABYTES)) {
+      warmup.search(Board.initial(), Color.BLACK, SearchLimits.depth(Math.min(depth, 10)));
+    }
+
+    double baseline = 0;
+    System.out.printf("%8s %12s %16s %10s %10s%n", "threads", "time (ms)", "nodes", "nps",
+        "speedup");
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      long nanos = 0;
+      long nodes = 0;
+      for (String position : POSITIONS) {
+        try (ParallelSearch search = new ParallelSearch(threads, TABLE_MEGABYTES)) {
+          SearchResult result = search.search(Positions.of(position), Color.BLACK,
+              SearchLimits.depth(depth));
+          nanos += result.getNanos();
+          nodes += result.getNodes();
+        }
+      }
+      if (threads == 1) {
+        baseline = nanos;
+      }
+      System.out.printf("%8d %12.1f %16d %10d %10.2f%n", threads, nanos / 1e6, nodes,
+          (long) (nodes * 1e9 / nanos), baseline / nanos);
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package checkers.bench;
+
+import checkers.Board;
+import checkers.CheckersPiece;
+import checkers.Color;
+import checkers.Coordinates;
+import checkers.King;
+import checkers.Man;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the single-piece rule checks: Man.canMove, King.canCapture,
+ * Coordinates.isValid and the Coordinates constructor. Each benchmark call asks
+ * every question a move finder would ask about one board, so the score is the cost
+ * of one full board of checks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceRulesBenchmark {
+
+  private static final int[] ROW_STEPS = {1, 1, -1, -1, 2, 2, -2, -2};
+  private static final int[] COLUMN_STEPS = {-1, 1, -1, 1, -2, 2, -2, 2};
+
+  @Param({"opening", "midgame", "endgame"})
+  public String position;
+
+  /* every black piece as a Man, and as a King as if it had been crowned */
+  private Man[] men;
+  private King[] kings;
+  /* every white piece, as the board has it */
+  private CheckersPiece[] opponents;
+  /* the locations one and two diagonal steps around every black piece,
+   * including the ones off the board */
+  private int[] targetRows;
+  private int[] targetColumns;
+
+  /**
+   * Builds the pieces and target locations of the board.
+   */
+  @Setup
+  public void setUp() {
+    Board board = Positions.of(position);
+    List<Man> menList = new ArrayList<>();
+    List<King> kingList = new ArrayList<>();
+    List<CheckersPiece> opponentList = new ArrayList<>();
+    List<int[]> targets = new ArrayList<>();
+    for (int square = 0; square < 32; square++) {
+      Coordinates coordinates = Coordinates.ofSquare(square);
+      CheckersPiece piece = board.pieceAt(coordinates.getRow(), coordinates.getColumn());
+      if (piece == null) {
+        continue;
+      }
+      if (piece.getColor() == Color.WHITE) {
+        opponentList.add(piece);
+        continue;
+      }
+      menList.add(Man.ofSquare(square, Color.BLACK));
+      kingList.add(King.ofSquare(square, Color.BLACK));
+      for (int i = 0; i < ROW_STEPS.length; i++) {
+        targets.add(new int[] {coordinates.getRow() + ROW_STEPS[i],
+            coordinates.getColumn() + COLUMN_STEPS[i]});
+      }
+    }
+    men = menList.toArray(new Man[0]);
+    kings = kingList.toArray(new King[0]);
+    opponents = opponentList.toArray(new CheckersPiece[0]);
+    targetRows = new int[targets.size()];
+    targetColumns = new int[targets.size()];
+    for (int i = 0; i < targets.size(); i++) {
+      targetRows[i] = targets.get(i)[0];
+      targetColumns[i] = targets.get(i)[1];
+    }
+  }
+
+  /**
+   * Asks every Man whether it can move to each of its diagonal neighbours.
+   *
+   * @return the number of legal steps, so the work cannot be optimized away
+   */
+  @Benchmark
+  public int manCanMove() {
+    int legal = 0;
+    for (int i = 0; i < men.length; i++) {
+      for (int j = 0; j < 4; j++) {
+        int target = i * ROW_STEPS.length + j;
+        if (men[i].canMove(targetRows[target], targetColumns[target])) {
+          legal++;
+        }
+      }
+    }
+    return legal;
+  }
+
+  /**
+   * Asks every King whether it can capture each opponent piece.
+   *
+   * @return the number of possible captures, so the work cannot be optimized away
+   */
+  @Benchmark
+  public int kingCanCapture() {
+    int legal = 0;
+    for (King king : kings) {
+      for (CheckersPiece opponent : opponents) {
+        if (king.canCapture(opponent)) {
+          legal++;
+        }
+      }
+    }
+    return legal;
+  }
+
+  /**
+   * Checks every target location, on and off the board.
+   *
+   * @return the number of valid locations, so the work cannot be optimized away
+   */
+  @Benchmark
+  public int coordinatesIsValid() {
+    int valid = 0;
+    for (int i = 0; i < targetRows.length; i++) {
+      if (Coordinates.isValid(targetRows[i], targetColumns[i])) {
+        valid++;
+      }
+    }
+    return valid;
+  }
+
+  /**
+   * Builds a new Coordinates object for every valid target location.
+   *
+   * @param blackhole keeps the objects alive so they are really allocated
+   */
+  @Benchmark
+  public void coordinatesConstructor(Blackhole blackhole) {
+    for (int i = 0; i < targetRows.length; i++) {
+      if (Coordinates.isValid(targetRows[i], targetColumns[i])) {
+        blackhole.consume(new Coordinates(targetRows[i], targetColumns[i]));
+      }
+    }
+  }
+
+  /**
+   * Looks up the shared Coordinates object of every valid target location,
+   * as the allocation-free counterpart of coordinatesConstructor.
+   *
+   * @param blackhole consumes the objects
+   */
+  @Benchmark
+  public void coordinatesOf(Blackhole blackhole) {
+    for (int i = 0; i < targetRows.length; i++) {
+      if (Coordinates.isValid(targetRows[i], targetColumns[i])) {
+        blackhole.consume(Coordinates.of(targetRows[i], targetColumns[i]));
+      }
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package checkers.bench;
+
+import checkers.Board;
+
+/**
+ * The representative boards the benchmarks are run on.
+ */
+final class Positions {
+
+  private Positions() {
+  }
+
+  /**
+   * Returns the board of the given name.
+   *
+   * @param name "opening", "midgame" or "endgame"
+   * @return the board
+   * @throws IllegalArgumentException if the name is not one of the boards
+   */
+  static Board of(String name) throws IllegalArgumentException {
+    switch (name) {
+      case "opening":
+        // the starting board, every piece is a Man
+        return Board.initial();
+      case "midgame":
+        // eleven men against twelve, in contact across rows 3 and 4
+        return new Board(0xBB6A8000, 0x00016DBB, 0);
+      case "endgame":
+        // three black kings and a man against two white kings and two men
+        return new Board(0x40220100, 0x00480012, 0x00480100 | 0x00020000 | 0x40000000);
+      default:
+        throw new IllegalArgumentException("Unknown position: " + name);
+    }
+  }
+}
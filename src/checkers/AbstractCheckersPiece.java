@@ -5,8 +5,8 @@ package checkers;
  * that a Man class and a King class share.
  */
 public abstract class AbstractCheckersPiece implements CheckersPiece {
-  protected Color color;
-  protected Coordinates coordinates;
+  protected final Color color;
+  protected final Coordinates coordinates;
 
   /**
    * Construct a checkers piece and initialize it with initial position as a Coordinate,
@@ -57,74 +57,55 @@ public abstract class AbstractCheckersPiece implements CheckersPiece {
     return color;
   }
 
-  /* below are four possibilities of pieces moving */
-
   /**
-   * Decide if the piece can move upper left to the target location.
+   * Returns the square index of the piece, in the range of [0,31].
    *
-   * @param currentRow    the row number where the piece is currently in
-   * @param currentColumn the column number where the piece is currently in
-   * @param targetRow     the row number where the target is in
-   * @param targetColumn  the column number where the target is in
-   * @return true if our piece can move upper left to the target location
+   * @return the square index of the piece
    */
-  protected boolean canMoveUpperLeft(int currentRow, int currentColumn, int targetRow,
-                                     int targetColumn) {
-    return (targetRow == currentRow + 1)
-        && (targetColumn == currentColumn - 1)
-        && Coordinates.isValid(targetRow, targetColumn);
+  public int getSquare() {
+    return coordinates.getSquare();
   }
 
   /**
-   * Decide if the piece can move upper right to the target location.
+   * Two pieces are equal if they are of the same type and color, and on the same square.
    *
-   * @param currentRow    the row number where the piece is currently in
-   * @param currentColumn the column number where the piece is currently in
-   * @param targetRow     the row number where the target is in
-   * @param targetColumn  the column number where the target is in
-   * @return true if our piece can move upper right to the target location
+   * @param other another object
+   * @return true if the other object is the same piece
    */
-  protected boolean canMoveUpperRight(int currentRow, int currentColumn, int targetRow,
-                                      int targetColumn) {
-    return (targetRow == currentRow + 1)
-        && (targetColumn == currentColumn + 1)
-        && Coordinates.isValid(targetRow, targetColumn);
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (other == null || other.getClass() != this.getClass()) {
+      return false;
+    }
+    AbstractCheckersPiece piece = (AbstractCheckersPiece) other;
+    return this.color == piece.color && this.coordinates.equals(piece.coordinates);
   }
 
-  /**
-   * Decide if the piece can move lower left to the target location.
-   *
-   * @param currentRow    the row number where the piece is currently in
-   * @param currentColumn the column number where the piece is currently in
-   * @param targetRow     the row number where the target is in
-   * @param targetColumn  the column number where the target is in
-   * @return true if our piece can move lower left to the target location
-   */
-  protected boolean canMoveLowerLeft(int currentRow, int currentColumn, int targetRow,
-                                     int targetColumn) {
-    return (targetRow == currentRow - 1)
-        && (targetColumn == currentColumn - 1)
-        && Coordinates.isValid(targetRow, targetColumn);
+  @Override
+  public int hashCode() {
+    return (getClass().hashCode() * 31 + color.hashCode()) * 31 + coordinates.hashCode();
   }
 
+  /* the step and jump geometry of every square is precomputed in MoveTables,
+  so each question below is a single table lookup */
+
   /**
-   * Decide if the piece can move lower right to the target location.
+   * Decide if a piece of the given kind can step from its square to the target location.
    *
-   * @param currentRow    the row number where the piece is currently in
-   * @param currentColumn the column number where the piece is currently in
-   * @param targetRow     the row number where the target is in
-   * @param targetColumn  the column number where the target is in
-   * @return true if our piece can move lower right to the target location
+   * @param kind         the kind of piece, as in MoveTables
+   * @param targetRow    the row number where the target is in
+   * @param targetColumn the column number where the target is in
+   * @return true if our piece can step to the target location
    */
-  protected boolean canMoveLowerRight(int currentRow, int currentColumn, int targetRow,
-                                      int targetColumn) {
-    return (targetRow == currentRow - 1)
-        && (targetColumn == currentColumn + 1)
-        && Coordinates.isValid(targetRow, targetColumn);
+  protected boolean canStepTo(int kind, int targetRow, int targetColumn) {
+    int target = MoveTables.squareAt(targetRow, targetColumn);
+    return target >= 0 && (MoveTables.STEP_MASK[kind][getSquare()] & (1 << target)) != 0;
   }
 
-
-  /* below are four possibilities of pieces capturing */
+  /* below is how pieces capture */
 
   /* According to Lino:
   Imagine that the board only has two pieces: your piece (your object) and
@@ -150,98 +131,42 @@ public abstract class AbstractCheckersPiece implements CheckersPiece {
   }
 
   /**
-   * Decide if our piece can capture to the upper left direction.
-   *
-   * @param currentRow     the row number where the piece is currently in
-   * @param currentColumn  the column number where the piece is currently in
-   * @param opponentRow    the row number where the opponent piece is currently in
-   * @param opponentColumn the column number where the opponent piece is currently in
-   * @return true if our piece can capture to the upper left direction
-   */
-
-  protected boolean canCaptureUpperLeft(int currentRow, int currentColumn, int opponentRow,
-                                        int opponentColumn) {
-
-    //make sure the opponent is in our capture range
-    if ((opponentRow != (currentRow + 1)) || (opponentColumn != (currentColumn - 1))) {
-      return false;
-    }
-
-
-    // make sure the square we jump to is on the board
-    return Coordinates.isValid(currentRow + 2, currentColumn - 2);
-
-  }
-
-  /**
-   * Decide if our piece can capture to the upper right direction.
+   * Decide if a piece of the given kind can jump over the given location,
+   * i.e. the location is next to our piece and the square behind it is on the board.
    *
-   * @param currentRow     the row number where the piece is currently in
-   * @param currentColumn  the column number where the piece is currently in
+   * @param kind           the kind of piece, as in MoveTables
    * @param opponentRow    the row number where the opponent piece is currently in
    * @param opponentColumn the column number where the opponent piece is currently in
-   * @return true if our piece can capture to the upper right direction
+   * @return true if our piece can jump over the location
    */
-  protected boolean canCaptureUpperRight(int currentRow, int currentColumn, int opponentRow,
-                                         int opponentColumn) {
-
-    //make sure the opponent is in our capture range
-    if ((opponentRow != (currentRow + 1)) || (opponentColumn != (currentColumn + 1))) {
-      return false;
-    }
-
-
-    // make sure the square we jump to is on the board
-    return Coordinates.isValid(currentRow + 2, currentColumn + 2);
-
+  protected boolean canJumpOver(int kind, int opponentRow, int opponentColumn) {
+    int over = MoveTables.squareAt(opponentRow, opponentColumn);
+    return over >= 0 && (MoveTables.CAPTURE_MASK[kind][getSquare()] & (1 << over)) != 0;
   }
 
   /**
-   * Decide if our piece can capture to the lower left direction.
+   * Decide if a flying King can move to the target location, i.e. the location is
+   * on one of its diagonals, at any distance.
    *
-   * @param currentRow     the row number where the piece is currently in
-   * @param currentColumn  the column number where the piece is currently in
-   * @param opponentRow    the row number where the opponent piece is currently in
-   * @param opponentColumn the column number where the opponent piece is currently in
-   * @return true if our piece can capture to the lower left direction
+   * @param targetRow    the row number where the target is in
+   * @param targetColumn the column number where the target is in
+   * @return true if a flying King on our square can move to the target location
    */
-  protected boolean canCaptureLowerLeft(int currentRow, int currentColumn, int opponentRow,
-                                        int opponentColumn) {
-
-    //make sure the opponent is in our capture range
-    if ((opponentRow != (currentRow - 1)) || (opponentColumn != (currentColumn - 1))) {
-      return false;
-    }
-
-
-    // make sure the square we jump to is on the board
-    return Coordinates.isValid(currentRow - 2, currentColumn - 2);
-
-
+  protected boolean canFlyTo(int targetRow, int targetColumn) {
+    int target = MoveTables.squareAt(targetRow, targetColumn);
+    return target >= 0 && (Geometry.CHECKERS.diagonals(getSquare()) & (1L << target)) != 0;
   }
 
   /**
-   * Decide if our piece can capture to the upper right direction.
+   * Decide if a flying King can jump over the given location, i.e. the location is on
+   * one of its diagonals, at any distance, and the square behind it is on the board.
    *
-   * @param currentRow     the row number where the piece is currently in
-   * @param currentColumn  the column number where the piece is currently in
    * @param opponentRow    the row number where the opponent piece is currently in
    * @param opponentColumn the column number where the opponent piece is currently in
-   * @return true if our piece can capture to the upper right direction
+   * @return true if a flying King on our square can jump over the location
    */
-  protected boolean canCaptureLowerRight(int currentRow, int currentColumn, int opponentRow,
-                                         int opponentColumn) {
-
-    //make sure the opponent is in our capture range
-    if ((opponentRow != (currentRow - 1)) || (opponentColumn != (currentColumn + 1))) {
-      return false;
-    }
-
-
-    // make sure the square we jump to is on the board
-    return Coordinates.isValid(currentRow - 2, currentColumn + 2);
-
+  protected boolean canFlyOver(int opponentRow, int opponentColumn) {
+    int over = MoveTables.squareAt(opponentRow, opponentColumn);
+    return over >= 0 && (Geometry.CHECKERS.flyOvers(getSquare()) & (1L << over)) != 0;
   }
-
-
 }
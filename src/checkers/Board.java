@@ -0,0 +1,319 @@
+package checkers;
+
+/**
+ * Represents a whole checkers position as three 32-bit masks.
+ * Each of the 32 dark squares owns one bit. Square index is row * 4 + column / 2,
+ * so the squares of row 0 are bits 0 to 3 and the squares of row 7 are bits 28 to 31.
+ * A set bit in the black (or white) mask means a black (or white) piece stands on
+ * that square, and a set bit in the kings mask means that piece is a King.
+ *
+ * <p>White men move up the rows and black men move down the rows, the same as
+ * in the Man class. Questions about every piece at once, like "which pieces can
+ * move", are answered with a few shifts and masks instead of one object per piece.
+ */
+public final class Board {
+
+  /* squares on the even rows (0, 2, 4, 6), whose columns are 0, 2, 4, 6 */
+  static final int EVEN_ROWS = 0x0F0F0F0F;
+  /* squares on the odd rows (1, 3, 5, 7), whose columns are 1, 3, 5, 7 */
+  static final int ODD_ROWS = 0xF0F0F0F0;
+  /* even row squares that are not on column 0 */
+  static final int EVEN_ROWS_NOT_LEFT_EDGE = 0x0E0E0E0E;
+  /* odd row squares that are not on column 7 */
+  static final int ODD_ROWS_NOT_RIGHT_EDGE = 0x70707070;
+  /* row 7, where white men are crowned */
+  static final int WHITE_KINGS_ROW = 0xF0000000;
+  /* row 0, where black men are crowned */
+  static final int BLACK_KINGS_ROW = 0x0000000F;
+
+  private final int black;
+  private final int white;
+  private final int kings;
+
+  /**
+   * Construct a board from its three masks.
+   *
+   * @param black one bit for every square with a black piece
+   * @param white one bit for every square with a white piece
+   * @param kings one bit for every square with a King, of either color
+   * @throws IllegalArgumentException if a square holds both a black and a white piece,
+   *                                  or a King is marked on an empty square
+   */
+  public Board(int black, int white, int kings) throws IllegalArgumentException {
+    if ((black & white) != 0) {
+      throw new IllegalArgumentException("A square cannot hold a black and a white piece!");
+    }
+    if ((kings & ~(black | white)) != 0) {
+      throw new IllegalArgumentException("A King must stand on an occupied square!");
+    }
+    this.black = black;
+    this.white = white;
+    this.kings = kings;
+  }
+
+  /**
+   * Returns the board at the start of a game: white men on rows 0 to 2,
+   * black men on rows 5 to 7.
+   *
+   * @return the starting board
+   */
+  public static Board initial() {
+    return new Board(0xFFF00000, 0x00000FFF, 0);
+  }
+
+  /**
+   * Returns the mask of black pieces.
+   *
+   * @return the mask of black pieces
+   */
+  public int getBlack() {
+    return black;
+  }
+
+  /**
+   * Returns the mask of white pieces.
+   *
+   * @return the mask of white pieces
+   */
+  public int getWhite() {
+    return white;
+  }
+
+  /**
+   * Returns the mask of Kings of both colors.
+   *
+   * @return the mask of Kings
+   */
+  public int getKings() {
+    return kings;
+  }
+
+  /**
+   * Returns the mask of pieces of the given color.
+   *
+   * @param color the color of the pieces
+   * @return the mask of pieces of the given color
+   */
+  public int getPieces(Color color) {
+    return color == Color.BLACK ? black : white;
+  }
+
+  /**
+   * Returns the mask of empty dark squares.
+   *
+   * @return the mask of empty squares
+   */
+  public int getEmpty() {
+    return ~(black | white);
+  }
+
+  /**
+   * Returns the mask of pieces of the given color that have at least one
+   * step to an empty neighbouring square.
+   *
+   * @param color the color of the pieces
+   * @return the mask of pieces that can move
+   */
+  public int canMove(Color color) {
+    return movers(getPieces(color), getEmpty(), kings, color);
+  }
+
+  /**
+   * Returns the mask of pieces of the given color that can capture an
+   * opponent piece, i.e. the opponent is on a neighbouring square and the square
+   * right behind it is empty.
+   *
+   * @param color the color of the pieces
+   * @return the mask of pieces that can capture
+   */
+  public int canCapture(Color color) {
+    int opponents = color == Color.BLACK ? white : black;
+    return jumpers(getPieces(color), opponents, getEmpty(), kings, color);
+  }
+
+  /**
+   * Plays a move on this board. The move is not checked, so it should come from
+   * the MoveGenerator for this board.
+   *
+   * @param move an encoded move, as in the Move class
+   * @return the board after the move
+   */
+  public Board play(long move) {
+    int fromBit = 1 << Move.from(move);
+    int toBit = 1 << Move.to(move);
+    int captured = Move.captured(move);
+    int newBlack = black & ~captured;
+    int newWhite = white & ~captured;
+    int newKings = kings & ~captured;
+    if ((black & fromBit) != 0) {
+      newBlack = (newBlack & ~fromBit) | toBit;
+    } else {
+      newWhite = (newWhite & ~fromBit) | toBit;
+    }
+    if ((kings & fromBit) != 0 || Move.isPromotion(move)) {
+      newKings = (newKings & ~fromBit) | toBit;
+    }
+    return new Board(newBlack, newWhite, newKings);
+  }
+
+  /**
+   * Returns the mask of pieces that have at least one step to an empty square.
+   *
+   * @param pieces the mask of pieces of one color
+   * @param empty  the mask of empty squares
+   * @param kings  the mask of Kings
+   * @param color  the color of the pieces
+   * @return the mask of pieces that can move
+   */
+  static int movers(int pieces, int empty, int kings, Color color) {
+    /* walking one step back from the empty squares finds the pieces that can reach them */
+    int stepDown = upLeft(empty) | upRight(empty);
+    int stepUp = downLeft(empty) | downRight(empty);
+    if (color == Color.BLACK) { // black men only move down the rows
+      return pieces & (stepDown | (kings & stepUp));
+    } else { // white men only move up the rows
+      return pieces & (stepUp | (kings & stepDown));
+    }
+  }
+
+  /**
+   * Returns the mask of pieces that can jump over an opponent onto an empty square.
+   *
+   * @param pieces    the mask of pieces of one color
+   * @param opponents the mask of pieces of the other color
+   * @param empty     the mask of empty squares
+   * @param kings     the mask of Kings
+   * @param color     the color of the pieces
+   * @return the mask of pieces that can capture
+   */
+  static int jumpers(int pieces, int opponents, int empty, int kings, Color color) {
+    /* a piece can jump in a direction if it would land on an empty square after
+     * passing over an opponent, so we walk back from the empty squares */
+    int jumpDown = upLeft(opponents & upLeft(empty)) | upRight(opponents & upRight(empty));
+    int jumpUp = downLeft(opponents & downLeft(empty)) | downRight(opponents & downRight(empty));
+    if (color == Color.BLACK) {
+      return pieces & (jumpDown | (kings & jumpUp));
+    } else {
+      return pieces & (jumpUp | (kings & jumpDown));
+    }
+  }
+
+  /**
+   * Returns the piece on the given location as a Man or a King.
+   * The pieces are the shared objects, so this does not allocate.
+   *
+   * @param row    the row of the location
+   * @param column the column of the location
+   * @return the piece on the location, or null if the square is empty
+   * @throws IllegalArgumentException if the location is not a dark square on the board
+   */
+  public CheckersPiece pieceAt(int row, int column) throws IllegalArgumentException {
+    if (!Coordinates.isValid(row, column)) {
+      throw new IllegalArgumentException("Location must be a dark square on the board!");
+    }
+    int square = Coordinates.squareOf(row, column);
+    int bit = 1 << square;
+    if (((black | white) & bit) == 0) {
+      return null;
+    }
+    Color color = (black & bit) != 0 ? Color.BLACK : Color.WHITE;
+    if ((kings & bit) != 0) {
+      return King.ofSquare(square, color);
+    }
+    return Man.ofSquare(square, color);
+  }
+
+  /* Below are the four one-step shifts. Each maps a set of squares to the set of
+   * their neighbours in one direction, dropping squares that would leave the board.
+   * Going one row up adds 4 to the square index, plus or minus one depending on
+   * whether the row is even or odd. */
+
+  /**
+   * Shifts every square in the mask one step up and to the left.
+   *
+   * @param squares a mask of squares
+   * @return the mask of their upper left neighbours
+   */
+  static int upLeft(int squares) {
+    return ((squares & EVEN_ROWS_NOT_LEFT_EDGE) << 3) | ((squares & ODD_ROWS) << 4);
+  }
+
+  /**
+   * Shifts every square in the mask one step up and to the right.
+   *
+   * @param squares a mask of squares
+   * @return the mask of their upper right neighbours
+   */
+  static int upRight(int squares) {
+    return ((squares & EVEN_ROWS) << 4) | ((squares & ODD_ROWS_NOT_RIGHT_EDGE) << 5);
+  }
+
+  /**
+   * Shifts every square in the mask one step down and to the left.
+   *
+   * @param squares a mask of squares
+   * @return the mask of their lower left neighbours
+   */
+  static int downLeft(int squares) {
+    return ((squares & EVEN_ROWS_NOT_LEFT_EDGE) >>> 5) | ((squares & ODD_ROWS) >>> 4);
+  }
+
+  /**
+   * Shifts every square in the mask one step down and to the right.
+   *
+   * @param squares a mask of squares
+   * @return the mask of their lower right neighbours
+   */
+  static int downRight(int squares) {
+    return ((squares & EVEN_ROWS) >>> 4) | ((squares & ODD_ROWS_NOT_RIGHT_EDGE) >>> 3);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof Board)) {
+      return false;
+    }
+    Board board = (Board) other;
+    return black == board.black && white == board.white && kings == board.kings;
+  }
+
+  @Override
+  public int hashCode() {
+    return (black * 31 + white) * 31 + kings;
+  }
+
+  /**
+   * Draws the board with row 7 on top. Black men are "b", white men are "w",
+   * and Kings are upper case. Empty dark squares are "." and light squares are blank.
+   *
+   * @return the board as text
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (int row = 7; row >= 0; row--) {
+      for (int column = 0; column < 8; column++) {
+        if (!Coordinates.isValid(row, column)) {
+          builder.append(' ');
+          continue;
+        }
+        int bit = 1 << Coordinates.squareOf(row, column);
+        char symbol = '.';
+        if ((black & bit) != 0) {
+          symbol = 'b';
+        } else if ((white & bit) != 0) {
+          symbol = 'w';
+        }
+        if ((kings & bit) != 0) {
+          symbol = Character.toUpperCase(symbol);
+        }
+        builder.append(symbol);
+      }
+      builder.append('\n');
+    }
+    return builder.toString();
+  }
+}
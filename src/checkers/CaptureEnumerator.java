@@ -0,0 +1,134 @@
+package checkers;
+
+/**
+ * Enumerates the captures of one piece: every chain of jumps that goes on for as long
+ * as the piece can jump, found depth first.
+ *
+ * <p>The path is kept on a fixed-size stack packed into two longs, so enumerating does
+ * not allocate and needs no state outside the call. Each level of the stack holds the
+ * square the piece stands on and how many of its jumps have been tried; a chain has at
+ * most 12 jumps, as the opponent has at most 12 pieces, so 13 levels are enough. The
+ * pieces jumped so far stay on the board until the move ends, in a mask that keeps them
+ * from being jumped twice, and a level taken off the stack gives its piece back.
+ *
+ * <p>A King can often take the same pieces in another order. Chains that end on the same
+ * square having taken the same pieces leave the same position, and so do two Kings that
+ * each go round and come back to their own square having taken the same pieces; either
+ * way only the first chain found is kept.
+ */
+final class CaptureEnumerator {
+
+  /* the stack packs, for each level, a square in 5 bits and the jumps tried in 3 bits */
+  private static final int SQUARE_BITS = 5;
+  private static final int TRIED_BITS = 3;
+
+  private CaptureEnumerator() {
+  }
+
+  /**
+   * Writes every capture of the piece on a square into the buffer, after the captures
+   * of other pieces of the same position already there.
+   *
+   * @param from      the square of the piece
+   * @param kind      the kind of the piece, as in MoveTables
+   * @param opponents the mask of opponent pieces
+   * @param empty     the mask of empty squares, including the square of the piece
+   * @param kingsRow  the row where a Man of the side to move is crowned
+   * @param moves     the buffer the moves are written into
+   * @param offset    the index of the first capture of the position in the buffer
+   * @param count     the index of the next free slot in the buffer
+   * @return the index of the next free slot in the buffer
+   * @throws IllegalArgumentException if the buffer is too small for all the moves
+   */
+  static int enumerate(int from, int kind, int opponents, int empty, int kingsRow,
+                       long[] moves, int offset, int count) throws IllegalArgumentException {
+    int[][] jumpTable = MoveTables.JUMPS[kind];
+    long squares = 0; // the square of each level above the first, which is from
+    long tried = 0;   // the number of (over, landing) pairs tried at each level
+    int extended = 0; // a bit for each level the piece has jumped from
+    int depth = 0;
+    int square = from;
+    int captured = 0;
+
+    while (true) {
+      int[] jumps = jumpTable[square];
+      int i = field(tried, depth, TRIED_BITS) << 1;
+      while (i < jumps.length && ((opponents & ~captured & (1 << jumps[i])) == 0
+          || (empty & (1 << jumps[i + 1])) == 0)) {
+        i += 2;
+      }
+      if (i < jumps.length) {
+        int over = 1 << jumps[i];
+        int landing = jumps[i + 1];
+        tried = withField(tried, depth, TRIED_BITS, (i + 2) >> 1);
+        extended |= 1 << depth;
+        if (kind != MoveTables.KING && (kingsRow & (1 << landing)) != 0) {
+          // a Man that is crowned stops there
+          count = add(moves, offset, count, Move.of(from, landing, captured | over, true));
+          continue;
+        }
+        depth++;
+        squares = withField(squares, depth - 1, SQUARE_BITS, landing);
+        tried = withField(tried, depth, TRIED_BITS, 0);
+        extended &= ~(1 << depth);
+        square = landing;
+        captured |= over;
+        continue;
+      }
+      if ((extended & (1 << depth)) == 0 && captured != 0) {
+        count = add(moves, offset, count, Move.of(from, square, captured, false));
+      }
+      if (depth == 0) {
+        return count;
+      }
+      // back to the square the piece jumped from, giving back the piece it jumped
+      depth--;
+      square = depth == 0 ? from : field(squares, depth - 1, SQUARE_BITS);
+      int taken = (field(tried, depth, TRIED_BITS) << 1) - 2;
+      captured &= ~(1 << jumpTable[square][taken]);
+    }
+  }
+
+  /**
+   * Writes a capture into the buffer, unless a capture already there leaves the same
+   * position.
+   */
+  private static int add(long[] moves, int offset, int count, long move)
+      throws IllegalArgumentException {
+    for (int i = offset; i < count; i++) {
+      if (sameResult(moves[i], move)) {
+        return count;
+      }
+    }
+    if (count >= moves.length) {
+      throw new IllegalArgumentException("Move buffer is too small!");
+    }
+    moves[count] = move;
+    return count + 1;
+  }
+
+  /**
+   * Tells if two captures of the same position leave the same position.
+   *
+   * @param first  an encoded capture
+   * @param second another capture of the same position
+   * @return true if both take the same pieces and leave the same position
+   */
+  static boolean sameResult(long first, long second) {
+    if (first == second) {
+      return true;
+    }
+    // two pieces that come back to their own squares leave only the pieces taken changed
+    return Move.captured(first) == Move.captured(second)
+        && Move.from(first) == Move.to(first) && Move.from(second) == Move.to(second);
+  }
+
+  private static int field(long packed, int level, int bits) {
+    return (int) (packed >>> (level * bits)) & ((1 << bits) - 1);
+  }
+
+  private static long withField(long packed, int level, int bits, int value) {
+    int shift = level * bits;
+    return packed & ~(((1L << bits) - 1) << shift) | (long) value << shift;
+  }
+}
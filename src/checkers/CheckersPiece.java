@@ -51,5 +51,30 @@ public interface CheckersPiece {
    * @return true if the piece can capture the specified piece, false otherwise.
    */
   boolean canCapture(CheckersPiece piece);
+
+  /**
+   * Returns true if the piece can move to the specified row and column under the given
+   * rules. Only the rules of Kings depend on the options, so by default this is canMove.
+   *
+   * @param row    the row where the piece is to be moved.
+   * @param column the column where the piece is to be moved.
+   * @param rules  the rules to play by
+   * @return true if the piece can move to the location
+   */
+  default boolean canMove(int row, int column, Rules rules) {
+    return canMove(row, column);
+  }
+
+  /**
+   * Returns true if the piece can capture the specified piece under the given rules.
+   * By default this is canCapture.
+   *
+   * @param piece the piece to be captured.
+   * @param rules the rules to play by
+   * @return true if the piece can capture the specified piece, false otherwise.
+   */
+  default boolean canCapture(CheckersPiece piece, Rules rules) {
+    return canCapture(piece);
+  }
 }
 
@@ -4,9 +4,20 @@ package checkers;
  * Represents the coordinates of a checker piece.
  * The range of both rows and columns are [0,7]
  * They are 0-indexed.
+ * These are the coordinates of the 8x8 board only; Geometry describes the other boards.
  */
 public class Coordinates {
 
+  /* there are only 32 dark squares, so we keep one shared object for each of them */
+  private static final Coordinates[] SQUARES = new Coordinates[32];
+
+  static {
+    for (int square = 0; square < SQUARES.length; square++) {
+      int row = square / 4;
+      SQUARES[square] = new Coordinates(row, 2 * (square % 4) + row % 2);
+    }
+  }
+
   // I do not use "final" here because the coordinates will change during the game
   private final int row;
   private final int column;
@@ -34,6 +45,50 @@ public class Coordinates {
 
   }
 
+  /**
+   * Returns the shared coordinates object of the given location.
+   * Unlike the constructor, this never creates a new object.
+   *
+   * @param row    the row of the coordinate
+   * @param column the column of the coordinate
+   * @return the coordinates of the location
+   * @throws IllegalArgumentException if row and/or column value is out of bound, or
+   *                                  the coordinates is not a dark square
+   */
+  public static Coordinates of(int row, int column) throws IllegalArgumentException {
+    if (!isValid(row, column)) {
+      // let the constructor explain what is wrong
+      return new Coordinates(row, column);
+    }
+    return SQUARES[squareOf(row, column)];
+  }
+
+  /**
+   * Returns the shared coordinates object of the given square index.
+   * Dark squares are numbered 0 to 31, four per row, starting from row 0.
+   *
+   * @param square the square index, in the range of [0,31]
+   * @return the coordinates of the square
+   * @throws IllegalArgumentException if the square index is out of bound
+   */
+  public static Coordinates ofSquare(int square) throws IllegalArgumentException {
+    if (square < 0 || square > 31) {
+      throw new IllegalArgumentException("Square must be in the range of [0,31]!");
+    }
+    return SQUARES[square];
+  }
+
+  /**
+   * Returns the square index of a location, without checking that it is a dark square.
+   *
+   * @param row    the row of the location
+   * @param column the column of the location
+   * @return the square index, row * 4 + column / 2
+   */
+  static int squareOf(int row, int column) {
+    return row * 4 + column / 2;
+  }
+
   /**
    * Return the row number in the coordinates.
    *
@@ -52,6 +107,15 @@ public class Coordinates {
     return this.column;
   }
 
+  /**
+   * Return the square index of the coordinates, in the range of [0,31].
+   *
+   * @return the square index of the coordinates
+   */
+  public int getSquare() {
+    return squareOf(this.row, this.column);
+  }
+
 
   /**
    * A static method that can tell if a given coordinate is on the checkers board,
@@ -62,6 +126,30 @@ public class Coordinates {
    * @return true if the coordinate is on the checkers board.
    */
   public static boolean isValid(int row, int column) {
-    return (row > -1 && row < 8) && (column > -1 && column < 8) && ((row + column) % 2 == 0);
+    // any bit above the lowest three means out of bound, including negative numbers;
+    // a dark square has a row and a column of the same parity
+    return ((row | column) & ~7) == 0 && ((row ^ column) & 1) == 0;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof Coordinates)) {
+      return false;
+    }
+    Coordinates coordinates = (Coordinates) other;
+    return this.row == coordinates.row && this.column == coordinates.column;
+  }
+
+  @Override
+  public int hashCode() {
+    return getSquare();
+  }
+
+  @Override
+  public String toString() {
+    return "(" + this.row + ", " + this.column + ")";
   }
 }
@@ -0,0 +1,133 @@
+package checkers;
+
+/**
+ * Scores positions for the search. Most of the score comes from piece-square tables:
+ * every (square, color, Man or King) has a fixed value, made of
+ * <ul>
+ *   <li>material: a Man is worth 100 and a King 130;</li>
+ *   <li>advancement: a Man gains a few points for every row it has moved toward
+ *   being crowned;</li>
+ *   <li>back rank: a Man still on its own first row guards it from the opponent
+ *   being crowned there;</li>
+ *   <li>center: Men and Kings on the middle squares of the two middle rows.</li>
+ * </ul>
+ * Values are counted for black and against white, and white's tables are black's turned
+ * half way round the board.
+ *
+ * <p>Like a Zobrist key, the table part only changes on the squares a move touches, so
+ * update gives it after a move from the value before it, and Position keeps it up to
+ * date as moves are made and taken back. Mobility, the number of pieces of each side
+ * that have a step to make, depends on the whole board and is added at the leaves.
+ */
+final class Evaluation {
+
+  static final int MAN_VALUE = 100;
+  static final int KING_VALUE = 130;
+  static final int ADVANCE_VALUE = 3;
+  static final int BACK_RANK_VALUE = 8;
+  static final int CENTER_VALUE = 5;
+  static final int MOBILITY_VALUE = 2;
+
+  /* values indexed by kind of piece (black man, black king, white man, white king)
+   * and then by square, as in Zobrist */
+  private static final int[][] TABLES = new int[4][32];
+
+  static {
+    for (int square = 0; square < 32; square++) {
+      int row = square / 4;
+      int column = Coordinates.ofSquare(square).getColumn();
+      boolean center = (row == 3 || row == 4) && column >= 2 && column <= 5;
+      // black Men start on the high rows and are crowned on row 0
+      int man = MAN_VALUE + ADVANCE_VALUE * (7 - row) + (row == 7 ? BACK_RANK_VALUE : 0)
+          + (center ? CENTER_VALUE : 0);
+      int king = KING_VALUE + (center ? CENTER_VALUE : 0);
+      TABLES[0][square] = man;
+      TABLES[1][square] = king;
+      // turning the board half way round takes square s to square 31 - s
+      TABLES[2][31 - square] = -man;
+      TABLES[3][31 - square] = -king;
+    }
+  }
+
+  private Evaluation() {
+  }
+
+  /**
+   * Computes the table part of the score from scratch.
+   *
+   * @param black the mask of black pieces
+   * @param white the mask of white pieces
+   * @param kings the mask of Kings
+   * @return the table part, for black
+   */
+  static int score(int black, int white, int kings) {
+    return sumSquares(TABLES[0], black & ~kings) + sumSquares(TABLES[1], black & kings)
+        + sumSquares(TABLES[2], white & ~kings) + sumSquares(TABLES[3], white & kings);
+  }
+
+  /**
+   * Returns the table part of the score after a move, taking the position before the
+   * move as its masks, as Zobrist.update does.
+   *
+   * @param score the table part before the move
+   * @param black the mask of black pieces before the move
+   * @param kings the mask of Kings before the move
+   * @param move  an encoded move, legal in the position
+   * @return the table part after the move
+   */
+  static int update(int score, int black, int kings, long move) {
+    int from = Move.from(move);
+    int captured = Move.captured(move);
+    int moverKind = (black & (1 << from)) != 0 ? 0 : 2;
+    int opponentKind = 2 - moverKind;
+    boolean king = (kings & (1 << from)) != 0;
+
+    score -= TABLES[moverKind + (king ? 1 : 0)][from];
+    score += TABLES[moverKind + (king || Move.isPromotion(move) ? 1 : 0)][Move.to(move)];
+    if (captured != 0) {
+      score -= sumSquares(TABLES[opponentKind], captured & ~kings);
+      score -= sumSquares(TABLES[opponentKind + 1], captured & kings);
+    }
+    return score;
+  }
+
+  /**
+   * Returns the score of a position for the side to move: the table part plus mobility.
+   *
+   * @param black the mask of black pieces
+   * @param white the mask of white pieces
+   * @param kings the mask of Kings
+   * @param side  the color of the side to move
+   * @param score the table part, as given by score or update
+   * @return the score for the side to move
+   */
+  static int evaluate(int black, int white, int kings, Color side, int score) {
+    int empty = ~(black | white);
+    score += MOBILITY_VALUE * (Integer.bitCount(Board.movers(black, empty, kings, Color.BLACK))
+        - Integer.bitCount(Board.movers(white, empty, kings, Color.WHITE)));
+    return side == Color.BLACK ? score : -score;
+  }
+
+  /**
+   * Scores a position from scratch.
+   *
+   * @param board the position
+   * @param side  the color of the side to move
+   * @return the score for the side to move
+   */
+  static int evaluate(Board board, Color side) {
+    int black = board.getBlack();
+    int white = board.getWhite();
+    int kings = board.getKings();
+    return evaluate(black, white, kings, side, score(black, white, kings));
+  }
+
+  private static int sumSquares(int[] values, int squares) {
+    int sum = 0;
+    while (squares != 0) {
+      sum += values[Integer.numberOfTrailingZeros(squares)];
+      squares &= squares - 1;
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,122 @@
+package checkers;
+
+import java.util.Arrays;
+
+/**
+ * A game as stored in a game-record file: the position it starts from and its moves.
+ */
+public final class GameRecord {
+
+  private final Board start;
+  private final Color side;
+  private final long[] moves;
+
+  /**
+   * Construct a game record.
+   *
+   * @param start the position the game starts from
+   * @param side  the color of the side to move first
+   * @param moves the moves of the game, encoded as in the Move class
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public GameRecord(Board start, Color side, long[] moves) throws IllegalArgumentException {
+    if (start == null || side == null || moves == null) {
+      throw new IllegalArgumentException("Start, side and moves must not be null!");
+    }
+    this.start = start;
+    this.side = side;
+    this.moves = moves.clone();
+  }
+
+  /**
+   * Returns the position the game starts from.
+   *
+   * @return the starting position
+   */
+  public Board getStartBoard() {
+    return start;
+  }
+
+  /**
+   * Returns the side to move first.
+   *
+   * @return the color of the side to move first
+   */
+  public Color getStartSide() {
+    return side;
+  }
+
+  /**
+   * Returns the number of moves of the game.
+   *
+   * @return the number of moves
+   */
+  public int getMoveCount() {
+    return moves.length;
+  }
+
+  /**
+   * Returns a move of the game.
+   *
+   * @param ply the index of the move, from 0
+   * @return the move, encoded as in the Move class
+   * @throws IndexOutOfBoundsException if the game has no such move
+   */
+  public long getMove(int ply) throws IndexOutOfBoundsException {
+    return moves[ply];
+  }
+
+  /**
+   * Returns every move of the game.
+   *
+   * @return a copy of the moves
+   */
+  public long[] getMoves() {
+    return moves.clone();
+  }
+
+  /**
+   * Returns the position after the given number of moves. Its pieceAt method gives
+   * the Man or King on each square.
+   *
+   * @param plies the number of moves to play, from 0 to getMoveCount()
+   * @return the position
+   * @throws IndexOutOfBoundsException if the game does not have that many moves
+   */
+  public Board getBoard(int plies) throws IndexOutOfBoundsException {
+    if (plies < 0 || plies > moves.length) {
+      throw new IndexOutOfBoundsException("Game has " + moves.length + " moves, not " + plies);
+    }
+    Board board = start;
+    for (int i = 0; i < plies; i++) {
+      board = board.play(moves[i]);
+    }
+    return board;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof GameRecord)) {
+      return false;
+    }
+    GameRecord that = (GameRecord) other;
+    return start.equals(that.start) && side == that.side && Arrays.equals(moves, that.moves);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * start.hashCode() + side.hashCode()) + Arrays.hashCode(moves);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder(side.toString());
+    for (long move : moves) {
+      text.append(' ').append(Move.toString(move));
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,159 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads games from a game-record file written by a GameRecordWriter. The file is
+ * memory-mapped and every game can be read by its number through the index at the end
+ * of the file, without reading the games before it. A reader is safe to use from
+ * several threads at once.
+ */
+public final class GameRecordReader implements AutoCloseable {
+
+  /* files are mapped in segments, as one mapping cannot be larger than 2 GB */
+  private static final int SEGMENT_SHIFT = 30;
+  private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer[] segments;
+  private final long indexOffset;
+  private final int games;
+
+  /**
+   * Construct a reader.
+   *
+   * @param file the file to read
+   * @throws IOException           if the file cannot be read
+   * @throws IllegalStateException if the file is not a game-record file
+   */
+  public GameRecordReader(Path file) throws IOException, IllegalStateException {
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+      this.segments = new MappedByteBuffer[count];
+      for (int i = 0; i < count; i++) {
+        long start = (long) i << SEGMENT_SHIFT;
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+            Math.min(size - start, 1L << SEGMENT_SHIFT));
+      }
+      if (size < 4 + GameRecordWriter.TRAILER_SIZE || getInt(0) != GameRecordWriter.MAGIC
+          || getInt(size - 4) != GameRecordWriter.MAGIC) {
+        throw new IllegalStateException("Not a game-record file: " + file);
+      }
+      this.indexOffset = getLong(size - GameRecordWriter.TRAILER_SIZE);
+      this.games = getInt(size - 8);
+      if (indexOffset + 8L * games + GameRecordWriter.TRAILER_SIZE != size) {
+        throw new IllegalStateException("Game-record index is damaged: " + file);
+      }
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of games in the file.
+   *
+   * @return the number of games
+   */
+  public int getGameCount() {
+    return games;
+  }
+
+  /**
+   * Reads a game.
+   *
+   * @param game the number of the game, from 0
+   * @return the game
+   * @throws IndexOutOfBoundsException if there is no such game
+   * @throws IllegalStateException     if the record of the game is damaged
+   */
+  public GameRecord read(int game) throws IndexOutOfBoundsException, IllegalStateException {
+    if (game < 0 || game >= games) {
+      throw new IndexOutOfBoundsException("File has " + games + " games, not game " + game);
+    }
+    long offset = getLong(indexOffset + 8L * game);
+    int flags = getByte(offset++);
+    Board board = Board.initial();
+    if ((flags & GameRecordWriter.SET_UP) != 0) {
+      board = new Board(getInt(offset), getInt(offset + 4), getInt(offset + 8));
+      offset += 12;
+    }
+    Board start = board;
+    Color side = (flags & GameRecordWriter.WHITE_FIRST) != 0 ? Color.WHITE : Color.BLACK;
+    Color first = side;
+    long[] moves = new long[getShort(offset)];
+    offset += 2;
+    for (int i = 0; i < moves.length; i++) {
+      int from = getByte(offset);
+      int to = getByte(offset + 1) & 31;
+      offset += 2;
+      int captured;
+      if ((from & GameRecordWriter.MULTI_JUMP) != 0) {
+        captured = getInt(offset);
+        offset += 4;
+      } else {
+        captured = jumped(from & 31, to);
+      }
+      from &= 31;
+      int kingsRow = side == Color.BLACK ? Board.BLACK_KINGS_ROW : Board.WHITE_KINGS_ROW;
+      boolean promotion = (board.getKings() & (1 << from)) == 0 && (kingsRow & (1 << to)) != 0;
+      moves[i] = Move.of(from, to, captured, promotion);
+      try {
+        board = board.play(moves[i]);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalStateException("Game " + game + " is damaged at move " + (i + 1), e);
+      }
+      side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+    }
+    return new GameRecord(start, first, moves);
+  }
+
+  /**
+   * Closes the file. The games already read stay valid.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Returns the mask of the piece a simple move or single jump takes:
+   * nothing for a step to a neighbour, the square in between for a jump.
+   */
+  private static int jumped(int from, int to) throws IllegalStateException {
+    for (int direction = 0; direction < 4; direction++) {
+      if (MoveTables.NEIGHBOUR[from][direction] == to) {
+        return 0;
+      }
+      if (MoveTables.LANDING[from][direction] == to) {
+        return 1 << MoveTables.NEIGHBOUR[from][direction];
+      }
+    }
+    throw new IllegalStateException("Move " + from + " to " + to + " is not a step or a jump");
+  }
+
+  private int getByte(long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK))
+        & 0xFF;
+  }
+
+  private int getShort(long position) {
+    return (getByte(position) << 8) | getByte(position + 1);
+  }
+
+  private int getInt(long position) {
+    return (getShort(position) << 16) | getShort(position + 2);
+  }
+
+  private long getLong(long position) {
+    return ((long) getInt(position) << 32) | (getInt(position + 4) & 0xFFFFFFFFL);
+  }
+}
@@ -0,0 +1,187 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes games into a game-record file, to be read back by a GameRecordReader.
+ *
+ * <p>The file starts with a magic number, then holds the games one after the other:
+ * <ul>
+ *   <li>a flags byte: bit 0 is set if white moves first, bit 1 if the game does not
+ *   start from the starting board, in which case the black, white and King masks
+ *   follow (4 bytes each);</li>
+ *   <li>the number of moves (2 bytes);</li>
+ *   <li>each move as a from byte and a to byte (square indexes). Bit 7 of the from byte
+ *   is set when the move jumps more than one piece, in which case the mask of the
+ *   pieces it jumps follows (4 bytes). Everything else about a move, like which piece
+ *   a single jump takes or whether a Man is crowned, follows from the position.</li>
+ * </ul>
+ * After the games comes the index: the offset of every game (8 bytes each), then the
+ * offset of the index (8 bytes), the number of games (4 bytes) and the magic number again.
+ */
+public final class GameRecordWriter implements AutoCloseable {
+
+  static final int MAGIC = 0x43475231; // "CGR1"
+  static final int WHITE_FIRST = 1;
+  static final int SET_UP = 2;
+  static final int MULTI_JUMP = 0x80;
+  static final int TRAILER_SIZE = 16;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+  private long[] offsets = new long[1024];
+  private int games;
+  /* the number of bytes already written out of the buffer */
+  private long flushed;
+  private boolean closed;
+
+  /**
+   * Construct a writer that creates or replaces a file.
+   *
+   * @param file the file to write
+   * @throws IOException if the file cannot be opened
+   */
+  public GameRecordWriter(Path file) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    buffer.putInt(MAGIC);
+  }
+
+  /**
+   * Writes a game.
+   *
+   * @param game the game
+   * @throws IOException              if the file cannot be written
+   * @throws IllegalArgumentException if the game has more than 65535 moves
+   */
+  public void write(GameRecord game) throws IOException, IllegalArgumentException {
+    int count = game.getMoveCount();
+    if (count > 0xFFFF) {
+      throw new IllegalArgumentException("Game must have at most 65535 moves!");
+    }
+    if (games == offsets.length) {
+      offsets = Arrays.copyOf(offsets, 2 * games);
+    }
+    offsets[games++] = flushed + buffer.position();
+
+    Board start = game.getStartBoard();
+    boolean setUp = !start.equals(Board.initial());
+    int flags = (game.getStartSide() == Color.WHITE ? WHITE_FIRST : 0) | (setUp ? SET_UP : 0);
+    ensure(15);
+    buffer.put((byte) flags);
+    if (setUp) {
+      buffer.putInt(start.getBlack());
+      buffer.putInt(start.getWhite());
+      buffer.putInt(start.getKings());
+    }
+    buffer.putShort((short) count);
+    for (int i = 0; i < count; i++) {
+      long move = game.getMove(i);
+      boolean multiJump = Integer.bitCount(Move.captured(move)) > 1;
+      ensure(6);
+      buffer.put((byte) (Move.from(move) | (multiJump ? MULTI_JUMP : 0)));
+      buffer.put((byte) Move.to(move));
+      if (multiJump) {
+        buffer.putInt(Move.captured(move));
+      }
+    }
+  }
+
+  /**
+   * Returns the number of games written so far.
+   *
+   * @return the number of games
+   */
+  public int getGameCount() {
+    return games;
+  }
+
+  /**
+   * Writes the index and closes the file.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      long indexOffset = flushed + buffer.position();
+      for (int i = 0; i < games; i++) {
+        ensure(8);
+        buffer.putLong(offsets[i]);
+      }
+      ensure(TRAILER_SIZE);
+      buffer.putLong(indexOffset);
+      buffer.putInt(games);
+      buffer.putInt(MAGIC);
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Makes room in the buffer for the given number of bytes, writing it out if needed.
+   */
+  private void ensure(int bytes) throws IOException {
+    if (buffer.remaining() < bytes) {
+      flush();
+    }
+  }
+
+  private void flush() throws IOException {
+    buffer.flip();
+    flushed += buffer.remaining();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Converts a PDN archive into a game-record file, leaving out the games with an
+   * illegal move.
+   * Usage: {@code GameRecordWriter <PDN file> <record file>}
+   *
+   * @param args the PDN file to read and the record file to write
+   * @throws IOException if a file cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.out.println("Usage: GameRecordWriter <PDN file> <record file>");
+      return;
+    }
+    long start = System.nanoTime();
+    long skipped = 0;
+    int written;
+    try (PdnReader reader = new PdnReader(Files.newBufferedReader(Paths.get(args[0]),
+        StandardCharsets.ISO_8859_1));
+         GameRecordWriter writer = new GameRecordWriter(Paths.get(args[1]))) {
+      PdnGame game;
+      while ((game = reader.next()) != null) {
+        try {
+          writer.write(new GameRecord(game.getStartBoard(), game.getStartSide(),
+              game.replay()));
+        } catch (IllegalArgumentException e) {
+          skipped++;
+        }
+      }
+      written = writer.getGameCount();
+    }
+    System.out.printf("%,d games written, %,d skipped, %,d bytes in %,.1f ms%n", written,
+        skipped, Files.size(Paths.get(args[1])), (System.nanoTime() - start) / 1e6);
+  }
+}
@@ -0,0 +1,26 @@
+package checkers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for replaying the moves of one PDN game.
+ * Recorded only when Metrics are enabled.
+ */
+@Name("checkers.GameReplay")
+@Label("Game Replay")
+@Category("Checkers")
+@Description("Checking the moves of a PDN game against the rules")
+final class GameReplayEvent extends Event {
+
+  @Label("Moves")
+  @Description("The number of moves in the game")
+  int moves;
+
+  @Label("Legal")
+  @Description("Whether every move was legal")
+  boolean legal;
+}
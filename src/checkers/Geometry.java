@@ -0,0 +1,285 @@
+package checkers;
+
+import java.util.Arrays;
+
+/**
+ * The shape of a board: how many rows and columns it has, and how its dark squares are
+ * numbered. Dark squares are the ones whose row and column have the same parity, and are
+ * numbered from row 0 up, size / 2 per row, so square = row * size / 2 + column / 2.
+ * For the 8x8 board this is the numbering of Coordinates and Board.
+ *
+ * <p>Each geometry precomputes its neighbour and diagonal tables once, and positions on
+ * it are kept as 64-bit masks, one bit per dark square, so the 10x10 board of
+ * international draughts (50 squares) gets the same table lookups and bit operations
+ * as the 8x8 one. Like Board does on 32 bits, a geometry moves every square of a mask
+ * one step at once with two shifts: rows alternate between starting on a dark and on a
+ * light square, so a step is size / 2 - 1, size / 2 or size / 2 + 1 squares depending on
+ * the row, and the squares on the edge that would wrap around are masked out first.
+ * The 8x8 board also keeps its own faster path on 32-bit masks in Board, MoveTables and
+ * MoveGenerator.
+ */
+public final class Geometry {
+
+  /* the four directions, as the second index of the tables, as in MoveTables */
+  static final int UP_LEFT = 0;
+  static final int UP_RIGHT = 1;
+  static final int DOWN_LEFT = 2;
+  static final int DOWN_RIGHT = 3;
+
+  private static final int[] ROW_STEP = {1, 1, -1, -1};
+  private static final int[] COLUMN_STEP = {-1, 1, -1, 1};
+  /* the geometries below are built from the steps above */
+
+  /**
+   * The 8x8 board of checkers, with 32 dark squares.
+   */
+  public static final Geometry CHECKERS = new Geometry(8);
+
+  /**
+   * The 10x10 board of international draughts, with 50 dark squares.
+   */
+  public static final Geometry INTERNATIONAL = new Geometry(10);
+
+  private final int size;
+  private final int squares;
+  /* the neighbour of each square in each direction, or -1 if it is off the board */
+  private final int[][] neighbours;
+  /* the squares of each square's diagonal in each direction, nearest first */
+  private final int[][][] rays;
+  /* the squares of each square's four diagonals, and the ones among them with a square
+   * behind, as masks */
+  private final long[] diagonals;
+  private final long[] flyOvers;
+
+  /* the masks the steps are made with, as Board.EVEN_ROWS and the like */
+  private final int half;
+  private final long board;
+  private final long evenRows;
+  private final long oddRows;
+  private final long evenRowsNotLeftEdge;
+  private final long oddRowsNotRightEdge;
+
+  private Geometry(int size) {
+    this.size = size;
+    this.squares = size * size / 2;
+    this.neighbours = new int[squares][4];
+    this.rays = new int[squares][4][];
+    this.diagonals = new long[squares];
+    this.flyOvers = new long[squares];
+    for (int square = 0; square < squares; square++) {
+      for (int direction = 0; direction < 4; direction++) {
+        int length = 0;
+        int[] ray = new int[size];
+        int row = getRow(square) + ROW_STEP[direction];
+        int column = getColumn(square) + COLUMN_STEP[direction];
+        while (isValid(row, column)) {
+          ray[length++] = squareOf(row, column);
+          row += ROW_STEP[direction];
+          column += COLUMN_STEP[direction];
+        }
+        rays[square][direction] = Arrays.copyOf(ray, length);
+        neighbours[square][direction] = length > 0 ? ray[0] : -1;
+        for (int i = 0; i < length; i++) {
+          diagonals[square] |= 1L << ray[i];
+          if (i + 1 < length) {
+            flyOvers[square] |= 1L << ray[i];
+          }
+        }
+      }
+    }
+
+    this.half = size / 2;
+    this.board = (1L << squares) - 1;
+    long even = 0;
+    long leftEdge = 0;
+    long rightEdge = 0;
+    for (int row = 0; row < size; row++) {
+      if (row % 2 == 0) {
+        even |= rowMask(row);
+      }
+      leftEdge |= 1L << squareOf(row, row % 2);
+      rightEdge |= 1L << squareOf(row, size - 2 + row % 2);
+    }
+    this.evenRows = even;
+    this.oddRows = board & ~even;
+    this.evenRowsNotLeftEdge = even & ~leftEdge;
+    this.oddRowsNotRightEdge = oddRows & ~rightEdge;
+  }
+
+  /**
+   * Returns the number of rows, which is also the number of columns.
+   *
+   * @return the size of the board
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Returns the number of dark squares.
+   *
+   * @return the number of squares
+   */
+  public int getSquares() {
+    return squares;
+  }
+
+  /**
+   * Tells if a location is on the board and on a dark square.
+   *
+   * @param row    the row of the location
+   * @param column the column of the location
+   * @return true if the location is a dark square of this board
+   */
+  public boolean isValid(int row, int column) {
+    return row >= 0 && row < size && column >= 0 && column < size
+        && ((row ^ column) & 1) == 0;
+  }
+
+  /**
+   * Returns the square index of a location.
+   *
+   * @param row    the row of the location
+   * @param column the column of the location
+   * @return the square index, or -1 if the location is not a dark square of this board
+   */
+  public int squareOf(int row, int column) {
+    return isValid(row, column) ? row * (size / 2) + column / 2 : -1;
+  }
+
+  /**
+   * Returns the row of a square.
+   *
+   * @param square the square index
+   * @return the row
+   */
+  public int getRow(int square) {
+    return square / (size / 2);
+  }
+
+  /**
+   * Returns the column of a square.
+   *
+   * @param square the square index
+   * @return the column
+   */
+  public int getColumn(int square) {
+    int row = getRow(square);
+    return 2 * (square % (size / 2)) + row % 2;
+  }
+
+  /**
+   * Returns the mask of the squares where the Men of a color are crowned: row 0 for
+   * black, which moves down the rows, and the last row for white.
+   *
+   * @param color the color of the Men
+   * @return the mask of the crowning row
+   */
+  public long kingsRow(Color color) {
+    return rowMask(color == Color.BLACK ? 0 : size - 1);
+  }
+
+  /**
+   * Returns the mask of the squares a color starts on: every row but the two in the
+   * middle, white on the low rows and black on the high rows.
+   *
+   * @param color the color of the pieces
+   * @return the mask of the starting squares
+   */
+  public long startSquares(Color color) {
+    long mask = 0;
+    int rows = size / 2 - 1;
+    for (int row = 0; row < rows; row++) {
+      mask |= rowMask(color == Color.WHITE ? row : size - 1 - row);
+    }
+    return mask;
+  }
+
+  /**
+   * Returns the neighbour of a square in a direction.
+   *
+   * @param square    the square index
+   * @param direction the direction, as in MoveTables
+   * @return the neighbour, or -1 if it is off the board
+   */
+  int neighbour(int square, int direction) {
+    return neighbours[square][direction];
+  }
+
+  /**
+   * Returns the squares of the diagonal from a square in a direction, nearest first.
+   * The array is shared, so it must not be changed.
+   *
+   * @param square    the square index
+   * @param direction the direction, as in MoveTables
+   * @return the squares along the diagonal
+   */
+  int[] ray(int square, int direction) {
+    return rays[square][direction];
+  }
+
+  /**
+   * Returns the mask of every square of a diagonal of a square, as far as a flying
+   * King on it could go on an empty board.
+   *
+   * @param square the square index
+   * @return the mask of the squares on its diagonals
+   */
+  long diagonals(int square) {
+    return diagonals[square];
+  }
+
+  /**
+   * Returns the mask of the squares a flying King on a square could jump over on an
+   * empty board: the ones on its diagonals with a square behind them.
+   *
+   * @param square the square index
+   * @return the mask of the squares it could jump over
+   */
+  long flyOvers(int square) {
+    return flyOvers[square];
+  }
+
+  /**
+   * Moves every square in the mask one step in a direction; squares whose neighbour
+   * is off the board are dropped.
+   *
+   * @param squares   a mask of squares
+   * @param direction the direction, as in MoveTables
+   * @return the mask of their neighbours in that direction
+   */
+  long step(long squares, int direction) {
+    switch (direction) {
+      case UP_LEFT:
+        return ((squares & evenRowsNotLeftEdge) << (half - 1) | (squares & oddRows) << half)
+            & board;
+      case UP_RIGHT:
+        return ((squares & evenRows) << half | (squares & oddRowsNotRightEdge) << (half + 1))
+            & board;
+      case DOWN_LEFT:
+        return (squares & evenRowsNotLeftEdge) >>> (half + 1) | (squares & oddRows) >>> half;
+      default:
+        return (squares & evenRows) >>> half | (squares & oddRowsNotRightEdge) >>> (half - 1);
+    }
+  }
+
+  /**
+   * Returns the direction opposite to a direction.
+   *
+   * @param direction the direction, as in MoveTables
+   * @return the direction back
+   */
+  static int opposite(int direction) {
+    return 3 - direction;
+  }
+
+  private long rowMask(int row) {
+    int perRow = size / 2;
+    return ((1L << perRow) - 1) << (row * perRow);
+  }
+
+  @Override
+  public String toString() {
+    return size + "x" + size;
+  }
+}
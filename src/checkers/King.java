@@ -5,6 +5,17 @@ package checkers;
  */
 public class King extends AbstractCheckersPiece {
 
+  /* one shared King for every color and square, so looking one up never allocates */
+  private static final King[][] SHARED = new King[Color.values().length][32];
+
+  static {
+    for (Color color : Color.values()) {
+      for (int square = 0; square < 32; square++) {
+        SHARED[color.ordinal()][square] = new King(Coordinates.ofSquare(square), color);
+      }
+    }
+  }
+
   /**
    * Constructs a King object and initializes it
    * to its initial row, initial column and color.
@@ -14,7 +25,50 @@ public class King extends AbstractCheckersPiece {
    * @param color  the color of the piece
    */
   public King(int row, int column, Color color) throws IllegalArgumentException {
-    super(new Coordinates(row, column), color);
+    super(Coordinates.of(row, column), color);
+  }
+
+  /**
+   * Constructs a King object on the given coordinates.
+   *
+   * @param coordinates the coordinates of the piece
+   * @param color       the color of the piece
+   */
+  private King(Coordinates coordinates, Color color) {
+    super(coordinates, color);
+  }
+
+  /**
+   * Returns the shared King of the given color on the given location.
+   * Unlike the constructor, this never creates a new object.
+   *
+   * @param row    the row of the piece
+   * @param column the column of the piece
+   * @param color  the color of the piece
+   * @return the shared King
+   * @throws IllegalArgumentException if the location is not a dark square on the board,
+   *                                  or the color is null
+   */
+  public static King of(int row, int column, Color color) throws IllegalArgumentException {
+    return ofSquare(Coordinates.of(row, column).getSquare(), color);
+  }
+
+  /**
+   * Returns the shared King of the given color on the given square index.
+   *
+   * @param square the square index of the piece, in the range of [0,31]
+   * @param color  the color of the piece
+   * @return the shared King
+   * @throws IllegalArgumentException if the square is out of bound, or the color is null
+   */
+  public static King ofSquare(int square, Color color) throws IllegalArgumentException {
+    if (color == null) {
+      throw new IllegalArgumentException("Color must not be a null!");
+    }
+    if (square < 0 || square > 31) {
+      throw new IllegalArgumentException("Square must be in the range of [0,31]!");
+    }
+    return SHARED[color.ordinal()][square];
   }
 
   /**
@@ -26,13 +80,10 @@ public class King extends AbstractCheckersPiece {
    */
   @Override
   public boolean canMove(int row, int column) {
-    if (!Coordinates.isValid(row, column)) { //illegal position to move
-      return false;
+    if (Metrics.ENABLED) {
+      Metrics.MOVE_CHECKS.increment();
     }
-    return canMoveUpperLeft(this.getRow(), this.getColumn(), row, column)
-        || canMoveUpperRight(this.getRow(), this.getColumn(), row, column)
-        || canMoveLowerLeft(this.getRow(), this.getColumn(), row, column)
-        || canMoveLowerRight(this.getRow(), this.getColumn(), row, column);
+    return canStepTo(MoveTables.KING, row, column);
   }
 
 
@@ -44,16 +95,58 @@ public class King extends AbstractCheckersPiece {
    */
   @Override
   public boolean canCapture(CheckersPiece piece) {
+    if (Metrics.ENABLED) {
+      Metrics.CAPTURE_CHECKS.increment();
+    }
     //check if the piece is opponent
     if (isOpponent(piece)) {
       return false;
     }
 
     //king can capture in 4 directions
-    return canCaptureLowerLeft(this.getRow(), this.getColumn(), piece.getRow(), piece.getColumn())
-        || canCaptureLowerRight(this.getRow(), this.getColumn(), piece.getRow(), piece.getColumn())
-        || canCaptureUpperLeft(this.getRow(), this.getColumn(), piece.getRow(), piece.getColumn())
-        || canCaptureUpperRight(this.getRow(), this.getColumn(), piece.getRow(), piece.getColumn());
+    return canJumpOver(MoveTables.KING, piece.getRow(), piece.getColumn());
+
+  }
+
+  /**
+   * Decide if the checkers piece King can move to the given location under the given
+   * rules: a flying King moves any distance along a diagonal.
+   *
+   * @param row    the row where the piece is to be moved.
+   * @param column the column where the piece is to be moved.
+   * @param rules  the rules to play by
+   * @return true if the checkers piece can be moved to the given location
+   */
+  @Override
+  public boolean canMove(int row, int column, Rules rules) {
+    if (!rules.hasFlyingKings()) {
+      return canMove(row, column);
+    }
+    if (Metrics.ENABLED) {
+      Metrics.MOVE_CHECKS.increment();
+    }
+    return canFlyTo(row, column);
+  }
 
+  /**
+   * Decides if the checkers piece King can capture the given piece under the given rules:
+   * a flying King captures a piece at any distance along a diagonal.
+   *
+   * @param piece the piece to be captured.
+   * @param rules the rules to play by
+   * @return true if the checkers piece King can capture the given piece.
+   */
+  @Override
+  public boolean canCapture(CheckersPiece piece, Rules rules) {
+    if (!rules.hasFlyingKings()) {
+      return canCapture(piece);
+    }
+    if (Metrics.ENABLED) {
+      Metrics.CAPTURE_CHECKS.increment();
+    }
+    if (isOpponent(piece)) {
+      return false;
+    }
+    return canFlyOver(piece.getRow(), piece.getColumn());
   }
 }
@@ -5,6 +5,17 @@ package checkers;
  */
 public class Man extends AbstractCheckersPiece {
 
+  /* one shared Man for every color and square, so looking one up never allocates */
+  private static final Man[][] SHARED = new Man[Color.values().length][32];
+
+  static {
+    for (Color color : Color.values()) {
+      for (int square = 0; square < 32; square++) {
+        SHARED[color.ordinal()][square] = new Man(Coordinates.ofSquare(square), color);
+      }
+    }
+  }
+
   /**
    * Constructs a Man object and initializes it
    * to its initial row, initial column and color.
@@ -14,7 +25,50 @@ public class Man extends AbstractCheckersPiece {
    * @param color  the color of the piece
    */
   public Man(int row, int column, Color color) {
-    super(new Coordinates(row, column), color);
+    super(Coordinates.of(row, column), color);
+  }
+
+  /**
+   * Constructs a Man object on the given coordinates.
+   *
+   * @param coordinates the coordinates of the piece
+   * @param color       the color of the piece
+   */
+  private Man(Coordinates coordinates, Color color) {
+    super(coordinates, color);
+  }
+
+  /**
+   * Returns the shared Man of the given color on the given location.
+   * Unlike the constructor, this never creates a new object.
+   *
+   * @param row    the row of the piece
+   * @param column the column of the piece
+   * @param color  the color of the piece
+   * @return the shared Man
+   * @throws IllegalArgumentException if the location is not a dark square on the board,
+   *                                  or the color is null
+   */
+  public static Man of(int row, int column, Color color) throws IllegalArgumentException {
+    return ofSquare(Coordinates.of(row, column).getSquare(), color);
+  }
+
+  /**
+   * Returns the shared Man of the given color on the given square index.
+   *
+   * @param square the square index of the piece, in the range of [0,31]
+   * @param color  the color of the piece
+   * @return the shared Man
+   * @throws IllegalArgumentException if the square is out of bound, or the color is null
+   */
+  public static Man ofSquare(int square, Color color) throws IllegalArgumentException {
+    if (color == null) {
+      throw new IllegalArgumentException("Color must not be a null!");
+    }
+    if (square < 0 || square > 31) {
+      throw new IllegalArgumentException("Square must be in the range of [0,31]!");
+    }
+    return SHARED[color.ordinal()][square];
   }
 
   /**
@@ -26,17 +80,11 @@ public class Man extends AbstractCheckersPiece {
    */
   @Override
   public boolean canMove(int row, int column) {
-    if (!Coordinates.isValid(row, column)) { //illegal position to move
-      return false;
-    }
-    if (this.color == Color.BLACK) { // Black Man only moves down the rows
-      return canMoveLowerLeft(this.getRow(), this.getColumn(), row, column)
-          || canMoveLowerRight(this.getRow(), this.getColumn(), row, column);
-
-    } else { // White Man only moves up the rows
-      return canMoveUpperLeft(this.getRow(), this.getColumn(), row, column)
-          || canMoveUpperRight(this.getRow(), this.getColumn(), row, column);
+    if (Metrics.ENABLED) {
+      Metrics.MOVE_CHECKS.increment();
     }
+    // Black Man only moves down the rows, White Man only moves up the rows
+    return canStepTo(kind(), row, column);
   }
 
   /**
@@ -48,22 +96,46 @@ public class Man extends AbstractCheckersPiece {
 
   @Override
   public boolean canCapture(CheckersPiece piece) {
+    if (Metrics.ENABLED) {
+      Metrics.CAPTURE_CHECKS.increment();
+    }
     //if the piece is of same color, it cannot capture
     if (isOpponent(piece)) {
       return false;
     }
 
-    if (this.color == Color.BLACK) { //Black Man only capture down the rows
-      return canCaptureLowerLeft(this.getRow(), this.getColumn(), piece.getRow(), piece.getColumn())
-          ||
-          canCaptureLowerRight(this.getRow(), this.getColumn(), piece.getRow(), piece.getColumn());
-
-    } else { //White Man only capture up the rows
-      return canCaptureUpperLeft(this.getRow(), this.getColumn(), piece.getRow(), piece.getColumn())
-          ||
-          canCaptureUpperRight(this.getRow(), this.getColumn(), piece.getRow(), piece.getColumn());
+    // Black Man only capture down the rows, White Man only capture up the rows
+    return canJumpOver(kind(), piece.getRow(), piece.getColumn());
+  }
 
+  /**
+   * Decides if the checkers piece Man can capture the given piece under the given rules:
+   * when Men capture backward, it can jump the piece in any of the four directions.
+   *
+   * @param piece the piece to be captured.
+   * @param rules the rules to play by
+   * @return true if the checkers piece Man can capture the given piece.
+   */
+  @Override
+  public boolean canCapture(CheckersPiece piece, Rules rules) {
+    if (!rules.menCaptureBackward()) {
+      return canCapture(piece);
+    }
+    if (Metrics.ENABLED) {
+      Metrics.CAPTURE_CHECKS.increment();
+    }
+    if (isOpponent(piece)) {
+      return false;
     }
+    return canJumpOver(MoveTables.KING, piece.getRow(), piece.getColumn());
+  }
 
+  /**
+   * Returns the kind of this piece in the move tables.
+   *
+   * @return the kind of this piece
+   */
+  private int kind() {
+    return this.color == Color.BLACK ? MoveTables.BLACK_MAN : MoveTables.WHITE_MAN;
   }
 }
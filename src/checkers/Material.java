@@ -0,0 +1,218 @@
+package checkers;
+
+/**
+ * A material slice of the endgame tablebase: how many black men, black kings,
+ * white men and white kings are on the board. Every position of a slice gets an
+ * index, so the slice can be stored as a flat array of results.
+ *
+ * <p>The index combines four numbers, one per group of pieces, each being the rank of
+ * the group's squares among all the ways to place that many pieces. Black men never
+ * stand on row 0 and white men never stand on row 7 (they would be Kings), so men are
+ * only placed on 28 squares. Positions where two groups overlap still get an index but
+ * are never used, which keeps the index simple to compute.
+ */
+final class Material {
+
+  /* the most pieces of one kind a slice can hold */
+  static final int MAX_COUNT = 12;
+
+  /* the number of values code() can take */
+  static final int CODES = (MAX_COUNT + 1) * (MAX_COUNT + 1) * (MAX_COUNT + 1) * (MAX_COUNT + 1);
+
+  private static final long[][] BINOMIAL = new long[33][MAX_COUNT + 2];
+
+  static {
+    for (int n = 0; n < BINOMIAL.length; n++) {
+      BINOMIAL[n][0] = 1;
+      for (int k = 1; k < BINOMIAL[n].length; k++) {
+        BINOMIAL[n][k] = n == 0 ? 0 : BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+      }
+    }
+  }
+
+  final int blackMen;
+  final int blackKings;
+  final int whiteMen;
+  final int whiteKings;
+
+  /**
+   * Construct a material slice.
+   *
+   * @param blackMen   the number of black men
+   * @param blackKings the number of black kings
+   * @param whiteMen   the number of white men
+   * @param whiteKings the number of white kings
+   * @throws IllegalArgumentException if a count is negative or above MAX_COUNT
+   */
+  Material(int blackMen, int blackKings, int whiteMen, int whiteKings)
+      throws IllegalArgumentException {
+    for (int count : new int[] {blackMen, blackKings, whiteMen, whiteKings}) {
+      if (count < 0 || count > MAX_COUNT) {
+        throw new IllegalArgumentException("Piece counts must be in the range of [0,"
+            + MAX_COUNT + "]!");
+      }
+    }
+    this.blackMen = blackMen;
+    this.blackKings = blackKings;
+    this.whiteMen = whiteMen;
+    this.whiteKings = whiteKings;
+  }
+
+  /**
+   * Returns the total number of pieces.
+   *
+   * @return the number of pieces
+   */
+  int pieces() {
+    return blackMen + blackKings + whiteMen + whiteKings;
+  }
+
+  /**
+   * Returns the number of men of both colors.
+   *
+   * @return the number of men
+   */
+  int men() {
+    return blackMen + whiteMen;
+  }
+
+  /**
+   * Returns the number of indexes of the slice, for one side to move.
+   *
+   * @return the size of the slice
+   */
+  long size() {
+    return BINOMIAL[28][blackMen] * BINOMIAL[28][whiteMen]
+        * BINOMIAL[32][blackKings] * BINOMIAL[32][whiteKings];
+  }
+
+  /**
+   * Returns the number identifying this slice, the same as code() of its positions.
+   *
+   * @return the code of the slice
+   */
+  int code() {
+    return code(blackMen, blackKings, whiteMen, whiteKings);
+  }
+
+  /**
+   * Returns the name of the file the slice is stored in. The counts are separated, as
+   * they can take two digits.
+   *
+   * @return the file name
+   */
+  String fileName() {
+    return blackMen + "-" + blackKings + "-" + whiteMen + "-" + whiteKings + ".ctb";
+  }
+
+  /**
+   * Fills the masks of the position of the given index.
+   *
+   * @param index an index of the slice
+   * @param masks receives the black, white and King masks, in that order
+   * @return false if the index is not a real position, because two groups overlap
+   */
+  boolean decode(long index, int[] masks) {
+    long rest = index;
+    int whiteKingMask = unrank(rest % BINOMIAL[32][whiteKings], whiteKings);
+    rest /= BINOMIAL[32][whiteKings];
+    int blackKingMask = unrank(rest % BINOMIAL[32][blackKings], blackKings);
+    rest /= BINOMIAL[32][blackKings];
+    int whiteManMask = unrank(rest % BINOMIAL[28][whiteMen], whiteMen);
+    rest /= BINOMIAL[28][whiteMen];
+    int blackManMask = unrank(rest, blackMen) << 4;
+
+    int black = blackManMask | blackKingMask;
+    int white = whiteManMask | whiteKingMask;
+    if (Integer.bitCount(black) + Integer.bitCount(white) != pieces()
+        || (black & white) != 0) {
+      return false;
+    }
+    masks[0] = black;
+    masks[1] = white;
+    masks[2] = blackKingMask | whiteKingMask;
+    return true;
+  }
+
+  /**
+   * Returns the code of the slice a position belongs to.
+   *
+   * @param black the mask of black pieces
+   * @param white the mask of white pieces
+   * @param kings the mask of Kings
+   * @return the code, or -1 if a count is above MAX_COUNT
+   */
+  static int code(int black, int white, int kings) {
+    int blackMen = Integer.bitCount(black & ~kings);
+    int blackKings = Integer.bitCount(black & kings);
+    int whiteMen = Integer.bitCount(white & ~kings);
+    int whiteKings = Integer.bitCount(white & kings);
+    if (Math.max(Math.max(blackMen, blackKings), Math.max(whiteMen, whiteKings)) > MAX_COUNT) {
+      return -1;
+    }
+    return code(blackMen, blackKings, whiteMen, whiteKings);
+  }
+
+  private static int code(int blackMen, int blackKings, int whiteMen, int whiteKings) {
+    int base = MAX_COUNT + 1;
+    return ((blackMen * base + blackKings) * base + whiteMen) * base + whiteKings;
+  }
+
+  /**
+   * Returns the index of a position in its slice. Black men must not be on row 0 and
+   * white men must not be on row 7.
+   *
+   * @param black the mask of black pieces
+   * @param white the mask of white pieces
+   * @param kings the mask of Kings
+   * @return the index of the position
+   */
+  static long index(int black, int white, int kings) {
+    int blackMen = black & ~kings;
+    int whiteMen = white & ~kings;
+    int blackKings = black & kings;
+    int whiteKings = white & kings;
+    long index = rank(blackMen >>> 4);
+    index = index * BINOMIAL[28][Integer.bitCount(whiteMen)] + rank(whiteMen);
+    index = index * BINOMIAL[32][Integer.bitCount(blackKings)] + rank(blackKings);
+    index = index * BINOMIAL[32][Integer.bitCount(whiteKings)] + rank(whiteKings);
+    return index;
+  }
+
+  /**
+   * Returns the rank of a set of squares among all sets of the same size
+   * (the combinatorial number system).
+   */
+  private static long rank(int squares) {
+    long rank = 0;
+    int count = 1;
+    while (squares != 0) {
+      rank += BINOMIAL[Integer.numberOfTrailingZeros(squares)][count++];
+      squares &= squares - 1;
+    }
+    return rank;
+  }
+
+  /**
+   * Returns the set of squares of the given rank and size; the inverse of rank.
+   */
+  private static int unrank(long rank, int count) {
+    int squares = 0;
+    int square = 31;
+    for (int k = count; k > 0; k--) {
+      while (BINOMIAL[square][k] > rank) {
+        square--;
+      }
+      rank -= BINOMIAL[square][k];
+      squares |= 1 << square;
+      square--;
+    }
+    return squares;
+  }
+
+  @Override
+  public String toString() {
+    return blackMen + " black men, " + blackKings + " black kings, "
+        + whiteMen + " white men, " + whiteKings + " white kings";
+  }
+}
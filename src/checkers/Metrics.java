@@ -0,0 +1,85 @@
+package checkers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what the library does, for monitoring. Counting is off unless the JVM is
+ * started with {@code -Dcheckers.metrics=true}; the switch is a constant, so when it is
+ * off the JIT compiler drops every counting statement and nothing is paid for it.
+ * The same switch turns on the Flight Recorder events of searches and game replays.
+ *
+ * <p>The counters are LongAdders, so threads counting at the same time do not slow each
+ * other down. The search counts into plain fields of its own and adds them up here once
+ * per search, so no counter is touched per node.
+ */
+public final class Metrics {
+
+  /**
+   * Whether counting is on, read once from the {@code checkers.metrics} system property.
+   */
+  public static final boolean ENABLED = Boolean.getBoolean("checkers.metrics");
+
+  static final LongAdder MOVE_CHECKS = new LongAdder();
+  static final LongAdder CAPTURE_CHECKS = new LongAdder();
+  static final LongAdder GENERATIONS = new LongAdder();
+  static final LongAdder POSITIONS = new LongAdder();
+  static final LongAdder NODES = new LongAdder();
+  static final LongAdder QUIESCENCE_NODES = new LongAdder();
+  static final LongAdder TABLE_HITS = new LongAdder();
+  static final LongAdder TABLE_MISSES = new LongAdder();
+  static final LongAdder CUTOFFS = new LongAdder();
+
+  private Metrics() {
+  }
+
+  /**
+   * Returns the current value of every counter, by name:
+   * <ul>
+   *   <li>{@code canMove.calls} and {@code canCapture.calls}: questions asked of a Man
+   *   or King;</li>
+   *   <li>{@code generator.calls}: times the MoveGenerator was run;</li>
+   *   <li>{@code generator.positions}: moves it wrote, that is positions it can reach;</li>
+   *   <li>{@code search.nodes}: positions searched;</li>
+   *   <li>{@code quiescence.nodes}: positions searched past the depth, following
+   *   captures;</li>
+   *   <li>{@code table.hits} and {@code table.misses}: transposition table probes that
+   *   found the position or not;</li>
+   *   <li>{@code search.cutoffs}: nodes left early because a move was good enough.</li>
+   * </ul>
+   * Every counter is read on its own, so a snapshot taken while threads are counting
+   * is not exact across counters. All values are 0 when counting is off.
+   *
+   * @return an unmodifiable map from counter name to value, in the order above
+   */
+  public static Map<String, Long> snapshot() {
+    Map<String, Long> values = new LinkedHashMap<>();
+    values.put("canMove.calls", MOVE_CHECKS.sum());
+    values.put("canCapture.calls", CAPTURE_CHECKS.sum());
+    values.put("generator.calls", GENERATIONS.sum());
+    values.put("generator.positions", POSITIONS.sum());
+    values.put("search.nodes", NODES.sum());
+    values.put("quiescence.nodes", QUIESCENCE_NODES.sum());
+    values.put("table.hits", TABLE_HITS.sum());
+    values.put("table.misses", TABLE_MISSES.sum());
+    values.put("search.cutoffs", CUTOFFS.sum());
+    return Collections.unmodifiableMap(values);
+  }
+
+  /**
+   * Sets every counter back to 0. Counts made while resetting may be lost.
+   */
+  public static void reset() {
+    MOVE_CHECKS.reset();
+    CAPTURE_CHECKS.reset();
+    GENERATIONS.reset();
+    POSITIONS.reset();
+    NODES.reset();
+    QUIESCENCE_NODES.reset();
+    TABLE_HITS.reset();
+    TABLE_MISSES.reset();
+    CUTOFFS.reset();
+  }
+}
@@ -0,0 +1,416 @@
+package checkers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses a move by Monte Carlo tree search, as an anytime alternative to the
+ * SearchEngine: it plays random games from the position, grows a tree toward the
+ * moves that win them most often, and can be stopped at any time with a move to play.
+ * Each playout walks down the tree choosing children by UCT (their win rate plus a bonus
+ * for being seldom visited), adds the children of the node it stops at, plays a random
+ * game from there and counts its result on the way back up.
+ *
+ * <p>The tree is kept in preallocated arrays indexed by node number, not as objects, so
+ * it costs no garbage per node, and all threads share it without locks:
+ * <ul>
+ *   <li>visits and wins are atomic counters;</li>
+ *   <li>a thread adds the children of a node after claiming it with a compare-and-set,
+ *   in a block of nodes taken from an atomic counter, and publishes them by writing the
+ *   index of the block;</li>
+ *   <li>a node is counted as visited on the way down and only its wins on the way back,
+ *   so until a playout ends its nodes look like a loss (a "virtual loss") and the other
+ *   threads try other moves.</li>
+ * </ul>
+ *
+ * <p>Random games use the same tables as Man.canMove and King.canMove: a step is a
+ * random piece among the ones that can step and a random square among the ones it can
+ * step to, found from masks without generating every move. Captures are mandatory, so
+ * while there is one all the captures are generated and one of them is played. A game
+ * still going after MAX_PLAYOUT plies goes to the side the Evaluation favours by at
+ * least a Man, and is a draw otherwise.
+ *
+ * <p>A Monte Carlo search owns a pool of helper threads; close it when done.
+ */
+public final class MonteCarloSearch implements AutoCloseable {
+
+  /**
+   * The most plies of a random game before it is decided by the Evaluation.
+   */
+  public static final int MAX_PLAYOUT = 150;
+
+  /* the weight of the exploration bonus of UCT, for results between 0 and 1 */
+  private static final double EXPLORATION = Math.sqrt(2);
+  /* the deepest the tree is walked down before playing a random game from there */
+  private static final int MAX_TREE_DEPTH = SearchLimits.MAX_DEPTH;
+  /* how many playouts a thread runs between two looks at the clock */
+  private static final int CHECK_INTERVAL = 64;
+  /* the states of a node before it has children: not expanded yet, being expanded,
+   * or the game is over */
+  private static final int UNEXPANDED = 0;
+  private static final int EXPANDING = -1;
+  private static final int TERMINAL = -2;
+  /* results are counted in half points: a win is 2, a draw 1 */
+  private static final int WIN_POINTS = 2;
+  private static final int DRAW_POINTS = 1;
+  private static final int NODE_BYTES = 24;
+
+  /* per node: the move leading to it, its visits, the half points won by the side that
+   * played that move, the index of its first child (or one of the states above), and
+   * the number of its children; the root is node 0 */
+  private final long[] moves;
+  private final AtomicIntegerArray visits;
+  private final AtomicIntegerArray wins;
+  private final AtomicIntegerArray children;
+  private final int[] childCounts;
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final AtomicBoolean stopSignal = new AtomicBoolean();
+  private final AtomicLong playouts = new AtomicLong();
+  private final Worker[] workers;
+  private final ExecutorService helpers;
+
+  /* the search being run, set before the helper threads are started */
+  private Board board;
+  private Color side;
+  private long playoutLimit;
+  private long deadline;
+
+  /**
+   * Construct a Monte Carlo search.
+   *
+   * @param threads   the number of threads to search with, including the calling thread
+   * @param megabytes the size of the tree in megabytes, about 24 bytes a node
+   * @throws IllegalArgumentException if the number of threads or the size is not positive
+   */
+  public MonteCarloSearch(int threads, int megabytes) throws IllegalArgumentException {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive!");
+    }
+    if (megabytes <= 0) {
+      throw new IllegalArgumentException("Tree size must be positive!");
+    }
+    int capacity = (int) Math.min((long) megabytes * 1024 * 1024 / NODE_BYTES, 1 << 28);
+    this.moves = new long[capacity];
+    this.visits = new AtomicIntegerArray(capacity);
+    this.wins = new AtomicIntegerArray(capacity);
+    this.children = new AtomicIntegerArray(capacity);
+    this.childCounts = new int[capacity];
+    this.workers = new Worker[threads];
+    for (int i = 0; i < threads; i++) {
+      workers[i] = new Worker();
+    }
+    this.helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+      Thread thread = new Thread(runnable, "mcts-helper");
+      thread.setDaemon(true);
+      return thread;
+    }) : null;
+  }
+
+  /**
+   * Returns the number of threads this search uses.
+   *
+   * @return the number of threads
+   */
+  public int getThreads() {
+    return workers.length;
+  }
+
+  /**
+   * Searches a position with every thread, from a new tree, and returns the most
+   * visited move. The node limit is a number of playouts, the depth limit is not used,
+   * and the search stops early when the tree is full.
+   *
+   * <p>The score of the result is the expected result of the move for the side to move,
+   * from -1000 for a sure loss to 1000 for a sure win; the nodes are the playouts, and
+   * the line follows the most visited child of every node.
+   *
+   * @param board  the position
+   * @param side   the color of the side to move
+   * @param limits when to stop searching
+   * @return the result of the search
+   * @throws IllegalArgumentException if the limits have neither a node nor a time limit
+   * @throws IllegalStateException    if a helper thread fails
+   */
+  public SearchResult search(Board board, Color side, SearchLimits limits)
+      throws IllegalArgumentException, IllegalStateException {
+    if (limits.getNodes() <= 0 && limits.getMillis() <= 0) {
+      throw new IllegalArgumentException("Monte Carlo search needs a node or time limit!");
+    }
+    long start = System.nanoTime();
+    this.board = board;
+    this.side = side;
+    playoutLimit = limits.getNodes() > 0 ? limits.getNodes() : Long.MAX_VALUE;
+    deadline = limits.getMillis() > 0 ? start + limits.getMillis() * 1_000_000 : Long.MAX_VALUE;
+    playouts.set(0);
+    stopSignal.set(false);
+    size.set(1);
+    visits.set(0, 0);
+    wins.set(0, 0);
+    children.set(0, UNEXPANDED);
+
+    List<Future<?>> running = new ArrayList<>();
+    for (int i = 1; i < workers.length; i++) {
+      running.add(helpers.submit(workers[i]));
+    }
+    try {
+      workers[0].run();
+    } finally {
+      stopSignal.set(true);
+    }
+    try {
+      for (Future<?> helper : running) {
+        helper.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the helper threads", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A helper thread failed", e.getCause());
+    }
+    return result(System.nanoTime() - start);
+  }
+
+  /**
+   * Builds the result from the finished tree.
+   */
+  private SearchResult result(long nanos) {
+    if (children.get(0) == TERMINAL) {
+      return new SearchResult(-SearchEngine.WIN, 0, playouts.get(), nanos, new long[0]);
+    }
+    long[] line = new long[MAX_TREE_DEPTH];
+    int length = 0;
+    int node = 0;
+    int score = 0;
+    while (length < line.length && children.get(node) > 0) {
+      node = mostVisited(node);
+      if (visits.get(node) == 0) {
+        break;
+      }
+      if (length == 0) {
+        score = (int) Math.round(1000.0 * (wins.get(node) - visits.get(node)) / visits.get(node));
+      }
+      line[length++] = moves[node];
+    }
+    return new SearchResult(score, length, playouts.get(), nanos, Arrays.copyOf(line, length));
+  }
+
+  private int mostVisited(int node) {
+    int first = children.get(node);
+    int best = first;
+    for (int child = first + 1; child < first + childCounts[node]; child++) {
+      if (visits.get(child) > visits.get(best)) {
+        best = child;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Stops the helper threads.
+   */
+  @Override
+  public void close() {
+    stopSignal.set(true);
+    if (helpers != null) {
+      helpers.shutdownNow();
+    }
+  }
+
+  /**
+   * One thread of the search, with its own position and buffers.
+   */
+  private final class Worker implements Runnable {
+
+    private final Position position = new Position(Board.initial(), Color.BLACK,
+        MAX_TREE_DEPTH + MAX_PLAYOUT);
+    private final long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    /* the nodes walked down from the root, which is path[0] */
+    private final int[] path = new int[MAX_TREE_DEPTH + 1];
+
+    @Override
+    public void run() {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      long count = 0;
+      while (!stopSignal.get()) {
+        if (playouts.getAndIncrement() >= playoutLimit) {
+          playouts.decrementAndGet();
+          break;
+        }
+        if (++count % CHECK_INTERVAL == 0 && System.nanoTime() >= deadline) {
+          break;
+        }
+        if (!playout(random)) {
+          break;
+        }
+      }
+      stopSignal.set(true);
+    }
+
+    /**
+     * Runs one playout: down the tree, a random game, and back up.
+     *
+     * @return false if the root has no move or the tree is full, so there is nothing
+     *         more to learn
+     */
+    private boolean playout(ThreadLocalRandom random) {
+      position.set(board, side);
+      int node = 0;
+      int depth = 0;
+      path[0] = 0;
+      visits.incrementAndGet(0);
+      boolean grown = true;
+      while (depth < MAX_TREE_DEPTH) {
+        int first = children.get(node);
+        if (first == UNEXPANDED) {
+          grown = expand(node);
+          break;
+        }
+        if (first < 0) {
+          break; // being expanded by another thread, or the game is over
+        }
+        node = select(node, first);
+        visits.incrementAndGet(node); // the virtual loss, until the result is added
+        path[++depth] = node;
+        position.makeMove(moves[node]);
+      }
+
+      int points = children.get(node) == TERMINAL ? 0 : randomGame(random);
+      // points are for the side to move at the node, and each node counts them for
+      // the side that moved into it
+      for (int i = depth; i >= 0; i--) {
+        points = WIN_POINTS - points;
+        wins.addAndGet(path[i], points);
+      }
+      return grown && children.get(0) != TERMINAL;
+    }
+
+    /**
+     * Adds the children of a node, unless another thread is already doing it.
+     *
+     * @return false if the tree is full
+     */
+    private boolean expand(int node) {
+      if (!children.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+        return true;
+      }
+      int count = position.generateMoves(buffer, 0);
+      if (count == 0) {
+        children.set(node, TERMINAL);
+        return true;
+      }
+      int first = size.getAndAdd(count);
+      if (first + count > moves.length) {
+        children.set(node, UNEXPANDED);
+        return false;
+      }
+      for (int i = 0; i < count; i++) {
+        int child = first + i;
+        moves[child] = buffer[i];
+        visits.set(child, 0);
+        wins.set(child, 0);
+        children.set(child, UNEXPANDED);
+      }
+      childCounts[node] = count;
+      children.set(node, first); // publishes the children written above
+      return true;
+    }
+
+    /**
+     * Chooses the child with the best UCT value; children never visited come first.
+     */
+    private int select(int node, int first) {
+      double logVisits = Math.log(Math.max(1, visits.get(node)));
+      int best = first;
+      double bestValue = Double.NEGATIVE_INFINITY;
+      for (int child = first; child < first + childCounts[node]; child++) {
+        int childVisits = visits.get(child);
+        if (childVisits == 0) {
+          return child;
+        }
+        double value = (double) wins.get(child) / (WIN_POINTS * childVisits)
+            + EXPLORATION * Math.sqrt(logVisits / childVisits);
+        if (value > bestValue) {
+          bestValue = value;
+          best = child;
+        }
+      }
+      return best;
+    }
+
+    /**
+     * Plays random moves from the current position until the game ends or MAX_PLAYOUT
+     * plies, then takes them back.
+     *
+     * @return the half points won by the side to move when the game started
+     */
+    private int randomGame(ThreadLocalRandom random) {
+      Color mover = position.getSide();
+      int plies = 0;
+      long move;
+      while (plies < MAX_PLAYOUT && (move = randomMove(random)) != Move.NONE) {
+        position.makeMove(move);
+        plies++;
+      }
+      int points;
+      if (plies < MAX_PLAYOUT) {
+        points = 0; // the side to move has no move and has lost
+      } else {
+        int score = position.evaluate();
+        points = score >= Evaluation.MAN_VALUE ? WIN_POINTS
+            : score <= -Evaluation.MAN_VALUE ? 0 : DRAW_POINTS;
+      }
+      if (position.getSide() != mover) {
+        points = WIN_POINTS - points;
+      }
+      for (int i = 0; i < plies; i++) {
+        position.unmakeMove();
+      }
+      return points;
+    }
+
+    /**
+     * Picks a random legal move of the current position.
+     *
+     * @return the move, or Move.NONE if the side to move has none
+     */
+    private long randomMove(ThreadLocalRandom random) {
+      if (position.mustCapture()) {
+        int count = position.generateMoves(buffer, 0);
+        return buffer[random.nextInt(count)];
+      }
+      Color mover = position.getSide();
+      int black = position.getBlack();
+      int white = position.getWhite();
+      int kings = position.getKings();
+      int empty = ~(black | white);
+      int movers = Board.movers(mover == Color.BLACK ? black : white, empty, kings, mover);
+      if (movers == 0) {
+        return Move.NONE;
+      }
+      int from = randomSquare(movers, random);
+      boolean king = (kings & (1 << from)) != 0;
+      int kind = MoveTables.kind(mover, king);
+      int to = randomSquare(MoveTables.STEP_MASK[kind][from] & empty, random);
+      int kingsRow = mover == Color.BLACK ? Board.BLACK_KINGS_ROW : Board.WHITE_KINGS_ROW;
+      return Move.of(from, to, 0, !king && (kingsRow & (1 << to)) != 0);
+    }
+
+    private int randomSquare(int mask, ThreadLocalRandom random) {
+      for (int n = random.nextInt(Integer.bitCount(mask)); n > 0; n--) {
+        mask &= mask - 1;
+      }
+      return Integer.numberOfTrailingZeros(mask);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package checkers;
+
+/**
+ * Encodes a move as a single long, so lists of moves can live in primitive buffers.
+ * The lowest 32 bits are the mask of captured squares, bits 32 to 36 are the square
+ * the piece moves from, bits 37 to 41 are the square it lands on, and bit 42 is set
+ * when a Man is crowned by the move.
+ *
+ * <p>A capture is fully described by its captured mask, even when it is a chain of
+ * several jumps, so two encoded moves are equal exactly when they do the same thing
+ * to the board.
+ */
+public final class Move {
+
+  /**
+   * A value that is never a legal move, e.g. to mark "no move found".
+   */
+  public static final long NONE = 0L;
+
+  private static final int FROM_SHIFT = 32;
+  private static final int TO_SHIFT = 37;
+  private static final long PROMOTION = 1L << 42;
+
+  private Move() {
+  }
+
+  /**
+   * Encodes a move.
+   *
+   * @param from      the square index the piece moves from
+   * @param to        the square index the piece lands on
+   * @param captured  the mask of squares whose pieces are captured, 0 for a simple move
+   * @param promotion true if a Man is crowned by this move
+   * @return the encoded move
+   */
+  public static long of(int from, int to, int captured, boolean promotion) {
+    long move = ((long) from << FROM_SHIFT) | ((long) to << TO_SHIFT)
+        | (captured & 0xFFFFFFFFL);
+    return promotion ? move | PROMOTION : move;
+  }
+
+  /**
+   * Returns the square index the piece moves from.
+   *
+   * @param move an encoded move
+   * @return the square index the piece moves from
+   */
+  public static int from(long move) {
+    return (int) (move >>> FROM_SHIFT) & 31;
+  }
+
+  /**
+   * Returns the square index the piece lands on.
+   *
+   * @param move an encoded move
+   * @return the square index the piece lands on
+   */
+  public static int to(long move) {
+    return (int) (move >>> TO_SHIFT) & 31;
+  }
+
+  /**
+   * Returns the mask of captured squares.
+   *
+   * @param move an encoded move
+   * @return the mask of captured squares, 0 for a simple move
+   */
+  public static int captured(long move) {
+    return (int) move;
+  }
+
+  /**
+   * Decide if the move captures at least one piece.
+   *
+   * @param move an encoded move
+   * @return true if the move is a capture
+   */
+  public static boolean isCapture(long move) {
+    return (int) move != 0;
+  }
+
+  /**
+   * Decide if the move crowns a Man.
+   *
+   * @param move an encoded move
+   * @return true if the move is a promotion
+   */
+  public static boolean isPromotion(long move) {
+    return (move & PROMOTION) != 0;
+  }
+
+  /**
+   * Describes a move with the coordinates of its squares, like "(5, 1)-(4, 0)"
+   * for a simple move or "(2, 2)x(4, 0)" for a capture.
+   *
+   * @param move an encoded move
+   * @return the move as text
+   */
+  public static String toString(long move) {
+    if (move == NONE) {
+      return "none";
+    }
+    return Coordinates.ofSquare(from(move)) + (isCapture(move) ? "x" : "-")
+        + Coordinates.ofSquare(to(move));
+  }
+}
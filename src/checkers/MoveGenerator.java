@@ -0,0 +1,108 @@
+package checkers;
+
+/**
+ * Generates every legal move of a position into a buffer of encoded moves.
+ * The rules are the ones of Man and King, played on a full board:
+ * <ul>
+ *   <li>if any piece can capture, the side to move must capture;</li>
+ *   <li>a capture keeps jumping as long as the piece can, and every piece it jumps
+ *   over is taken off the board when the move is done;</li>
+ *   <li>a Man that reaches the last row is crowned, which also ends its capture.</li>
+ * </ul>
+ * Captures that leave the same position, as a King taking the same pieces in another
+ * order does, are written once (see CaptureEnumerator).
+ *
+ * <p>Moves are written as longs (see the Move class) into a buffer owned by the caller,
+ * so the buffer can be reused and generating moves does not allocate.
+ */
+public final class MoveGenerator {
+
+  /**
+   * A buffer of this size is large enough for the moves of any position.
+   */
+  public static final int MAX_MOVES = 256;
+
+  private MoveGenerator() {
+  }
+
+  /**
+   * Writes every legal move of the side to move into the buffer.
+   *
+   * @param board  the position
+   * @param side   the color of the side to move
+   * @param moves  the buffer the moves are written into
+   * @param offset the index of the buffer where the first move goes
+   * @return the number of moves written, 0 if the side to move has lost
+   * @throws IllegalArgumentException if the buffer is too small for all the moves
+   */
+  public static int generate(Board board, Color side, long[] moves, int offset)
+      throws IllegalArgumentException {
+    return generate(board.getBlack(), board.getWhite(), board.getKings(), side, moves, offset);
+  }
+
+  /**
+   * Writes every legal move of the side to move into the buffer, taking the position
+   * as its three masks.
+   *
+   * @param black  the mask of black pieces
+   * @param white  the mask of white pieces
+   * @param kings  the mask of Kings
+   * @param side   the color of the side to move
+   * @param moves  the buffer the moves are written into
+   * @param offset the index of the buffer where the first move goes
+   * @return the number of moves written
+   * @throws IllegalArgumentException if the buffer is too small for all the moves
+   */
+  static int generate(int black, int white, int kings, Color side, long[] moves, int offset)
+      throws IllegalArgumentException {
+    int own = side == Color.BLACK ? black : white;
+    int opponents = side == Color.BLACK ? white : black;
+    int empty = ~(black | white);
+    int kingsRow = side == Color.BLACK ? Board.BLACK_KINGS_ROW : Board.WHITE_KINGS_ROW;
+    int manKind = side == Color.BLACK ? MoveTables.BLACK_MAN : MoveTables.WHITE_MAN;
+    int count = offset;
+
+    int jumpers = Board.jumpers(own, opponents, empty, kings, side);
+    if (jumpers != 0) { // capturing is mandatory
+      while (jumpers != 0) {
+        int from = Integer.numberOfTrailingZeros(jumpers);
+        jumpers &= jumpers - 1;
+        int kind = (kings & (1 << from)) != 0 ? MoveTables.KING : manKind;
+        // the square the piece leaves is free to land on again later in the chain
+        count = CaptureEnumerator.enumerate(from, kind, opponents, empty | (1 << from), kingsRow,
+            moves, offset, count);
+      }
+      return counted(count - offset);
+    }
+
+    int movers = Board.movers(own, empty, kings, side);
+    while (movers != 0) {
+      int from = Integer.numberOfTrailingZeros(movers);
+      movers &= movers - 1;
+      boolean king = (kings & (1 << from)) != 0;
+      for (int to : MoveTables.STEP_TARGETS[king ? MoveTables.KING : manKind][from]) {
+        if ((empty & (1 << to)) != 0) {
+          boolean promotion = !king && (kingsRow & (1 << to)) != 0;
+          count = add(moves, count, Move.of(from, to, 0, promotion));
+        }
+      }
+    }
+    return counted(count - offset);
+  }
+
+  private static int counted(int count) {
+    if (Metrics.ENABLED) {
+      Metrics.GENERATIONS.increment();
+      Metrics.POSITIONS.add(count);
+    }
+    return count;
+  }
+
+  private static int add(long[] moves, int count, long move) throws IllegalArgumentException {
+    if (count >= moves.length) {
+      throw new IllegalArgumentException("Move buffer is too small!");
+    }
+    moves[count] = move;
+    return count + 1;
+  }
+}
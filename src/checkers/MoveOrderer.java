@@ -0,0 +1,117 @@
+package checkers;
+
+/**
+ * Sorts the moves of a node so the ones most likely to be best are searched first,
+ * which lets alpha-beta cut off more of the tree. From first to last:
+ * <ol>
+ *   <li>the best move stored in the transposition table;</li>
+ *   <li>captures, taking more pieces first;</li>
+ *   <li>moves that crown a Man;</li>
+ *   <li>killer moves: the last two quiet moves that caused a cutoff at the same ply;</li>
+ *   <li>the other quiet moves, by how often that from and to square caused cutoffs
+ *   (the history table).</li>
+ * </ol>
+ * Moves are sorted in the caller's buffer with an insertion sort on a score array
+ * owned by the orderer, so nothing is allocated.
+ */
+final class MoveOrderer {
+
+  private static final int TABLE_MOVE = 1 << 30;
+  private static final int CAPTURE = 1 << 29;
+  private static final int PROMOTION = 1 << 28;
+  private static final int FIRST_KILLER = (1 << 27) + 1;
+  private static final int SECOND_KILLER = 1 << 27;
+  /* history scores are halved when one gets this high, so they stay below the killers */
+  private static final int HISTORY_LIMIT = 1 << 26;
+
+  private final long[][] killers = new long[SearchLimits.MAX_DEPTH + 1][2];
+  private final int[][] history = new int[32][32];
+  private final int[] scores = new int[MoveGenerator.MAX_MOVES];
+
+  /**
+   * Forgets the killer moves and halves the history, so an older search counts
+   * less than the new one.
+   */
+  void newSearch() {
+    for (long[] plyKillers : killers) {
+      plyKillers[0] = Move.NONE;
+      plyKillers[1] = Move.NONE;
+    }
+    ageHistory();
+  }
+
+  /**
+   * Sorts the moves of a node, best first.
+   *
+   * @param moves   the buffer holding the moves, from index 0
+   * @param count   the number of moves
+   * @param entry   the transposition table entry of the node, or 0 if there is none
+   * @param swapped true if the entry is for the node turned round, as in Symmetry
+   * @param ply     the distance of the node from the root
+   */
+  void order(long[] moves, int count, long entry, boolean swapped, int ply) {
+    long[] plyKillers = killers[ply];
+    for (int i = 0; i < count; i++) {
+      long move = moves[i];
+      int score;
+      if (entry != 0
+          && TranspositionTable.isMove(entry, swapped ? Symmetry.mirrorMove(move) : move)) {
+        score = TABLE_MOVE;
+      } else if (Move.isCapture(move)) {
+        score = CAPTURE + (Integer.bitCount(Move.captured(move)) << 16)
+            + (Move.isPromotion(move) ? 1 : 0);
+      } else if (Move.isPromotion(move)) {
+        score = PROMOTION;
+      } else if (move == plyKillers[0]) {
+        score = FIRST_KILLER;
+      } else if (move == plyKillers[1]) {
+        score = SECOND_KILLER;
+      } else {
+        score = history[Move.from(move)][Move.to(move)];
+      }
+
+      // insert the move among the ones already sorted
+      int j = i;
+      while (j > 0 && scores[j - 1] < score) {
+        scores[j] = scores[j - 1];
+        moves[j] = moves[j - 1];
+        j--;
+      }
+      scores[j] = score;
+      moves[j] = move;
+    }
+  }
+
+  /**
+   * Remembers a move that caused a cutoff. Captures are already searched early,
+   * so only quiet moves are remembered.
+   *
+   * @param move  the move
+   * @param depth the depth left at the node, deeper cutoffs count for more
+   * @param ply   the distance of the node from the root
+   */
+  void recordCutoff(long move, int depth, int ply) {
+    if (Move.isCapture(move)) {
+      return;
+    }
+    long[] plyKillers = killers[ply];
+    if (plyKillers[0] != move) {
+      plyKillers[1] = plyKillers[0];
+      plyKillers[0] = move;
+    }
+    int[] fromHistory = history[Move.from(move)];
+    int to = Move.to(move);
+    fromHistory[to] += depth * depth;
+    if (fromHistory[to] >= HISTORY_LIMIT) {
+      ageHistory();
+    }
+  }
+
+  private void ageHistory() {
+    for (int[] fromHistory : history) {
+      for (int to = 0; to < fromHistory.length; to++) {
+        fromHistory[to] >>= 1;
+      }
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package checkers;
+
+import java.util.Arrays;
+
+/**
+ * Lookup tables of where a piece on each square can step or jump to.
+ * They are computed once when the class is loaded, so deciding a move at play
+ * time is an indexed load instead of a chain of comparisons.
+ *
+ * <p>The tables are indexed first by the kind of piece (a white Man only goes up
+ * the rows, a black Man only goes down the rows and a King goes both ways),
+ * then by the square index of the piece as in Coordinates.getSquare().
+ */
+final class MoveTables {
+
+  /* the kinds of pieces, as the first index of the tables */
+  static final int WHITE_MAN = 0;
+  static final int BLACK_MAN = 1;
+  static final int KING = 2;
+
+  /* the four directions, as the index of NEIGHBOUR and LANDING */
+  static final int UP_LEFT = 0;
+  static final int UP_RIGHT = 1;
+  static final int DOWN_LEFT = 2;
+  static final int DOWN_RIGHT = 3;
+
+  /* the directions each kind of piece may go */
+  static final int[][] DIRECTIONS = {
+      {UP_LEFT, UP_RIGHT},
+      {DOWN_LEFT, DOWN_RIGHT},
+      {UP_LEFT, UP_RIGHT, DOWN_LEFT, DOWN_RIGHT}
+  };
+
+  /* the neighbour of each square in each direction, or -1 if it is off the board */
+  static final int[][] NEIGHBOUR = new int[32][4];
+
+  /* the square two steps away in each direction, or -1 if it is off the board */
+  static final int[][] LANDING = new int[32][4];
+
+  /* the square index of each (row * 8 + column), or -1 for a light square */
+  static final int[] SQUARE_AT = new int[64];
+
+  /* the squares each kind of piece can step to, as a list and as a mask */
+  static final int[][][] STEP_TARGETS = new int[3][32][];
+  static final int[][] STEP_MASK = new int[3][32];
+
+  /* the (over square, landing square) pairs each kind of piece can jump,
+   * flattened as over, landing, over, landing, ... and the mask of over squares */
+  static final int[][][] JUMPS = new int[3][32][];
+  static final int[][] CAPTURE_MASK = new int[3][32];
+
+  private static final int[] ROW_STEP = {1, 1, -1, -1};
+  private static final int[] COLUMN_STEP = {-1, 1, -1, 1};
+
+  static {
+    for (int index = 0; index < SQUARE_AT.length; index++) {
+      int row = index / 8;
+      int column = index % 8;
+      SQUARE_AT[index] = Coordinates.isValid(row, column) ? Coordinates.squareOf(row, column) : -1;
+    }
+    for (int square = 0; square < 32; square++) {
+      Coordinates from = Coordinates.ofSquare(square);
+      for (int direction = 0; direction < 4; direction++) {
+        NEIGHBOUR[square][direction] = squareAt(from.getRow() + ROW_STEP[direction],
+            from.getColumn() + COLUMN_STEP[direction]);
+        LANDING[square][direction] = squareAt(from.getRow() + 2 * ROW_STEP[direction],
+            from.getColumn() + 2 * COLUMN_STEP[direction]);
+      }
+    }
+    for (int kind = 0; kind < DIRECTIONS.length; kind++) {
+      for (int square = 0; square < 32; square++) {
+        int[] steps = new int[DIRECTIONS[kind].length];
+        int[] jumps = new int[2 * DIRECTIONS[kind].length];
+        int stepCount = 0;
+        int jumpCount = 0;
+        for (int direction : DIRECTIONS[kind]) {
+          int neighbour = NEIGHBOUR[square][direction];
+          int landing = LANDING[square][direction];
+          if (neighbour >= 0) {
+            steps[stepCount++] = neighbour;
+            STEP_MASK[kind][square] |= 1 << neighbour;
+          }
+          if (landing >= 0) {
+            jumps[jumpCount++] = neighbour;
+            jumps[jumpCount++] = landing;
+            CAPTURE_MASK[kind][square] |= 1 << neighbour;
+          }
+        }
+        STEP_TARGETS[kind][square] = Arrays.copyOf(steps, stepCount);
+        JUMPS[kind][square] = Arrays.copyOf(jumps, jumpCount);
+      }
+    }
+  }
+
+  private MoveTables() {
+  }
+
+  /**
+   * Returns the square index of a location, or -1 if it is not a dark square on the board.
+   * Being a table lookup, it is also how the pieces check a target location.
+   *
+   * @param row    the row of the location
+   * @param column the column of the location
+   * @return the square index, or -1
+   */
+  static int squareAt(int row, int column) {
+    if (((row | column) & ~7) != 0) { // out of bound, including negative numbers
+      return -1;
+    }
+    return SQUARE_AT[row << 3 | column];
+  }
+
+  /**
+   * Returns the kind of a piece, as the first index of the tables.
+   *
+   * @param color the color of the piece
+   * @param king  true if the piece is a King
+   * @return the kind of the piece
+   */
+  static int kind(Color color, boolean king) {
+    if (king) {
+      return KING;
+    }
+    return color == Color.WHITE ? WHITE_MAN : BLACK_MAN;
+  }
+}
@@ -0,0 +1,155 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Looks up book moves in a file written by an OpeningBookBuilder. The file is
+ * memory-mapped read-only, so it is shared by every process on the host that opens it,
+ * and a lookup is a binary search over the mapped entries that allocates nothing.
+ * A book is safe to probe from several threads at once.
+ */
+public final class OpeningBook {
+
+  private final ByteBuffer entries;
+  private final int size;
+
+  /**
+   * Construct a book.
+   *
+   * @param file the book file
+   * @throws IOException           if the file cannot be read
+   * @throws IllegalStateException if the file is not a book file
+   */
+  public OpeningBook(Path file) throws IOException, IllegalStateException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long length = channel.size();
+      if (length > Integer.MAX_VALUE) {
+        throw new IllegalStateException("Book file is too large to map: " + file);
+      }
+      this.entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+      if (length < OpeningBookBuilder.HEADER_SIZE
+          || entries.getInt(0) != OpeningBookBuilder.MAGIC
+          || OpeningBookBuilder.HEADER_SIZE + OpeningBookBuilder.ENTRY_SIZE * entries.getLong(8)
+          != length) {
+        throw new IllegalStateException("Not a book file: " + file);
+      }
+      this.size = (int) entries.getLong(8);
+    }
+  }
+
+  /**
+   * Returns the number of entries, one per position and move.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Writes the book moves of a position, heaviest first.
+   *
+   * @param board   the position
+   * @param side    the color of the side to move
+   * @param moves   receives the moves, encoded as in the Move class
+   * @param weights receives the weight of each move
+   * @return the number of moves written, 0 if the position is not in the book
+   */
+  public int probe(Board board, Color side, long[] moves, int[] weights) {
+    int count = probe(Symmetry.canonicalKey(board, side), moves, weights);
+    if (Symmetry.isSwapped(side)) {
+      for (int i = 0; i < count; i++) {
+        moves[i] = Symmetry.mirrorMove(moves[i]);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Writes the book moves of the position with the given canonical key, heaviest first.
+   * The moves are the ones of the canonical form, with black to move.
+   * At most as many moves as fit in the shorter buffer are written.
+   *
+   * @param key     the canonical key of the position, as Symmetry.canonicalKey gives it
+   * @param moves   receives the moves, encoded as in the Move class
+   * @param weights receives the weight of each move
+   * @return the number of moves written
+   */
+  public int probe(long key, long[] moves, int[] weights) {
+    int count = 0;
+    int limit = Math.min(moves.length, weights.length);
+    for (int entry = firstEntry(key); entry < size && count < limit && keyAt(entry) == key;
+         entry++) {
+      moves[count] = moveAt(entry);
+      weights[count] = weightAt(entry);
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Picks a book move of a position at random, each move as likely as its weight.
+   * The move is picked straight from the mapped entries, so nothing is allocated.
+   *
+   * @param board  the position
+   * @param side   the color of the side to move
+   * @param random a number in the range of [0,1), like one from Math.random()
+   * @return the move, or Move.NONE if the position is not in the book
+   */
+  public long choose(Board board, Color side, double random) {
+    long key = Symmetry.canonicalKey(board, side);
+    int first = firstEntry(key);
+    int end = first;
+    long total = 0;
+    for (; end < size && keyAt(end) == key; end++) {
+      total += weightAt(end);
+    }
+    long pick = (long) (random * total);
+    for (int entry = first; entry < end; entry++) {
+      pick -= weightAt(entry);
+      if (pick < 0) {
+        long move = moveAt(entry);
+        return Symmetry.isSwapped(side) ? Symmetry.mirrorMove(move) : move;
+      }
+    }
+    return Move.NONE;
+  }
+
+  /**
+   * Returns the first entry whose key is not below the given key, found by binary search.
+   */
+  private int firstEntry(long key) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (keyAt(middle) < key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private long moveAt(int entry) {
+    int offset = OpeningBookBuilder.HEADER_SIZE + entry * OpeningBookBuilder.ENTRY_SIZE;
+    int captured = entries.getInt(offset + 8);
+    int squares = entries.getShort(offset + 12);
+    return Move.of(squares & 31, (squares >>> 5) & 31, captured, (squares & (1 << 10)) != 0);
+  }
+
+  private int weightAt(int entry) {
+    return entries.getShort(OpeningBookBuilder.HEADER_SIZE
+        + entry * OpeningBookBuilder.ENTRY_SIZE + 14) & 0xFFFF;
+  }
+
+  private long keyAt(int entry) {
+    return entries.getLong(OpeningBookBuilder.HEADER_SIZE
+        + entry * OpeningBookBuilder.ENTRY_SIZE);
+  }
+}
@@ -0,0 +1,157 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles games into an opening book file, to be read by an OpeningBook. Every move
+ * played in the first plies of a game is counted for the position it was played in;
+ * the count is the weight of the move in the book.
+ *
+ * <p>Positions are keyed by their Symmetry canonical key, so a position reached with
+ * white to move and its twin with black to move share their entries; the moves of a
+ * position with white to move are stored turned round, as moves of its twin.
+ *
+ * <p>The file is a header (a magic number and the number of entries) followed by
+ * entries of 16 bytes, sorted by the canonical key of their position:
+ * the key (8 bytes), the mask of pieces the move takes (4 bytes), the from square,
+ * to square and promotion flag of the move (2 bytes) and the weight (2 bytes).
+ * The entries of one position are in order of falling weight.
+ */
+public final class OpeningBookBuilder {
+
+  static final int MAGIC = 0x434F4232; // "COB2"
+  static final int HEADER_SIZE = 16;
+  static final int ENTRY_SIZE = 16;
+  static final int MAX_WEIGHT = 0xFFFF;
+
+  private final int maxPlies;
+  private final Map<Long, Map<Long, Integer>> counts = new HashMap<>();
+
+  /**
+   * Construct a builder.
+   *
+   * @param maxPlies how many moves from the start of each game go into the book
+   * @throws IllegalArgumentException if the number is not positive
+   */
+  public OpeningBookBuilder(int maxPlies) throws IllegalArgumentException {
+    if (maxPlies <= 0) {
+      throw new IllegalArgumentException("Number of plies must be positive!");
+    }
+    this.maxPlies = maxPlies;
+  }
+
+  /**
+   * Adds the first moves of a game.
+   *
+   * @param game the game
+   */
+  public void add(GameRecord game) {
+    Board board = game.getStartBoard();
+    Color side = game.getStartSide();
+    for (int ply = 0; ply < Math.min(maxPlies, game.getMoveCount()); ply++) {
+      long move = game.getMove(ply);
+      long stored = Symmetry.isSwapped(side) ? Symmetry.mirrorMove(move) : move;
+      counts.computeIfAbsent(Symmetry.canonicalKey(board, side), k -> new HashMap<>())
+          .merge(stored, 1, Integer::sum);
+      board = board.play(move);
+      side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+    }
+  }
+
+  /**
+   * Returns the number of entries the book will have.
+   *
+   * @return the number of position and move pairs added
+   */
+  public int size() {
+    int size = 0;
+    for (Map<Long, Integer> moves : counts.values()) {
+      size += moves.size();
+    }
+    return size;
+  }
+
+  /**
+   * Writes the book.
+   *
+   * @param file the file to create or replace
+   * @throws IOException if the file cannot be written
+   */
+  public void write(Path file) throws IOException {
+    long[] keys = new long[counts.size()];
+    int next = 0;
+    for (long key : counts.keySet()) {
+      keys[next++] = key;
+    }
+    Arrays.sort(keys);
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+      buffer.putInt(MAGIC);
+      buffer.putInt(0);
+      buffer.putLong(size());
+      for (long key : keys) {
+        Map<Long, Integer> moves = counts.get(key);
+        long[][] sorted = new long[moves.size()][];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : moves.entrySet()) {
+          sorted[i++] = new long[] {entry.getKey(), entry.getValue()};
+        }
+        Arrays.sort(sorted, (a, b) -> Long.compare(b[1], a[1]));
+        for (long[] entry : sorted) {
+          if (buffer.remaining() < ENTRY_SIZE) {
+            flush(channel, buffer);
+          }
+          long move = entry[0];
+          buffer.putLong(key);
+          buffer.putInt(Move.captured(move));
+          buffer.putShort((short) (Move.from(move) | Move.to(move) << 5
+              | (Move.isPromotion(move) ? 1 << 10 : 0)));
+          buffer.putShort((short) Math.min(entry[1], MAX_WEIGHT));
+        }
+      }
+      flush(channel, buffer);
+    }
+  }
+
+  private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Builds a book from a game-record file.
+   * Usage: {@code OpeningBookBuilder <record file> <book file> [plies]}
+   *
+   * @param args the game-record file, the book file to write and how many plies of
+   *             each game to use (16 by default)
+   * @throws IOException if a file cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.out.println("Usage: OpeningBookBuilder <record file> <book file> [plies]");
+      return;
+    }
+    OpeningBookBuilder builder =
+        new OpeningBookBuilder(args.length > 2 ? Integer.parseInt(args[2]) : 16);
+    try (GameRecordReader reader = new GameRecordReader(Paths.get(args[0]))) {
+      for (int i = 0; i < reader.getGameCount(); i++) {
+        builder.add(reader.read(i));
+      }
+    }
+    builder.write(Paths.get(args[1]));
+    System.out.printf("%,d entries written%n", builder.size());
+  }
+}
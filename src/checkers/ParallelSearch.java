@@ -0,0 +1,124 @@
+package checkers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Searches one position with several threads ("Lazy SMP"). Every thread runs its own
+ * SearchEngine on the same position, and they all share one transposition table, so
+ * what one thread finds is picked up by the others through the table. Helper threads
+ * search one ply deeper every other thread, which spreads them over different parts of
+ * the tree. The main thread decides when the search ends and its result is the answer.
+ *
+ * <p>A parallel search owns a pool of helper threads; close it when done.
+ */
+public final class ParallelSearch implements AutoCloseable {
+
+  private final TranspositionTable table;
+  private final AtomicBoolean stopSignal = new AtomicBoolean();
+  private final SearchEngine[] engines;
+  private final ExecutorService helpers;
+
+  /**
+   * Construct a parallel search.
+   *
+   * @param threads   the number of threads to search with, including the calling thread
+   * @param megabytes the size of the shared transposition table in megabytes
+   * @throws IllegalArgumentException if the number of threads or the size is not positive
+   */
+  public ParallelSearch(int threads, int megabytes) throws IllegalArgumentException {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive!");
+    }
+    this.table = new TranspositionTable(megabytes);
+    this.engines = new SearchEngine[threads];
+    for (int i = 0; i < threads; i++) {
+      engines[i] = new SearchEngine(table, stopSignal);
+    }
+    this.helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+      Thread thread = new Thread(runnable, "search-helper");
+      thread.setDaemon(true);
+      return thread;
+    }) : null;
+  }
+
+  /**
+   * Returns the number of threads this search uses.
+   *
+   * @return the number of threads
+   */
+  public int getThreads() {
+    return engines.length;
+  }
+
+  /**
+   * Sets who gets told about every iteration the main thread finishes.
+   *
+   * @param listener the listener, or null for nobody
+   */
+  public void setListener(SearchListener listener) {
+    engines[0].setListener(listener);
+  }
+
+  /**
+   * Searches a position with every thread and returns the best move found.
+   * The node count of the result is the total over all threads.
+   *
+   * @param board  the position
+   * @param side   the color of the side to move
+   * @param limits when to stop searching
+   * @return the result of the deepest iteration finished by the main thread
+   * @throws IllegalStateException if a helper thread fails
+   */
+  public SearchResult search(Board board, Color side, SearchLimits limits)
+      throws IllegalStateException {
+    long start = System.nanoTime();
+    table.newSearch();
+    stopSignal.set(false);
+    SearchLimits helperLimits = SearchLimits.depth(limits.getDepth());
+    List<Future<SearchResult>> running = new ArrayList<>();
+    for (int i = 1; i < engines.length; i++) {
+      SearchEngine helper = engines[i];
+      int depthSkew = i % 2;
+      running.add(helpers.submit(() -> helper.iterate(board, side, helperLimits, depthSkew)));
+    }
+
+    SearchResult main;
+    try {
+      main = engines[0].iterate(board, side, limits, 0);
+    } finally {
+      stopSignal.set(true);
+    }
+    long nodes = engines[0].getNodes();
+    long quiescenceNodes = engines[0].getQuiescenceNodes();
+    try {
+      for (int i = 0; i < running.size(); i++) {
+        running.get(i).get();
+        nodes += engines[i + 1].getNodes();
+        quiescenceNodes += engines[i + 1].getQuiescenceNodes();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the helper threads", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A helper thread failed", e.getCause());
+    }
+    return new SearchResult(main.getScore(), main.getDepth(), nodes, quiescenceNodes,
+        System.nanoTime() - start, main.getLine());
+  }
+
+  /**
+   * Stops the helper threads.
+   */
+  @Override
+  public void close() {
+    if (helpers != null) {
+      helpers.shutdownNow();
+    }
+  }
+}
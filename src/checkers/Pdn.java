@@ -0,0 +1,172 @@
+package checkers;
+
+/**
+ * Converts between the notation of PDN (Portable Draughts Notation) and this library.
+ * PDN numbers the dark squares 1 to 32 starting from the black side: square 1 is the
+ * leftmost dark square of row 7 (as the board is printed, row 7 on top) and square 32
+ * the rightmost dark square of row 0. Black starts on squares 1 to 12.
+ *
+ * <p>A FEN tag gives a position as the side to move and the squares of each color,
+ * for example {@code W:W21,22,K30:B1-3,K9}; a K marks a King and a range like 1-3
+ * stands for every square in it.
+ */
+public final class Pdn {
+
+  private Pdn() {
+  }
+
+  /**
+   * Returns the square index, as in Coordinates.ofSquare, of a PDN square number.
+   *
+   * @param number the PDN square number, in the range of [1,32]
+   * @return the square index
+   * @throws IllegalArgumentException if the number is out of bound
+   */
+  public static int squareOf(int number) throws IllegalArgumentException {
+    if (number < 1 || number > 32) {
+      throw new IllegalArgumentException("PDN square must be in the range of [1,32]!");
+    }
+    int fromTop = number - 1;
+    return 28 - 4 * (fromTop / 4) + fromTop % 4;
+  }
+
+  /**
+   * Returns the coordinates of a PDN square number.
+   *
+   * @param number the PDN square number, in the range of [1,32]
+   * @return the coordinates of the square
+   * @throws IllegalArgumentException if the number is out of bound
+   */
+  public static Coordinates coordinatesOf(int number) throws IllegalArgumentException {
+    return Coordinates.ofSquare(squareOf(number));
+  }
+
+  /**
+   * Returns the PDN square number of a square index.
+   *
+   * @param square the square index, in the range of [0,31]
+   * @return the PDN square number
+   * @throws IllegalArgumentException if the square index is out of bound
+   */
+  public static int numberOf(int square) throws IllegalArgumentException {
+    if (square < 0 || square > 31) {
+      throw new IllegalArgumentException("Square must be in the range of [0,31]!");
+    }
+    return 4 * (7 - square / 4) + square % 4 + 1;
+  }
+
+  /**
+   * Reads the position of a FEN tag.
+   *
+   * @param fen the value of the FEN tag
+   * @return the position
+   * @throws IllegalArgumentException if the text is not a FEN position
+   */
+  public static Board parseBoard(String fen) throws IllegalArgumentException {
+    String[] fields = fields(fen);
+    int[] masks = new int[2]; // black, white
+    int kings = 0;
+    for (int i = 1; i < fields.length; i++) {
+      String field = fields[i].trim();
+      if (field.isEmpty()) {
+        continue;
+      }
+      int color = colorIndex(field.charAt(0), fen);
+      for (String item : field.substring(1).split(",")) {
+        item = item.trim();
+        if (item.endsWith(".")) {
+          item = item.substring(0, item.length() - 1);
+        }
+        if (item.isEmpty()) {
+          continue;
+        }
+        boolean king = item.charAt(0) == 'K';
+        if (king) {
+          item = item.substring(1);
+        }
+        int dash = item.indexOf('-');
+        try {
+          int first = Integer.parseInt(dash < 0 ? item : item.substring(0, dash));
+          int last = dash < 0 ? first : Integer.parseInt(item.substring(dash + 1));
+          for (int number = first; number <= last; number++) {
+            int bit = 1 << squareOf(number);
+            masks[color] |= bit;
+            if (king) {
+              kings |= bit;
+            }
+          }
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Not a FEN square: " + item, e);
+        }
+      }
+    }
+    return new Board(masks[0], masks[1], kings);
+  }
+
+  /**
+   * Reads the side to move of a FEN tag.
+   *
+   * @param fen the value of the FEN tag
+   * @return the color of the side to move
+   * @throws IllegalArgumentException if the text is not a FEN position
+   */
+  public static Color parseSide(String fen) throws IllegalArgumentException {
+    String side = fields(fen)[0].trim();
+    if (side.length() != 1) {
+      throw new IllegalArgumentException("Not a FEN position: " + fen);
+    }
+    return colorIndex(side.charAt(0), fen) == 0 ? Color.BLACK : Color.WHITE;
+  }
+
+  /**
+   * Writes a position as the value of a FEN tag.
+   *
+   * @param board the position
+   * @param side  the color of the side to move
+   * @return the FEN text
+   */
+  public static String toFen(Board board, Color side) {
+    StringBuilder fen = new StringBuilder(side == Color.BLACK ? "B" : "W");
+    fen.append(":W");
+    appendSquares(fen, board.getWhite(), board.getKings());
+    fen.append(":B");
+    appendSquares(fen, board.getBlack(), board.getKings());
+    return fen.toString();
+  }
+
+  private static void appendSquares(StringBuilder fen, int pieces, int kings) {
+    boolean first = true;
+    for (int number = 1; number <= 32; number++) {
+      int bit = 1 << squareOf(number);
+      if ((pieces & bit) != 0) {
+        fen.append(first ? "" : ",").append((kings & bit) != 0 ? "K" : "").append(number);
+        first = false;
+      }
+    }
+  }
+
+  private static String[] fields(String fen) throws IllegalArgumentException {
+    if (fen == null) {
+      throw new IllegalArgumentException("FEN must not be a null!");
+    }
+    String text = fen.trim();
+    if (text.startsWith("\"") && text.endsWith("\"") && text.length() > 1) {
+      text = text.substring(1, text.length() - 1);
+    }
+    String[] fields = text.split(":");
+    if (fields.length < 1 || fields.length > 3) {
+      throw new IllegalArgumentException("Not a FEN position: " + fen);
+    }
+    return fields;
+  }
+
+  private static int colorIndex(char color, String fen) throws IllegalArgumentException {
+    if (color == 'B') {
+      return 0;
+    }
+    if (color == 'W') {
+      return 1;
+    }
+    throw new IllegalArgumentException("Not a FEN position: " + fen);
+  }
+}
@@ -0,0 +1,241 @@
+package checkers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game read from a PDN file: its tags, its moves as written, and its result.
+ * The moves are only checked when the game is replayed.
+ */
+public final class PdnGame {
+
+  private final Map<String, String> tags;
+  private final List<String> moves;
+  private final String result;
+
+  /**
+   * Construct a game.
+   *
+   * @param tags   the tag pairs, like "Event" or "FEN", in the order they were read
+   * @param moves  the moves as written, like "11-15" or "15x24x31"
+   * @param result the result as written, like "1-0", or "*" if unknown
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public PdnGame(Map<String, String> tags, List<String> moves, String result)
+      throws IllegalArgumentException {
+    if (tags == null || moves == null || result == null) {
+      throw new IllegalArgumentException("Tags, moves and result must not be null!");
+    }
+    this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+    this.moves = Collections.unmodifiableList(new ArrayList<>(moves));
+    this.result = result;
+  }
+
+  /**
+   * Returns the value of a tag.
+   *
+   * @param name the name of the tag
+   * @return the value, or null if the game does not have the tag
+   */
+  public String getTag(String name) {
+    return tags.get(name);
+  }
+
+  /**
+   * Returns every tag of the game.
+   *
+   * @return the tags, in the order they were read
+   */
+  public Map<String, String> getTags() {
+    return tags;
+  }
+
+  /**
+   * Returns the moves as written.
+   *
+   * @return the moves
+   */
+  public List<String> getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns the result as written.
+   *
+   * @return the result
+   */
+  public String getResult() {
+    return result;
+  }
+
+  /**
+   * Returns the position the game starts from: the one of its FEN tag,
+   * or the starting board.
+   *
+   * @return the starting position
+   * @throws IllegalArgumentException if the FEN tag is not a position
+   */
+  public Board getStartBoard() throws IllegalArgumentException {
+    String fen = tags.get("FEN");
+    return fen == null ? Board.initial() : Pdn.parseBoard(fen);
+  }
+
+  /**
+   * Returns the side to move at the start of the game.
+   *
+   * @return the color of the side to move
+   * @throws IllegalArgumentException if the FEN tag is not a position
+   */
+  public Color getStartSide() throws IllegalArgumentException {
+    String fen = tags.get("FEN");
+    return fen == null ? Color.BLACK : Pdn.parseSide(fen);
+  }
+
+  /**
+   * Plays the moves of the game from its starting position and checks each one: it must
+   * be a legal move of the MoveGenerator, and the Man or King making it must allow it
+   * through canMove or canCapture.
+   *
+   * @return the moves, encoded as in the Move class
+   * @throws IllegalArgumentException if a move is not legal, or does not say which
+   *                                  of several captures it is
+   */
+  public long[] replay() throws IllegalArgumentException {
+    Board board = getStartBoard();
+    Color side = getStartSide();
+    long[] played = new long[moves.size()];
+    long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    GameReplayEvent event = Metrics.ENABLED ? new GameReplayEvent() : null;
+    if (event != null) {
+      event.begin();
+      event.moves = played.length;
+    }
+    for (int i = 0; i < played.length; i++) {
+      String text = moves.get(i);
+      long move;
+      try {
+        move = find(board, side, text, buffer);
+      } catch (IllegalArgumentException e) {
+        if (event != null) {
+          event.commit();
+        }
+        throw new IllegalArgumentException("Move " + (i + 1) + " (" + text + "): "
+            + e.getMessage(), e);
+      }
+      played[i] = move;
+      board = board.play(move);
+      side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+    }
+    if (event != null) {
+      event.legal = true;
+      event.commit();
+    }
+    return played;
+  }
+
+  /**
+   * Finds the legal move a PDN move stands for.
+   */
+  private static long find(Board board, Color side, String text, long[] buffer)
+      throws IllegalArgumentException {
+    boolean capture = text.indexOf('x') >= 0;
+    String[] numbers = text.split("[-x]");
+    if (numbers.length < 2) {
+      throw new IllegalArgumentException("not a move");
+    }
+    int[] path = new int[numbers.length];
+    for (int i = 0; i < path.length; i++) {
+      try {
+        path[i] = Pdn.squareOf(Integer.parseInt(numbers[i]));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("not a move", e);
+      }
+    }
+    int from = path[0];
+    int to = path[path.length - 1];
+    int captured = path.length > 2 ? capturedAlong(path) : -1;
+
+    int count = MoveGenerator.generate(board, side, buffer, 0);
+    long found = Move.NONE;
+    for (int i = 0; i < count; i++) {
+      long move = buffer[i];
+      if (Move.from(move) != from || Move.to(move) != to || Move.isCapture(move) != capture
+          || (captured >= 0 && Move.captured(move) != captured)) {
+        continue;
+      }
+      if (found != Move.NONE && Move.captured(found) != Move.captured(move)) {
+        throw new IllegalArgumentException("more than one capture goes that way");
+      }
+      found = move;
+    }
+    if (found == Move.NONE) {
+      throw new IllegalArgumentException("not a legal move");
+    }
+    checkPiece(board, found);
+    return found;
+  }
+
+  /**
+   * Returns the mask of the pieces jumped by a capture written with every landing square.
+   */
+  private static int capturedAlong(int[] path) throws IllegalArgumentException {
+    int captured = 0;
+    for (int i = 1; i < path.length; i++) {
+      int over = -1;
+      for (int direction = 0; direction < 4; direction++) {
+        if (MoveTables.LANDING[path[i - 1]][direction] == path[i]) {
+          over = MoveTables.NEIGHBOUR[path[i - 1]][direction];
+        }
+      }
+      if (over < 0) {
+        throw new IllegalArgumentException("not a jump");
+      }
+      captured |= 1 << over;
+    }
+    return captured;
+  }
+
+  /**
+   * Checks that the Man or King making a move allows it.
+   */
+  private static void checkPiece(Board board, long move) throws IllegalArgumentException {
+    Coordinates from = Coordinates.ofSquare(Move.from(move));
+    CheckersPiece piece = board.pieceAt(from.getRow(), from.getColumn());
+    boolean allowed;
+    if (!Move.isCapture(move)) {
+      Coordinates to = Coordinates.ofSquare(Move.to(move));
+      allowed = piece.canMove(to.getRow(), to.getColumn());
+    } else {
+      allowed = false;
+      for (int over : MoveTables.NEIGHBOUR[Move.from(move)]) {
+        if (over >= 0 && (Move.captured(move) & (1 << over)) != 0) {
+          Coordinates jumped = Coordinates.ofSquare(over);
+          allowed |= piece.canCapture(board.pieceAt(jumped.getRow(), jumped.getColumn()));
+        }
+      }
+    }
+    if (!allowed) {
+      throw new IllegalArgumentException(piece.getClass().getSimpleName()
+          + " does not allow it");
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder();
+    for (Map.Entry<String, String> tag : tags.entrySet()) {
+      text.append('[').append(tag.getKey()).append(" \"").append(tag.getValue())
+          .append("\"]\n");
+    }
+    for (int i = 0; i < moves.size(); i++) {
+      if (i % 2 == 0) {
+        text.append(i / 2 + 1).append(". ");
+      }
+      text.append(moves.get(i)).append(' ');
+    }
+    return text.append(result).toString();
+  }
+}
@@ -0,0 +1,247 @@
+package checkers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the games of a PDN file one at a time. Only the game being read is kept in
+ * memory, so archives of any size can be read through.
+ *
+ * <p>The reader understands tag pairs, move numbers, moves written with "-" or "x",
+ * results, comments in braces or after a semicolon, variations in parentheses (which
+ * are skipped), numeric annotations like "$1" and move annotations like "!?".
+ * A game ends with its result, or where the tags of the next game begin.
+ */
+public final class PdnReader implements AutoCloseable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Reader in;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private final StringBuilder token = new StringBuilder();
+  private int position;
+  private int limit;
+
+  /**
+   * Construct a reader.
+   *
+   * @param in where to read the PDN text from
+   * @throws IllegalArgumentException if the reader is null
+   */
+  public PdnReader(Reader in) throws IllegalArgumentException {
+    if (in == null) {
+      throw new IllegalArgumentException("Reader must not be a null!");
+    }
+    this.in = in;
+  }
+
+  /**
+   * Reads the next game.
+   *
+   * @return the game, or null if there is no game left
+   * @throws IOException              if the text cannot be read
+   * @throws IllegalArgumentException if a tag or comment is not closed
+   */
+  public PdnGame next() throws IOException, IllegalArgumentException {
+    Map<String, String> tags = new LinkedHashMap<>();
+    List<String> moves = new ArrayList<>();
+    boolean started = false;
+    while (true) {
+      int c = peek();
+      if (c < 0) {
+        return started ? new PdnGame(tags, moves, "*") : null;
+      }
+      if (Character.isWhitespace(c)) {
+        position++;
+      } else if (c == '[') {
+        if (!moves.isEmpty()) {
+          return new PdnGame(tags, moves, "*"); // the next game starts without a result
+        }
+        position++;
+        readTag(tags);
+        started = true;
+      } else if (c == '{') {
+        skipPast('}');
+      } else if (c == ';') {
+        skipPast('\n');
+      } else if (c == '(') {
+        skipVariation();
+      } else {
+        String word = readWord();
+        started = true;
+        if (isResult(word)) {
+          return new PdnGame(tags, moves, word);
+        }
+        String move = moveOf(word);
+        if (move != null) {
+          moves.add(move);
+        }
+      }
+    }
+  }
+
+  /**
+   * Closes the underlying reader.
+   *
+   * @throws IOException if it cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private int peek() throws IOException {
+    if (position == limit) {
+      limit = in.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[position];
+  }
+
+  private int read() throws IOException {
+    int c = peek();
+    if (c >= 0) {
+      position++;
+    }
+    return c;
+  }
+
+  private void readTag(Map<String, String> tags) throws IOException {
+    token.setLength(0);
+    int c;
+    while ((c = read()) >= 0 && c != ']' && c != '"') {
+      token.append((char) c);
+    }
+    String name = token.toString().trim();
+    token.setLength(0);
+    if (c == '"') {
+      while ((c = read()) >= 0 && c != '"') {
+        if (c == '\\') {
+          c = read();
+        }
+        token.append((char) c);
+      }
+      while (c >= 0 && c != ']') {
+        c = read();
+      }
+    }
+    if (c < 0) {
+      throw new IllegalArgumentException("Tag is not closed: " + name);
+    }
+    tags.put(name, token.toString());
+  }
+
+  private void skipPast(char end) throws IOException {
+    int c;
+    while ((c = read()) >= 0 && c != end) {
+      // skip
+    }
+    if (c < 0 && end != '\n') {
+      throw new IllegalArgumentException("Comment is not closed!");
+    }
+  }
+
+  private void skipVariation() throws IOException {
+    int depth = 0;
+    int c;
+    while ((c = read()) >= 0) {
+      if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        return;
+      } else if (c == '{') {
+        skipPast('}');
+      }
+    }
+    throw new IllegalArgumentException("Variation is not closed!");
+  }
+
+  private String readWord() throws IOException {
+    token.setLength(0);
+    int c;
+    while ((c = peek()) >= 0 && !Character.isWhitespace(c) && "[]{}();".indexOf(c) < 0) {
+      token.append((char) c);
+      position++;
+    }
+    if (token.length() == 0) {
+      position++; // a stray ")" or "]"
+    }
+    return token.toString();
+  }
+
+  /**
+   * Returns true if a word is a game result. Square 0 does not exist, so "1-0" or
+   * "0-2" cannot be moves, and neither can "1-1" (a draw, counted in points).
+   */
+  private static boolean isResult(String word) {
+    return word.equals("*") || word.equals("1/2-1/2") || word.equals("1-1")
+        || word.startsWith("0-") || word.endsWith("-0");
+  }
+
+  /**
+   * Returns the move in a word without its move number and annotations,
+   * or null if the word is not a move.
+   */
+  private static String moveOf(String word) {
+    int start = word.lastIndexOf('.') + 1;
+    int end = start;
+    while (end < word.length()
+        && (Character.isDigit(word.charAt(end)) || word.charAt(end) == '-'
+        || word.charAt(end) == 'x' || word.charAt(end) == 'X')) {
+      end++;
+    }
+    if (end == start || word.charAt(start) == '$') {
+      return null;
+    }
+    String move = word.substring(start, end).replace('X', 'x');
+    return move.indexOf('-') > 0 || move.indexOf('x') > 0 ? move : null;
+  }
+
+  /**
+   * Reads a PDN file, replays every game and prints the games that have an illegal
+   * move, then how many games were read and how fast.
+   * Usage: {@code PdnReader <file>}
+   *
+   * @param args the PDN file
+   * @throws IOException if the file cannot be read
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.out.println("Usage: PdnReader <file>");
+      return;
+    }
+    long start = System.nanoTime();
+    long games = 0;
+    long moves = 0;
+    long illegal = 0;
+    // ISO-8859-1 never fails to decode, and square numbers and tags are plain ASCII
+    try (PdnReader reader = new PdnReader(Files.newBufferedReader(Paths.get(args[0]),
+        StandardCharsets.ISO_8859_1))) {
+      PdnGame game;
+      while ((game = reader.next()) != null) {
+        games++;
+        moves += game.getMoves().size();
+        try {
+          game.replay();
+        } catch (IllegalArgumentException e) {
+          illegal++;
+          System.out.println("game " + games + ": " + e.getMessage());
+        }
+      }
+    }
+    long nanos = System.nanoTime() - start;
+    System.out.printf("%,d games, %,d moves, %,d illegal in %,.1f ms, %,.0f games/s%n",
+        games, moves, illegal, nanos / 1e6, games * 1e9 / Math.max(nanos, 1));
+  }
+}
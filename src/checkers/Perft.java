@@ -0,0 +1,170 @@
+package checkers;
+
+/**
+ * Counts the leaves of the full legal-move tree of a position to a given depth.
+ * This is the usual way to check a move generator: the counts from the starting
+ * board are well known, so any rule mistake shows up as a wrong number, and the time
+ * it takes is a good measure of how fast moves are generated and played.
+ *
+ * <p>Moves are made and taken back on one Position. At the last ply the moves are
+ * only counted, not played ("bulk counting").
+ * With verification on, every generated move is also checked against the canMove
+ * and canCapture methods of the Man or King that makes it.
+ */
+public final class Perft {
+
+  /* leaf counts from the starting board with black to move, indexed by depth; from
+   * depth 12 on, the published counts (388623673, 1766623630) also count the captures
+   * that leave the same position by another path, which MoveGenerator writes once */
+  private static final long[] START_COUNTS = {
+      1L, 7L, 49L, 302L, 1469L, 7361L, 36768L, 179740L, 845931L, 3963680L, 18391564L,
+      85242128L, 388617999L, 1766564893L
+  };
+
+  private final long[][] moves;
+  private final boolean verify;
+
+  /**
+   * Construct a perft counter with one move buffer for each ply.
+   *
+   * @param maxDepth the deepest depth this counter will be asked for
+   * @param verify   true to check every move against the Man and King rules
+   * @throws IllegalArgumentException if the depth is negative
+   */
+  public Perft(int maxDepth, boolean verify) throws IllegalArgumentException {
+    if (maxDepth < 0) {
+      throw new IllegalArgumentException("Depth must not be negative!");
+    }
+    this.moves = new long[maxDepth + 1][MoveGenerator.MAX_MOVES];
+    this.verify = verify;
+  }
+
+  /**
+   * Returns the known leaf count from the starting board.
+   *
+   * @param depth the depth of the tree
+   * @return the leaf count, or -1 if it is not in the table
+   */
+  public static long knownCount(int depth) {
+    if (depth < 0 || depth >= START_COUNTS.length) {
+      return -1;
+    }
+    return START_COUNTS[depth];
+  }
+
+  /**
+   * Counts the leaves of the tree of the given position.
+   *
+   * @param board the position
+   * @param side  the color of the side to move
+   * @param depth the depth of the tree
+   * @return the number of leaves
+   * @throws IllegalArgumentException if the depth is negative or deeper than this
+   *                                  counter was built for
+   * @throws IllegalStateException    if verification is on and a move breaks the rules
+   *                                  of Man or King
+   */
+  public long count(Board board, Color side, int depth)
+      throws IllegalArgumentException, IllegalStateException {
+    if (depth < 0 || depth >= moves.length) {
+      throw new IllegalArgumentException("Depth must be in the range of [0,"
+          + (moves.length - 1) + "]!");
+    }
+    if (depth == 0) {
+      return 1;
+    }
+    return count(new Position(board, side, depth), depth);
+  }
+
+  private long count(Position position, int depth) {
+    long[] buffer = moves[depth];
+    int count = position.generateMoves(buffer, 0);
+    if (verify) {
+      verify(position.getBlack(), position.getWhite(), position.getKings(), position.getSide(),
+          buffer, count);
+    }
+    if (depth == 1) {
+      return count;
+    }
+    long leaves = 0;
+    for (int i = 0; i < count; i++) {
+      position.makeMove(buffer[i]);
+      leaves += count(position, depth - 1);
+      position.unmakeMove();
+    }
+    return leaves;
+  }
+
+  /**
+   * Checks every move against the Man or King that makes it: a simple move must be
+   * allowed by canMove, and a capture must start by jumping a piece that canCapture allows.
+   */
+  private static void verify(int black, int white, int kings, Color side, long[] buffer,
+                             int count) throws IllegalStateException {
+    for (int i = 0; i < count; i++) {
+      long move = buffer[i];
+      int from = Move.from(move);
+      CheckersPiece piece = pieceAt(black, white, kings, from);
+      if (piece == null || piece.getColor() != side) {
+        throw new IllegalStateException("No piece to move for " + Move.toString(move));
+      }
+      Coordinates to = Coordinates.ofSquare(Move.to(move));
+      boolean legal;
+      if (!Move.isCapture(move)) {
+        legal = piece.canMove(to.getRow(), to.getColumn());
+      } else {
+        legal = false;
+        for (int over : MoveTables.NEIGHBOUR[from]) {
+          if (over >= 0 && (Move.captured(move) & (1 << over)) != 0) {
+            legal |= piece.canCapture(pieceAt(black, white, kings, over));
+          }
+        }
+      }
+      if (!legal) {
+        throw new IllegalStateException(piece.getClass().getSimpleName()
+            + " cannot play " + Move.toString(move));
+      }
+    }
+  }
+
+  private static CheckersPiece pieceAt(int black, int white, int kings, int square) {
+    int bit = 1 << square;
+    if (((black | white) & bit) == 0) {
+      return null;
+    }
+    Color color = (black & bit) != 0 ? Color.BLACK : Color.WHITE;
+    return (kings & bit) != 0 ? King.ofSquare(square, color) : Man.ofSquare(square, color);
+  }
+
+  /**
+   * Runs perft from the starting board for every depth up to the given one, printing
+   * the leaf count, the time and the leaves per second of each depth, and whether the
+   * count matches the known one.
+   * Usage: {@code Perft <depth> [verify]}
+   *
+   * @param args the depth, and optionally "verify" to check every move against the pieces
+   */
+  public static void main(String[] args) {
+    if (args.length < 1) {
+      System.out.println("Usage: Perft <depth> [verify]");
+      return;
+    }
+    int depth = Integer.parseInt(args[0]);
+    boolean verify = args.length > 1 && args[1].equals("verify");
+    Perft perft = new Perft(depth, verify);
+    long total = 0;
+    long totalNanos = 0;
+    for (int d = 1; d <= depth; d++) {
+      long start = System.nanoTime();
+      long leaves = perft.count(Board.initial(), Color.BLACK, d);
+      long nanos = System.nanoTime() - start;
+      total += leaves;
+      totalNanos += nanos;
+      long known = knownCount(d);
+      String check = known < 0 ? "unknown" : (known == leaves ? "ok" : "MISMATCH, expected " + known);
+      System.out.printf("depth %2d  leaves %,15d  %,9.1f ms  %,13.0f leaves/s  %s%n",
+          d, leaves, nanos / 1e6, leaves * 1e9 / Math.max(nanos, 1), check);
+    }
+    System.out.printf("total %,d leaves in %,.1f ms%n", total, totalNanos / 1e6);
+  }
+}
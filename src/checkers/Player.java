@@ -0,0 +1,33 @@
+package checkers;
+
+/**
+ * Something that chooses moves in a game, like a search engine or a person.
+ */
+@FunctionalInterface
+public interface Player {
+
+  /**
+   * Chooses a move.
+   *
+   * @param board the position
+   * @param side  the color of the side to move, which has at least one legal move
+   * @return the chosen move, encoded as in the Move class
+   */
+  long chooseMove(Board board, Color side);
+
+  /**
+   * Returns a player that searches every position with its own SearchEngine.
+   *
+   * @param megabytes the size of the transposition table of the engine
+   * @param limits    when to stop each search
+   * @return the player
+   * @throws IllegalArgumentException if the size is not positive or the limits are null
+   */
+  static Player engine(int megabytes, SearchLimits limits) throws IllegalArgumentException {
+    if (limits == null) {
+      throw new IllegalArgumentException("Search limits must not be a null!");
+    }
+    SearchEngine engine = new SearchEngine(megabytes);
+    return (board, side) -> engine.search(board, side, limits).getBestMove();
+  }
+}
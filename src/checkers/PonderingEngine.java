@@ -0,0 +1,133 @@
+package checkers;
+
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A search engine that keeps thinking on the opponent's time. After a move is played,
+ * ponder searches the position the opponent is expected to leave on a background thread,
+ * until the next search starts. Whether or not the opponent plays the expected reply,
+ * the transposition table is warm when their move arrives, and if they do, most of the
+ * tree of the next search is already in it.
+ *
+ * <p>Searches are made from one thread at a time; pondering runs on a thread owned by
+ * the engine, so close it when done.
+ */
+public final class PonderingEngine implements AutoCloseable {
+
+  private final AtomicBoolean stopSignal = new AtomicBoolean();
+  private final SearchEngine engine;
+  private final ExecutorService ponderer = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "search-ponder");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private Future<?> pondering;
+
+  /**
+   * Construct a pondering engine.
+   *
+   * @param megabytes the size of the transposition table in megabytes
+   * @throws IllegalArgumentException if the size is not positive
+   */
+  public PonderingEngine(int megabytes) throws IllegalArgumentException {
+    this.engine = new SearchEngine(new TranspositionTable(megabytes), stopSignal);
+  }
+
+  /**
+   * Stops pondering, then searches a position and returns the best move found.
+   *
+   * @param board  the position
+   * @param side   the color of the side to move
+   * @param limits when to stop searching
+   * @return the result of the deepest finished iteration
+   * @throws IllegalStateException if pondering failed
+   */
+  public SearchResult search(Board board, Color side, SearchLimits limits)
+      throws IllegalStateException {
+    stopPondering();
+    return engine.search(board, side, limits);
+  }
+
+  /**
+   * Stops pondering, then searches a position until a wall-clock deadline. The time
+   * taken to stop pondering counts against the deadline.
+   *
+   * @param board    the position
+   * @param side     the color of the side to move
+   * @param deadline the time by which to return
+   * @return the result of the deepest finished iteration
+   * @throws IllegalStateException if pondering failed
+   */
+  public SearchResult search(Board board, Color side, Instant deadline)
+      throws IllegalStateException {
+    stopPondering();
+    return engine.search(board, side, deadline);
+  }
+
+  /**
+   * Starts searching, in the background, the position expected after the opponent's
+   * reply. It goes on until the next search, stopPondering or close.
+   *
+   * @param board         the position after our move
+   * @param side          the color of the opponent, who is to move
+   * @param expectedReply the reply expected, usually the second move of the line of the
+   *                      last search, or Move.NONE to search the opponent's position
+   * @throws IllegalStateException if earlier pondering failed
+   */
+  public void ponder(Board board, Color side, long expectedReply) throws IllegalStateException {
+    stopPondering();
+    boolean replied = expectedReply != Move.NONE;
+    Board ponderBoard = replied ? board.play(expectedReply) : board;
+    Color ponderSide = replied ? (side == Color.BLACK ? Color.WHITE : Color.BLACK) : side;
+    pondering = ponderer.submit(() -> engine.search(ponderBoard, ponderSide,
+        SearchLimits.depth(SearchLimits.MAX_DEPTH)));
+  }
+
+  /**
+   * Returns whether a background search is running.
+   *
+   * @return true while pondering
+   */
+  public boolean isPondering() {
+    return pondering != null && !pondering.isDone();
+  }
+
+  /**
+   * Stops pondering and waits for the background search to end, which takes no longer
+   * than the search needs to notice, about a millisecond.
+   *
+   * @throws IllegalStateException if pondering failed
+   */
+  public void stopPondering() throws IllegalStateException {
+    if (pondering == null) {
+      return;
+    }
+    stopSignal.set(true);
+    try {
+      pondering.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while stopping the pondering", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Pondering failed", e.getCause());
+    } finally {
+      pondering = null;
+      stopSignal.set(false);
+    }
+  }
+
+  /**
+   * Stops pondering and the background thread.
+   */
+  @Override
+  public void close() {
+    stopSignal.set(true);
+    ponderer.shutdownNow();
+  }
+}
@@ -0,0 +1,269 @@
+package checkers;
+
+/**
+ * A position that changes in place: makeMove plays a move on it and unmakeMove takes
+ * the last move back. Unlike Board, which is immutable and makes a new object for every
+ * move, a position keeps what it needs to take moves back in an undo stack allocated
+ * once, so playing and taking back moves allocates nothing. The Zobrist keys of the
+ * position and of its Symmetry twin, and the piece-square part of its Evaluation, are
+ * kept up to date as moves are made, so none is computed from all the pieces again.
+ *
+ * <p>A position is not safe to use from several threads at once.
+ */
+public final class Position {
+
+  private int black;
+  private int white;
+  private int kings;
+  private Color side;
+  private long key;
+  /* the key of the position turned round with its colors swapped */
+  private long mirrorKey;
+  private int score;
+
+  /* the undo stack: for every move made, the move, which of the pieces it took were Kings,
+   * and the keys and score before it */
+  private final long[] moves;
+  private final int[] capturedKings;
+  private final long[] keys;
+  private final long[] mirrorKeys;
+  private final int[] scores;
+  private int ply;
+
+  /**
+   * Construct a position.
+   *
+   * @param board    the pieces
+   * @param side     the color of the side to move
+   * @param capacity the most moves that can be made without taking any back
+   * @throws IllegalArgumentException if the board or side is null, or the capacity
+   *                                  is negative
+   */
+  public Position(Board board, Color side, int capacity) throws IllegalArgumentException {
+    if (board == null || side == null) {
+      throw new IllegalArgumentException("Board and side must not be null!");
+    }
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity must not be negative!");
+    }
+    this.moves = new long[capacity];
+    this.capturedKings = new int[capacity];
+    this.keys = new long[capacity];
+    this.mirrorKeys = new long[capacity];
+    this.scores = new int[capacity];
+    set(board, side);
+  }
+
+  /**
+   * Replaces the pieces and the side to move, and empties the undo stack.
+   *
+   * @param board the pieces
+   * @param side  the color of the side to move
+   */
+  public void set(Board board, Color side) {
+    this.black = board.getBlack();
+    this.white = board.getWhite();
+    this.kings = board.getKings();
+    this.side = side;
+    this.key = Zobrist.hash(black, white, kings, side);
+    this.mirrorKey = Zobrist.twinHash(black, white, kings, side);
+    this.score = Evaluation.score(black, white, kings);
+    this.ply = 0;
+  }
+
+  /**
+   * Returns the mask of black pieces.
+   *
+   * @return the mask of black pieces
+   */
+  public int getBlack() {
+    return black;
+  }
+
+  /**
+   * Returns the mask of white pieces.
+   *
+   * @return the mask of white pieces
+   */
+  public int getWhite() {
+    return white;
+  }
+
+  /**
+   * Returns the mask of Kings of both colors.
+   *
+   * @return the mask of Kings
+   */
+  public int getKings() {
+    return kings;
+  }
+
+  /**
+   * Returns the side to move.
+   *
+   * @return the color of the side to move
+   */
+  public Color getSide() {
+    return side;
+  }
+
+  /**
+   * Returns the Zobrist key of the position and side to move.
+   *
+   * @return the key
+   */
+  public long getKey() {
+    return key;
+  }
+
+  /**
+   * Returns the Zobrist key of the canonical form of the position, as
+   * Symmetry.canonicalKey gives it.
+   *
+   * @return the canonical key
+   */
+  public long getCanonicalKey() {
+    return side == Color.BLACK ? key : mirrorKey;
+  }
+
+  /**
+   * Returns the static score of the position for the side to move, as the Evaluation
+   * class gives it.
+   *
+   * @return the score, positive when the side to move stands better
+   */
+  public int evaluate() {
+    return Evaluation.evaluate(black, white, kings, side, score);
+  }
+
+  /**
+   * Tells if the side to move has a capture, and so must capture. Pieces are checked
+   * all at once, with the jumps of Man.canCapture and King.canCapture.
+   *
+   * @return true if a piece of the side to move can jump
+   */
+  public boolean mustCapture() {
+    int own = side == Color.BLACK ? black : white;
+    int opponents = side == Color.BLACK ? white : black;
+    return Board.jumpers(own, opponents, ~(black | white), kings, side) != 0;
+  }
+
+  /**
+   * Returns the number of moves made and not taken back.
+   *
+   * @return the number of moves on the undo stack
+   */
+  public int getPly() {
+    return ply;
+  }
+
+  /**
+   * Returns the pieces as an immutable board.
+   *
+   * @return the board
+   */
+  public Board toBoard() {
+    return new Board(black, white, kings);
+  }
+
+  /**
+   * Writes every legal move of the side to move into the buffer.
+   *
+   * @param buffer the buffer the moves are written into
+   * @param offset the index of the buffer where the first move goes
+   * @return the number of moves written, 0 if the side to move has lost
+   * @throws IllegalArgumentException if the buffer is too small for all the moves
+   */
+  public int generateMoves(long[] buffer, int offset) throws IllegalArgumentException {
+    return MoveGenerator.generate(black, white, kings, side, buffer, offset);
+  }
+
+  /**
+   * Plays a move. The move is not checked, so it should come from generateMoves.
+   *
+   * @param move an encoded move, as in the Move class
+   * @throws IllegalStateException if the undo stack is full
+   */
+  public void makeMove(long move) throws IllegalStateException {
+    if (ply == moves.length) {
+      throw new IllegalStateException("Undo stack is full!");
+    }
+    int fromBit = 1 << Move.from(move);
+    int toBit = 1 << Move.to(move);
+    int captured = Move.captured(move);
+    moves[ply] = move;
+    capturedKings[ply] = kings & captured;
+    keys[ply] = key;
+    mirrorKeys[ply] = mirrorKey;
+    scores[ply] = score;
+    ply++;
+
+    key = Zobrist.update(key, black, kings, move);
+    mirrorKey = Zobrist.twinUpdate(mirrorKey, black, kings, move);
+    score = Evaluation.update(score, black, kings, move);
+    if ((kings & fromBit) != 0 || Move.isPromotion(move)) {
+      kings = (kings & ~captured & ~fromBit) | toBit;
+    } else {
+      kings &= ~captured;
+    }
+    if (side == Color.BLACK) {
+      black = (black & ~fromBit) | toBit;
+      white &= ~captured;
+      side = Color.WHITE;
+    } else {
+      white = (white & ~fromBit) | toBit;
+      black &= ~captured;
+      side = Color.BLACK;
+    }
+  }
+
+  /**
+   * Takes back the last move made.
+   *
+   * @throws IllegalStateException if no move is left to take back
+   */
+  public void unmakeMove() throws IllegalStateException {
+    if (ply == 0) {
+      throw new IllegalStateException("No move to take back!");
+    }
+    ply--;
+    long move = moves[ply];
+    int fromBit = 1 << Move.from(move);
+    int toBit = 1 << Move.to(move);
+    int captured = Move.captured(move);
+
+    if ((kings & toBit) != 0) {
+      kings &= ~toBit;
+      if (!Move.isPromotion(move)) {
+        kings |= fromBit;
+      }
+    }
+    kings |= capturedKings[ply];
+    if (side == Color.WHITE) { // black made the move
+      black = (black & ~toBit) | fromBit;
+      white |= captured;
+      side = Color.BLACK;
+    } else {
+      white = (white & ~toBit) | fromBit;
+      black |= captured;
+      side = Color.WHITE;
+    }
+    key = keys[ply];
+    mirrorKey = mirrorKeys[ply];
+    score = scores[ply];
+  }
+
+  /**
+   * Returns the last move made and not taken back.
+   *
+   * @return the move, or Move.NONE if the undo stack is empty
+   */
+  public long lastMove() {
+    return ply == 0 ? Move.NONE : moves[ply - 1];
+  }
+
+  @Override
+  public String toString() {
+    return toBoard() + side.toString() + " to move\n";
+  }
+}
@@ -0,0 +1,90 @@
+package checkers;
+
+/**
+ * The rule options that differ between the kinds of draughts. Every kind shares the
+ * basics: Men step forward one square, capturing is mandatory and a capture goes on
+ * while the piece can jump again. On top of those:
+ * <ul>
+ *   <li>flying Kings move any number of empty squares along a diagonal, and capture a
+ *   piece at any distance along one, landing on any empty square behind it;</li>
+ *   <li>Men may capture backward as well as forward;</li>
+ *   <li>the capture taking the most pieces must be played.</li>
+ * </ul>
+ * A Man that reaches the crowning row in the middle of a capture is crowned and stops
+ * there when Men only capture forward; when they capture backward it goes on capturing
+ * and is only crowned if it ends its move on that row.
+ */
+public final class Rules {
+
+  /**
+   * The rules of checkers (English draughts): none of the options.
+   */
+  public static final Rules ENGLISH = new Rules(false, false, false);
+
+  /**
+   * The rules of international draughts: all of the options.
+   */
+  public static final Rules INTERNATIONAL = new Rules(true, true, true);
+
+  private final boolean flyingKings;
+  private final boolean menCaptureBackward;
+  private final boolean maximumCapture;
+
+  /**
+   * Construct a set of rules.
+   *
+   * @param flyingKings        true if Kings move and capture at any distance
+   * @param menCaptureBackward true if Men may capture backward
+   * @param maximumCapture     true if the capture taking the most pieces must be played
+   */
+  public Rules(boolean flyingKings, boolean menCaptureBackward, boolean maximumCapture) {
+    this.flyingKings = flyingKings;
+    this.menCaptureBackward = menCaptureBackward;
+    this.maximumCapture = maximumCapture;
+  }
+
+  /**
+   * Returns whether Kings move and capture at any distance.
+   *
+   * @return true for flying Kings
+   */
+  public boolean hasFlyingKings() {
+    return flyingKings;
+  }
+
+  /**
+   * Returns whether Men may capture backward.
+   *
+   * @return true if Men capture in all four directions
+   */
+  public boolean menCaptureBackward() {
+    return menCaptureBackward;
+  }
+
+  /**
+   * Returns whether the capture taking the most pieces must be played.
+   *
+   * @return true if the majority capture rule holds
+   */
+  public boolean hasMaximumCapture() {
+    return maximumCapture;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof Rules)) {
+      return false;
+    }
+    Rules rules = (Rules) other;
+    return flyingKings == rules.flyingKings && menCaptureBackward == rules.menCaptureBackward
+        && maximumCapture == rules.maximumCapture;
+  }
+
+  @Override
+  public int hashCode() {
+    return (flyingKings ? 4 : 0) | (menCaptureBackward ? 2 : 0) | (maximumCapture ? 1 : 0);
+  }
+}
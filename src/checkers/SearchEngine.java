@@ -0,0 +1,442 @@
+package checkers;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Chooses a move by searching the game tree. The search is a negamax alpha-beta
+ * search run with iterative deepening: it searches to depth 1, then 2, and so on,
+ * until the depth, node or time limit is reached, and returns the result of the last
+ * iteration it finished. Results are cached in a transposition table under the canonical
+ * key of each position, so a position and its Symmetry twin share one entry. The moves
+ * of every node are searched in the order of a MoveOrderer: the best move of the table
+ * first, then captures, crownings, killer moves and the history table.
+ *
+ * <p>Moves come from the MoveGenerator, so the rules are the ones of Man and King.
+ * They are made and taken back on one Position, so searching allocates nothing per node,
+ * and the leaves are scored by the Evaluation the Position keeps up to date.
+ *
+ * <p>A position where the side to move must capture is in the middle of an exchange,
+ * and its static score is off by the pieces about to be taken. So past the depth, a
+ * quiescence search plays on the forced captures only, until a quiet position where the
+ * side to move can stand pat on its score. Capturing is not a choice, so a side that has
+ * a capture cannot stand pat. Its nodes are counted apart from the others.
+ *
+ * <p>A search engine is not safe to use from several threads at once.
+ */
+public class SearchEngine {
+
+  /**
+   * The score of a won position; a win found n plies from the root scores WIN - n.
+   */
+  public static final int WIN = 30000;
+
+  /* scores beyond this are wins or losses, whose distance depends on the ply */
+  private static final int WIN_THRESHOLD = WIN - 2 * SearchLimits.MAX_DEPTH;
+  private static final int INFINITY = WIN + 1;
+
+  /* how many nodes, of the search and the quiescence search together, to search between
+   * two looks at the clock; reading it costs about as much as a few nodes */
+  private static final int CHECK_INTERVAL = 256;
+  /* after this many iterations with the same best move, the soft time limit is halved */
+  private static final int STABLE_ITERATIONS = 4;
+
+  private final TranspositionTable table;
+  /* set by another thread to stop this search, when several engines search together */
+  private final AtomicBoolean stopSignal;
+  /* the position being searched, changed in place as moves are made and taken back */
+  private final Position position = new Position(Board.initial(), Color.BLACK,
+      SearchLimits.MAX_DEPTH);
+  private final long[][] moves = new long[SearchLimits.MAX_DEPTH + 1][MoveGenerator.MAX_MOVES];
+  /* the best line found from each ply, and its length */
+  private final long[][] lines = new long[SearchLimits.MAX_DEPTH + 1][SearchLimits.MAX_DEPTH + 1];
+  private final int[] lineLengths = new int[SearchLimits.MAX_DEPTH + 1];
+  private final MoveOrderer orderer = new MoveOrderer();
+
+  private SearchListener listener;
+  private boolean ordering = true;
+  private boolean quiescence = true;
+  private long nodes;
+  private long quiescenceNodes;
+  private long nodeLimit;
+  private long deadline;
+  private boolean checkLimits;
+  /* nodes left before the next look at the limits */
+  private int untilCheck;
+  private boolean stopped;
+  /* counted only when Metrics are enabled, and added to them at the end of a search */
+  private long tableHits;
+  private long tableMisses;
+  private long cutoffs;
+
+  /**
+   * Construct a search engine with its own transposition table of the given size.
+   *
+   * @param megabytes the size of the transposition table in megabytes
+   * @throws IllegalArgumentException if the size is not positive
+   */
+  public SearchEngine(int megabytes) throws IllegalArgumentException {
+    this(new TranspositionTable(megabytes));
+  }
+
+  /**
+   * Construct a search engine using the given transposition table.
+   *
+   * @param table the transposition table
+   * @throws IllegalArgumentException if the table is null
+   */
+  public SearchEngine(TranspositionTable table) throws IllegalArgumentException {
+    this(table, new AtomicBoolean());
+  }
+
+  /**
+   * Construct a search engine that shares a transposition table and a stop signal
+   * with other engines.
+   *
+   * @param table      the transposition table
+   * @param stopSignal stops the search when set
+   * @throws IllegalArgumentException if the table is null
+   */
+  SearchEngine(TranspositionTable table, AtomicBoolean stopSignal)
+      throws IllegalArgumentException {
+    if (table == null) {
+      throw new IllegalArgumentException("Transposition table must not be a null!");
+    }
+    this.table = table;
+    this.stopSignal = stopSignal;
+  }
+
+  /**
+   * Sets who gets told about every finished iteration.
+   *
+   * @param listener the listener, or null for nobody
+   */
+  public void setListener(SearchListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Turns move ordering on or off. Without it, moves are searched in the order the
+   * MoveGenerator writes them, which only makes sense to measure what ordering saves.
+   *
+   * @param ordering true to order moves, which is the default
+   */
+  public void setMoveOrdering(boolean ordering) {
+    this.ordering = ordering;
+  }
+
+  /**
+   * Turns the quiescence search on or off. Without it, positions at the depth are
+   * scored as they stand, even in the middle of an exchange of pieces.
+   *
+   * @param quiescence true to search captures past the depth, which is the default
+   */
+  public void setQuiescence(boolean quiescence) {
+    this.quiescence = quiescence;
+  }
+
+  /**
+   * Searches a position and returns the best move found.
+   * The first iteration always runs to the end, so there is always a move to play.
+   *
+   * @param board  the position
+   * @param side   the color of the side to move
+   * @param limits when to stop searching
+   * @return the result of the deepest finished iteration
+   */
+  public SearchResult search(Board board, Color side, SearchLimits limits) {
+    table.newSearch();
+    return iterate(board, side, limits, 0);
+  }
+
+  /**
+   * Searches a position until a wall-clock deadline, as given by SearchLimits.until,
+   * and returns the best move found by then.
+   *
+   * @param board    the position
+   * @param side     the color of the side to move
+   * @param deadline the time by which to return
+   * @return the result of the deepest finished iteration
+   */
+  public SearchResult search(Board board, Color side, Instant deadline) {
+    return search(board, side, SearchLimits.until(deadline));
+  }
+
+  /**
+   * Runs the iterative deepening loop without starting a new search in the table,
+   * so that several engines can work on the same search.
+   *
+   * @param board     the position
+   * @param side      the color of the side to move
+   * @param limits    when to stop searching; the node limit counts quiescence nodes too
+   * @param depthSkew how many plies deeper than the iteration number to search; helper
+   *                  engines use it so they do not all search the same depth
+   * @return the result of the deepest finished iteration, or null if a helper engine
+   *         was stopped before it finished one
+   */
+  SearchResult iterate(Board board, Color side, SearchLimits limits, int depthSkew) {
+    long start = System.nanoTime();
+    nodes = 0;
+    quiescenceNodes = 0;
+    nodeLimit = limits.getNodes() > 0 ? limits.getNodes() : Long.MAX_VALUE;
+    deadline = limits.getMillis() > 0 ? start + limits.getMillis() * 1_000_000 : Long.MAX_VALUE;
+    stopped = false;
+    untilCheck = CHECK_INTERVAL;
+    tableHits = 0;
+    tableMisses = 0;
+    cutoffs = 0;
+    position.set(board, side);
+    orderer.newSearch();
+
+    long softNanos = limits.getSoftMillis() * 1_000_000;
+    long lastBest = Move.NONE;
+    int stable = 0;
+    SearchResult result = null;
+    for (int iteration = 1; iteration + depthSkew <= limits.getDepth(); iteration++) {
+      int depth = iteration + depthSkew;
+      checkLimits = iteration > 1 || depthSkew > 0;
+      SearchIterationEvent event = Metrics.ENABLED ? new SearchIterationEvent() : null;
+      long nodesBefore = nodes + quiescenceNodes;
+      if (event != null) {
+        event.begin();
+      }
+      int score = negamax(depth, -INFINITY, INFINITY, 0);
+      if (event != null && event.shouldCommit()) {
+        event.depth = depth;
+        event.score = stopped ? 0 : score;
+        event.nodes = nodes + quiescenceNodes - nodesBefore;
+        event.finished = !stopped;
+        event.commit();
+      }
+      if (stopped) {
+        break;
+      }
+      result = new SearchResult(score, depth, nodes, quiescenceNodes, System.nanoTime() - start,
+          Arrays.copyOf(lines[0], lineLengths[0]));
+      if (listener != null) {
+        listener.iterationFinished(result);
+      }
+      if (lineLengths[0] == 0 || Math.abs(score) > WIN_THRESHOLD) {
+        break; // no move to play, or the end of the game is already in sight
+      }
+      if (softNanos > 0) {
+        stable = result.getBestMove() == lastBest ? stable + 1 : 0;
+        lastBest = result.getBestMove();
+        // a best move that keeps its place needs less time, one that just changed more
+        long budget = stable >= STABLE_ITERATIONS ? softNanos / 2
+            : stable == 0 ? 2 * softNanos : softNanos;
+        if (System.nanoTime() - start >= budget) {
+          break;
+        }
+      }
+    }
+    if (Metrics.ENABLED) {
+      Metrics.NODES.add(nodes);
+      Metrics.QUIESCENCE_NODES.add(quiescenceNodes);
+      Metrics.TABLE_HITS.add(tableHits);
+      Metrics.TABLE_MISSES.add(tableMisses);
+      Metrics.CUTOFFS.add(cutoffs);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of nodes searched by the current or last search.
+   *
+   * @return the number of nodes
+   */
+  long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Returns the number of quiescence nodes searched by the current or last search.
+   *
+   * @return the number of quiescence nodes
+   */
+  long getQuiescenceNodes() {
+    return quiescenceNodes;
+  }
+
+  /**
+   * Searches the current position.
+   *
+   * @param depth the number of plies left to search
+   * @param alpha the score the side to move is already sure of
+   * @param beta  the score the opponent is already sure of
+   * @param ply   the distance from the root
+   * @return the score of the position for the side to move
+   */
+  private int negamax(int depth, int alpha, int beta, int ply) {
+    lineLengths[ply] = 0;
+    nodes++;
+    pollLimits();
+    if (stopped) {
+      return 0;
+    }
+    if (depth == 0) {
+      return quiescence ? quiesce(alpha, beta, ply) : position.evaluate();
+    }
+
+    long key = position.getCanonicalKey();
+    boolean swapped = Symmetry.isSwapped(position.getSide());
+    long entry = table.probe(key);
+    if (Metrics.ENABLED) {
+      if (entry != 0) {
+        tableHits++;
+      } else {
+        tableMisses++;
+      }
+    }
+    if (entry != 0 && ply > 0 && TranspositionTable.depth(entry) >= depth) {
+      int score = fromTable(TranspositionTable.score(entry), ply);
+      int bound = TranspositionTable.bound(entry);
+      if (bound == TranspositionTable.EXACT
+          || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+          || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+        return score;
+      }
+    }
+
+    long[] buffer = moves[ply];
+    int count = position.generateMoves(buffer, 0);
+    if (count == 0) {
+      return -WIN + ply; // no move left, the side to move has lost
+    }
+    if (ordering) {
+      orderer.order(buffer, count, entry, swapped, ply);
+    }
+
+    int originalAlpha = alpha;
+    int best = -INFINITY;
+    long bestMove = Move.NONE;
+    for (int i = 0; i < count; i++) {
+      long move = buffer[i];
+      position.makeMove(move);
+      int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+      position.unmakeMove();
+      if (stopped) {
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        bestMove = move;
+        if (score > alpha) {
+          alpha = score;
+          lines[ply][0] = move;
+          System.arraycopy(lines[ply + 1], 0, lines[ply], 1, lineLengths[ply + 1]);
+          lineLengths[ply] = lineLengths[ply + 1] + 1;
+        }
+        if (score >= beta) {
+          if (ordering) {
+            orderer.recordCutoff(move, depth, ply);
+          }
+          if (Metrics.ENABLED) {
+            cutoffs++;
+          }
+          break;
+        }
+      }
+    }
+
+    int bound = TranspositionTable.EXACT;
+    if (best <= originalAlpha) {
+      bound = TranspositionTable.UPPER_BOUND;
+    } else if (best >= beta) {
+      bound = TranspositionTable.LOWER_BOUND;
+    }
+    table.store(key, swapped ? Symmetry.mirrorMove(bestMove) : bestMove, toTable(best, ply),
+        depth, bound);
+    return best;
+  }
+
+  /**
+   * Searches the forced captures of the current position past the depth.
+   *
+   * @param alpha the score the side to move is already sure of
+   * @param beta  the score the opponent is already sure of
+   * @param ply   the distance from the root
+   * @return the score of the position for the side to move
+   */
+  private int quiesce(int alpha, int beta, int ply) {
+    lineLengths[ply] = 0;
+    quiescenceNodes++;
+    pollLimits();
+    if (stopped) {
+      return 0;
+    }
+    if (!position.mustCapture() || ply >= SearchLimits.MAX_DEPTH) {
+      return position.evaluate(); // a quiet position, or the stack is full: stand pat
+    }
+
+    long[] buffer = moves[ply];
+    int count = position.generateMoves(buffer, 0);
+    if (ordering) {
+      orderer.order(buffer, count, 0, false, ply);
+    }
+    int best = -INFINITY;
+    for (int i = 0; i < count; i++) {
+      position.makeMove(buffer[i]);
+      int score = -quiesce(-beta, -alpha, ply + 1);
+      position.unmakeMove();
+      if (stopped) {
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        if (score > alpha) {
+          alpha = score;
+        }
+        if (score >= beta) {
+          if (Metrics.ENABLED) {
+            cutoffs++;
+          }
+          break;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Counts a node toward the next look at the limits, and stops the search when one
+   * is reached.
+   */
+  private void pollLimits() {
+    if (checkLimits && --untilCheck == 0) {
+      untilCheck = CHECK_INTERVAL;
+      if (limitReached()) {
+        stopped = true;
+      }
+    }
+  }
+
+  private boolean limitReached() {
+    return nodes + quiescenceNodes >= nodeLimit || System.nanoTime() >= deadline
+        || stopSignal.get();
+  }
+
+  /* a win found n plies below a node is stored as a win n plies below it,
+   * not n plies below the root, so it is still right when reached another way */
+
+  private static int toTable(int score, int ply) {
+    if (score > WIN_THRESHOLD) {
+      return score + ply;
+    }
+    if (score < -WIN_THRESHOLD) {
+      return score - ply;
+    }
+    return score;
+  }
+
+  private static int fromTable(int score, int ply) {
+    if (score > WIN_THRESHOLD) {
+      return score - ply;
+    }
+    if (score < -WIN_THRESHOLD) {
+      return score + ply;
+    }
+    return score;
+  }
+}
@@ -0,0 +1,32 @@
+package checkers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for one iteration of a SearchEngine, from the start of the
+ * iteration until it finished or was stopped. Recorded only when Metrics are enabled.
+ */
+@Name("checkers.SearchIteration")
+@Label("Search Iteration")
+@Category("Checkers")
+@Description("One depth of an iterative deepening search")
+final class SearchIterationEvent extends Event {
+
+  @Label("Depth")
+  int depth;
+
+  @Label("Score")
+  @Description("The score for the side to move, or 0 if the iteration was stopped")
+  int score;
+
+  @Label("Nodes")
+  @Description("Positions searched in this iteration")
+  long nodes;
+
+  @Label("Finished")
+  boolean finished;
+}
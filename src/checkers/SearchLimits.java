@@ -0,0 +1,162 @@
+package checkers;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tells a search when to stop: at a depth, after a number of nodes, or after an
+ * amount of time, whichever comes first. A limit of 0 means no limit.
+ *
+ * <p>The time limit is hard: the search is stopped in the middle of an iteration when
+ * it runs out. A soft time limit can be given too, after which no new iteration is
+ * started; the search may end well before it when its best move has not changed for
+ * a few iterations, or run on toward the hard limit when the best move just changed.
+ */
+public final class SearchLimits {
+
+  /**
+   * The deepest a search can go.
+   */
+  public static final int MAX_DEPTH = 64;
+
+  /* time kept back from a deadline for stopping the search and returning */
+  private static final long DEADLINE_MARGIN_MILLIS = 1;
+
+  private final int depth;
+  private final long nodes;
+  private final long softMillis;
+  private final long millis;
+
+  /**
+   * Construct search limits.
+   *
+   * @param depth  the deepest iteration to search, 0 for MAX_DEPTH
+   * @param nodes  the number of nodes after which to stop, 0 for no limit
+   * @param millis the time in milliseconds after which to stop, 0 for no limit
+   * @throws IllegalArgumentException if a limit is negative or the depth is above MAX_DEPTH
+   */
+  public SearchLimits(int depth, long nodes, long millis) throws IllegalArgumentException {
+    this(depth, nodes, 0, millis);
+  }
+
+  /**
+   * Construct search limits with a soft time limit.
+   *
+   * @param depth      the deepest iteration to search, 0 for MAX_DEPTH
+   * @param nodes      the number of nodes after which to stop, 0 for no limit
+   * @param softMillis the time in milliseconds after which no new iteration is started,
+   *                   0 for no limit
+   * @param millis     the time in milliseconds after which to stop, 0 for no limit
+   * @throws IllegalArgumentException if a limit is negative, the depth is above MAX_DEPTH
+   *                                  or the soft time limit is above the hard one
+   */
+  public SearchLimits(int depth, long nodes, long softMillis, long millis)
+      throws IllegalArgumentException {
+    if (depth < 0 || depth > MAX_DEPTH) {
+      throw new IllegalArgumentException("Depth must be in the range of [0," + MAX_DEPTH + "]!");
+    }
+    if (nodes < 0 || softMillis < 0 || millis < 0) {
+      throw new IllegalArgumentException("Limits must not be negative!");
+    }
+    if (millis > 0 && softMillis > millis) {
+      throw new IllegalArgumentException("Soft time limit must not be above the hard one!");
+    }
+    this.depth = depth == 0 ? MAX_DEPTH : depth;
+    this.nodes = nodes;
+    this.softMillis = softMillis;
+    this.millis = millis;
+  }
+
+  /**
+   * Returns limits that only stop at the given depth.
+   *
+   * @param depth the deepest iteration to search
+   * @return the limits
+   */
+  public static SearchLimits depth(int depth) {
+    return new SearchLimits(depth, 0, 0);
+  }
+
+  /**
+   * Returns limits that only stop after the given number of nodes.
+   *
+   * @param nodes the number of nodes
+   * @return the limits
+   */
+  public static SearchLimits nodes(long nodes) {
+    return new SearchLimits(0, nodes, 0);
+  }
+
+  /**
+   * Returns limits that only stop after the given time.
+   *
+   * @param millis the time in milliseconds
+   * @return the limits
+   */
+  public static SearchLimits time(long millis) {
+    return new SearchLimits(0, 0, millis);
+  }
+
+  /**
+   * Returns limits that stop starting new iterations after the soft time, and stop
+   * searching after the hard time.
+   *
+   * @param softMillis the soft time limit in milliseconds
+   * @param millis     the hard time limit in milliseconds
+   * @return the limits
+   */
+  public static SearchLimits time(long softMillis, long millis) {
+    return new SearchLimits(0, 0, softMillis, millis);
+  }
+
+  /**
+   * Returns limits for a search that must answer by a wall-clock deadline: the hard limit
+   * is the time left, less a millisecond to return in, and the soft limit is half of it.
+   * The time left is measured now, so make the limits just before searching.
+   * A deadline that has passed leaves a millisecond, and the search still finds a move.
+   *
+   * @param deadline the time by which the search must have returned
+   * @return the limits
+   */
+  public static SearchLimits until(Instant deadline) {
+    long millis = Math.max(1, Duration.between(Instant.now(), deadline).toMillis()
+        - DEADLINE_MARGIN_MILLIS);
+    return time(millis / 2, millis);
+  }
+
+  /**
+   * Returns the deepest iteration to search.
+   *
+   * @return the depth limit
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Returns the number of nodes after which to stop.
+   *
+   * @return the node limit, 0 for no limit
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Returns the time in milliseconds after which no new iteration is started.
+   *
+   * @return the soft time limit, 0 for no limit
+   */
+  public long getSoftMillis() {
+    return softMillis;
+  }
+
+  /**
+   * Returns the time in milliseconds after which to stop.
+   *
+   * @return the time limit, 0 for no limit
+   */
+  public long getMillis() {
+    return millis;
+  }
+}
@@ -0,0 +1,14 @@
+package checkers;
+
+/**
+ * Gets told about the progress of a search, once per finished iteration.
+ */
+public interface SearchListener {
+
+  /**
+   * Called when the search has finished an iteration.
+   *
+   * @param result the result of the iteration
+   */
+  void iterationFinished(SearchResult result);
+}
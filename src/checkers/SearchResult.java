@@ -0,0 +1,165 @@
+package checkers;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of one iteration of a search: the best move and its score, the line
+ * of play the search expects (the principal variation), and how much work it took.
+ * Nodes of the quiescence search, which only follows captures past the depth searched,
+ * are counted apart from the others.
+ */
+public final class SearchResult {
+
+  private final long bestMove;
+  private final int score;
+  private final int depth;
+  private final long nodes;
+  private final long quiescenceNodes;
+  private final long nanos;
+  private final long[] line;
+
+  /**
+   * Construct a search result.
+   *
+   * @param score the score of the position for the side to move
+   * @param depth the depth that was searched
+   * @param nodes the number of nodes searched
+   * @param nanos the time the search took, in nanoseconds
+   * @param line  the expected line of play, starting with the best move
+   */
+  public SearchResult(int score, int depth, long nodes, long nanos, long[] line) {
+    this(score, depth, nodes, 0, nanos, line);
+  }
+
+  /**
+   * Construct a search result with a count of quiescence nodes.
+   *
+   * @param score           the score of the position for the side to move
+   * @param depth           the depth that was searched
+   * @param nodes           the number of nodes searched up to that depth
+   * @param quiescenceNodes the number of nodes searched past it
+   * @param nanos           the time the search took, in nanoseconds
+   * @param line            the expected line of play, starting with the best move
+   */
+  public SearchResult(int score, int depth, long nodes, long quiescenceNodes, long nanos,
+                      long[] line) {
+    this.line = line.clone();
+    this.bestMove = line.length > 0 ? line[0] : Move.NONE;
+    this.score = score;
+    this.depth = depth;
+    this.nodes = nodes;
+    this.quiescenceNodes = quiescenceNodes;
+    this.nanos = nanos;
+  }
+
+  /**
+   * Returns the best move, or Move.NONE if the side to move has no move.
+   *
+   * @return the best move
+   */
+  public long getBestMove() {
+    return bestMove;
+  }
+
+  /**
+   * Returns the score of the position for the side to move. A win is scored close
+   * to SearchEngine.WIN and a loss close to -SearchEngine.WIN.
+   *
+   * @return the score
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Returns the depth that was searched.
+   *
+   * @return the depth
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Returns the number of nodes searched.
+   *
+   * @return the number of nodes
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Returns the number of nodes searched past the depth, following captures.
+   *
+   * @return the number of quiescence nodes
+   */
+  public long getQuiescenceNodes() {
+    return quiescenceNodes;
+  }
+
+  /**
+   * Returns the time the search took.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getNanos() {
+    return nanos;
+  }
+
+  /**
+   * Returns the number of nodes searched per second.
+   *
+   * @return the nodes per second
+   */
+  public long getNodesPerSecond() {
+    return nanos == 0 ? 0 : (long) (nodes * 1e9 / nanos);
+  }
+
+  /**
+   * Returns the expected line of play, starting with the best move.
+   *
+   * @return a copy of the line
+   */
+  public long[] getLine() {
+    return line.clone();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("depth ").append(depth)
+        .append(" score ").append(score)
+        .append(" nodes ").append(nodes)
+        .append(" qnodes ").append(quiescenceNodes)
+        .append(" nps ").append(getNodesPerSecond())
+        .append(" time ").append(nanos / 1_000_000).append("ms")
+        .append(" line");
+    for (long move : line) {
+      builder.append(' ').append(Move.toString(move));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Two results are equal if they found the same line with the same score and work,
+   * however long each took.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof SearchResult)) {
+      return false;
+    }
+    SearchResult result = (SearchResult) other;
+    return score == result.score && depth == result.depth && nodes == result.nodes
+        && quiescenceNodes == result.quiescenceNodes && Arrays.equals(line, result.line);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(line) * 31 + score;
+  }
+}
@@ -0,0 +1,388 @@
+package checkers;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Keeps the state of many live games, each packed into a few primitive words: the black
+ * and white masks in one long, and the King mask, the number of moves played and the side
+ * to move in another. Games are found by their id in an open-addressing hash map made of
+ * primitive arrays, so a stored game costs a few dozen bytes and no objects.
+ *
+ * <p>The map is split into stripes, each with its own lock, so games in different stripes
+ * never wait for each other. Reads do not take the lock at all unless a write to the same
+ * stripe gets in their way. Moves are checked against the packed position with the
+ * MoveGenerator before they are stored.
+ */
+public final class SessionStore {
+
+  private static final int STRIPES = 64;
+  private static final int SIDE_BIT = 1;
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  /**
+   * Construct a session store.
+   *
+   * @param expectedGames about how many games will be stored at once
+   * @throws IllegalArgumentException if the number is negative
+   */
+  public SessionStore(int expectedGames) throws IllegalArgumentException {
+    if (expectedGames < 0) {
+      throw new IllegalArgumentException("Expected number of games must not be negative!");
+    }
+    int capacity = Integer.highestOneBit(Math.max(16, 2 * expectedGames / STRIPES) * 2 - 1);
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe(capacity);
+    }
+  }
+
+  /**
+   * Starts a game from the starting board, black to move.
+   *
+   * @param gameId the id of the game
+   * @return false if a game with this id is already stored
+   */
+  public boolean create(long gameId) {
+    return create(gameId, Board.initial(), Color.BLACK);
+  }
+
+  /**
+   * Starts a game from the given position.
+   *
+   * @param gameId the id of the game
+   * @param board  the position
+   * @param side   the color of the side to move
+   * @return false if a game with this id is already stored
+   */
+  public boolean create(long gameId, Board board, Color side) {
+    long pieces = pack(board.getBlack(), board.getWhite());
+    long state = pack(board.getKings(), side == Color.WHITE ? SIDE_BIT : 0);
+    return stripe(gameId).insert(gameId, pieces, state);
+  }
+
+  /**
+   * Ends a game.
+   *
+   * @param gameId the id of the game
+   * @return false if no game with this id is stored
+   */
+  public boolean remove(long gameId) {
+    return stripe(gameId).remove(gameId);
+  }
+
+  /**
+   * Returns the number of games stored.
+   *
+   * @return the number of games
+   */
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the position of a game.
+   *
+   * @param gameId the id of the game
+   * @return the position, or null if no game with this id is stored
+   */
+  public Board getBoard(long gameId) {
+    long[] words = new long[2];
+    if (!stripe(gameId).get(gameId, words)) {
+      return null;
+    }
+    return new Board((int) (words[0] >>> 32), (int) words[0], (int) (words[1] >>> 32));
+  }
+
+  /**
+   * Returns the side to move of a game.
+   *
+   * @param gameId the id of the game
+   * @return the color of the side to move, or null if no game with this id is stored
+   */
+  public Color getSide(long gameId) {
+    long[] words = new long[2];
+    if (!stripe(gameId).get(gameId, words)) {
+      return null;
+    }
+    return (words[1] & SIDE_BIT) != 0 ? Color.WHITE : Color.BLACK;
+  }
+
+  /**
+   * Returns the number of moves played in a game since it was created.
+   *
+   * @param gameId the id of the game
+   * @return the number of moves, or -1 if no game with this id is stored
+   */
+  public int getMoveCount(long gameId) {
+    long[] words = new long[2];
+    if (!stripe(gameId).get(gameId, words)) {
+      return -1;
+    }
+    return (int) words[1] >>> 1;
+  }
+
+  /**
+   * Plays a move in a game if it is legal there.
+   *
+   * @param gameId the id of the game
+   * @param move   an encoded move, as in the Move class
+   * @return true if the move was legal and played, false if it was not legal or no
+   *         game with this id is stored
+   */
+  public boolean play(long gameId, long move) {
+    return stripe(gameId).play(gameId, move, -1, -1) != Move.NONE;
+  }
+
+  /**
+   * Plays the move going from one square to another in a game, if there is exactly one
+   * such legal move (captures with the same ends but different pieces taken need the
+   * full move).
+   *
+   * @param gameId the id of the game
+   * @param from   the square index the piece moves from
+   * @param to     the square index the piece ends on
+   * @return the move played, or Move.NONE if there was none to play
+   */
+  public long play(long gameId, int from, int to) {
+    return stripe(gameId).play(gameId, Move.NONE, from, to);
+  }
+
+  private Stripe stripe(long gameId) {
+    return stripes[(int) (mix(gameId) >>> 58)];
+  }
+
+  private static long pack(int high, int low) {
+    return ((long) high << 32) | (low & 0xFFFFFFFFL);
+  }
+
+  /* spreads the bits of an id over the whole hash (the finalizer of MurmurHash3) */
+  private static long mix(long id) {
+    long hash = id;
+    hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+    hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return hash ^ (hash >>> 33);
+  }
+
+  /**
+   * One part of the map, a linear-probing hash table with its own lock. Which slots
+   * hold a game is kept in a separate array, so every id is allowed.
+   */
+  private static final class Stripe {
+
+    private final StampedLock lock = new StampedLock();
+    private final long[] moves = new long[MoveGenerator.MAX_MOVES];
+    private long[] ids;
+    private long[] pieces;
+    private long[] states;
+    private boolean[] used;
+    private int size;
+
+    Stripe(int capacity) {
+      allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+      ids = new long[capacity];
+      pieces = new long[capacity];
+      states = new long[capacity];
+      used = new boolean[capacity];
+    }
+
+    int size() {
+      long stamp = lock.readLock();
+      try {
+        return size;
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Copies the two words of a game, reading without the lock when no write gets
+     * in the way.
+     */
+    boolean get(long id, long[] words) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0) {
+        boolean found = find(id, words);
+        if (lock.validate(stamp)) {
+          return found;
+        }
+      }
+      stamp = lock.readLock();
+      try {
+        return find(id, words);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    private boolean find(long id, long[] words) {
+      long[] ids = this.ids;
+      long[] pieces = this.pieces;
+      long[] states = this.states;
+      boolean[] used = this.used;
+      int mask = ids.length - 1;
+      if (pieces.length != ids.length || states.length != ids.length
+          || used.length != ids.length) {
+        return false; // caught in the middle of growing, the caller reads again with the lock
+      }
+      // bounded, as a write going on at the same time can leave no free slot to stop at
+      for (int probe = 0, slot = (int) mix(id) & mask; probe <= mask;
+           probe++, slot = (slot + 1) & mask) {
+        if (!used[slot]) {
+          return false;
+        }
+        if (ids[slot] == id) {
+          words[0] = pieces[slot];
+          words[1] = states[slot];
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private int slotOf(long id) {
+      int mask = ids.length - 1;
+      for (int slot = (int) mix(id) & mask; used[slot]; slot = (slot + 1) & mask) {
+        if (ids[slot] == id) {
+          return slot;
+        }
+      }
+      return -1;
+    }
+
+    boolean insert(long id, long piecesWord, long stateWord) {
+      long stamp = lock.writeLock();
+      try {
+        if (slotOf(id) >= 0) {
+          return false;
+        }
+        if (2 * (size + 1) > ids.length) {
+          grow();
+        }
+        put(id, piecesWord, stateWord);
+        size++;
+        return true;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    private void put(long id, long piecesWord, long stateWord) {
+      int mask = ids.length - 1;
+      int slot = (int) mix(id) & mask;
+      while (used[slot]) {
+        slot = (slot + 1) & mask;
+      }
+      ids[slot] = id;
+      pieces[slot] = piecesWord;
+      states[slot] = stateWord;
+      used[slot] = true;
+    }
+
+    private void grow() {
+      long[] oldIds = ids;
+      long[] oldPieces = pieces;
+      long[] oldStates = states;
+      boolean[] oldUsed = used;
+      allocate(2 * oldIds.length);
+      for (int i = 0; i < oldIds.length; i++) {
+        if (oldUsed[i]) {
+          put(oldIds[i], oldPieces[i], oldStates[i]);
+        }
+      }
+    }
+
+    boolean remove(long id) {
+      long stamp = lock.writeLock();
+      try {
+        int slot = slotOf(id);
+        if (slot < 0) {
+          return false;
+        }
+        // shift the following entries back, so no probe sequence is broken
+        int mask = ids.length - 1;
+        int free = slot;
+        for (int next = (free + 1) & mask; used[next]; next = (next + 1) & mask) {
+          int home = (int) mix(ids[next]) & mask;
+          if (((next - home) & mask) >= ((next - free) & mask)) {
+            ids[free] = ids[next];
+            pieces[free] = pieces[next];
+            states[free] = states[next];
+            free = next;
+          }
+        }
+        used[free] = false;
+        size--;
+        return true;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    /**
+     * Plays a legal move, given either in full or by its two ends.
+     *
+     * @return the move played, or Move.NONE
+     */
+    long play(long id, long move, int from, int to) {
+      long stamp = lock.writeLock();
+      try {
+        int slot = slotOf(id);
+        if (slot < 0) {
+          return Move.NONE;
+        }
+        long piecesWord = pieces[slot];
+        long stateWord = states[slot];
+        int black = (int) (piecesWord >>> 32);
+        int white = (int) piecesWord;
+        int kings = (int) (stateWord >>> 32);
+        Color side = (stateWord & SIDE_BIT) != 0 ? Color.WHITE : Color.BLACK;
+
+        long found = Move.NONE;
+        int count = MoveGenerator.generate(black, white, kings, side, moves, 0);
+        for (int i = 0; i < count; i++) {
+          long legal = moves[i];
+          boolean matches = move != Move.NONE ? legal == move
+              : Move.from(legal) == from && Move.to(legal) == to;
+          if (matches) {
+            if (found != Move.NONE && Move.captured(found) != Move.captured(legal)) {
+              return Move.NONE; // more than one capture between these squares
+            }
+            found = legal;
+          }
+        }
+        if (found == Move.NONE) {
+          return Move.NONE;
+        }
+
+        int fromBit = 1 << Move.from(found);
+        int toBit = 1 << Move.to(found);
+        int captured = Move.captured(found);
+        if ((kings & fromBit) != 0 || Move.isPromotion(found)) {
+          kings = (kings & ~captured & ~fromBit) | toBit;
+        } else {
+          kings &= ~captured;
+        }
+        if (side == Color.BLACK) {
+          black = (black & ~fromBit) | toBit;
+          white &= ~captured;
+        } else {
+          white = (white & ~fromBit) | toBit;
+          black &= ~captured;
+        }
+        int moveCount = (int) stateWord >>> 1;
+        pieces[slot] = pack(black, white);
+        states[slot] = pack(kings, ((moveCount + 1) << 1) | (side == Color.BLACK ? SIDE_BIT : 0));
+        return found;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+  }
+}
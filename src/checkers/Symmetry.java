@@ -0,0 +1,97 @@
+package checkers;
+
+/**
+ * Maps positions to one canonical form of their symmetry. Turning the board half way
+ * round and swapping the colors of every piece gives a position that plays exactly the
+ * same, with the other side to move, so the two forms need to be stored only once.
+ *
+ * <p>Turning the board takes square s to square 31 - s, which on a mask is reversing
+ * its 32 bits. Of the two forms, the one with black to move is canonical, so the flag
+ * saying whether the colors were swapped is just whether white was to move, and making
+ * the canonical form costs three bit reversals. Caches keyed by canonicalKey hold each
+ * position once; a move stored for a swapped position goes through mirror on the way
+ * in and on the way out.
+ */
+public final class Symmetry {
+
+  private Symmetry() {
+  }
+
+  /**
+   * Decide if the canonical form of a position has its colors swapped.
+   *
+   * @param side the color of the side to move
+   * @return true if the side to move is white, whose positions are stored as black's
+   */
+  public static boolean isSwapped(Color side) {
+    return side == Color.WHITE;
+  }
+
+  /**
+   * Turns a mask half way round the board.
+   *
+   * @param mask a mask of squares
+   * @return the mask with every square s moved to 31 - s
+   */
+  public static int mirror(int mask) {
+    return Integer.reverse(mask);
+  }
+
+  /**
+   * Turns a move half way round the board, so it is played by the other color.
+   *
+   * @param move an encoded move, as in the Move class
+   * @return the same move on the turned board, or Move.NONE for Move.NONE
+   */
+  public static long mirrorMove(long move) {
+    if (move == Move.NONE) {
+      return Move.NONE;
+    }
+    return Move.of(31 - Move.from(move), 31 - Move.to(move), mirror(Move.captured(move)),
+        Move.isPromotion(move));
+  }
+
+  /**
+   * Returns the canonical form of a position, whose side to move is black.
+   *
+   * @param board the position
+   * @param side  the color of the side to move
+   * @return the board itself if black is to move, otherwise the board turned round
+   *         with its colors swapped
+   */
+  public static Board canonical(Board board, Color side) {
+    if (!isSwapped(side)) {
+      return board;
+    }
+    return new Board(mirror(board.getWhite()), mirror(board.getBlack()),
+        mirror(board.getKings()));
+  }
+
+  /**
+   * Returns the Zobrist key of the canonical form of a position, which is the same for
+   * the position and its turned, color-swapped twin.
+   *
+   * @param board the position
+   * @param side  the color of the side to move
+   * @return the key of the canonical form
+   */
+  public static long canonicalKey(Board board, Color side) {
+    return canonicalKey(board.getBlack(), board.getWhite(), board.getKings(), side);
+  }
+
+  /**
+   * Returns the Zobrist key of the canonical form of a position given as its masks.
+   *
+   * @param black the mask of black pieces
+   * @param white the mask of white pieces
+   * @param kings the mask of Kings
+   * @param side  the color of the side to move
+   * @return the key of the canonical form
+   */
+  static long canonicalKey(int black, int white, int kings, Color side) {
+    if (!isSwapped(side)) {
+      return Zobrist.hash(black, white, kings, Color.BLACK);
+    }
+    return Zobrist.twinHash(black, white, kings, side);
+  }
+}
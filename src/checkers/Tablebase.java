@@ -0,0 +1,190 @@
+package checkers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Looks up the exact result of endgame positions in the files written by the
+ * TablebaseGenerator. Each material slice is a file that is memory-mapped the first
+ * time a position of it is probed, so the operating system pages in only the parts
+ * that are used and probing allocates nothing on the heap.
+ *
+ * <p>Results are scores in the same units as the SearchEngine: a win in n plies is
+ * {@code SearchEngine.WIN - n}, a loss in n plies is {@code -SearchEngine.WIN + n},
+ * and a draw is 0. A tablebase is safe to probe from several threads at once.
+ *
+ * <p>Only positions with black to move are stored. A position with white to move is
+ * looked up as its Symmetry twin: the board turned round with the colors swapped, which
+ * has black to move and is in the slice with the men and Kings of the two colors swapped.
+ */
+public final class Tablebase {
+
+  /**
+   * The result of a probe for a position that is not in the tablebase.
+   */
+  public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+  /* the layout of a slice file: a header, then one short per index for black to move */
+  static final int MAGIC = 0x43544232; // "CTB2"
+  static final int HEADER_SIZE = 32;
+  static final int SIZE_OFFSET = 8;
+  static final int MAX_PLIES_OFFSET = 16;
+
+  /* a stored value is 0 for a draw, or the number of plies to the end of the game plus 1;
+   * the side to move wins if that number of plies is odd */
+  static final int DRAW_VALUE = 0;
+
+  /* files are mapped in segments, as one mapping cannot be larger than 2 GB; a segment
+   * holds a whole number of values, so a value never straddles two of them */
+  private static final int SEGMENT_SHIFT = 30;
+  private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+  private static final ByteBuffer[] MISSING = new ByteBuffer[0];
+
+  private final Path directory;
+  private final AtomicReferenceArray<ByteBuffer[]> slices =
+      new AtomicReferenceArray<>(Material.CODES);
+
+  /**
+   * Construct a tablebase reading the slice files of the given directory.
+   *
+   * @param directory the directory the generator wrote to
+   * @throws IllegalArgumentException if the directory does not exist
+   */
+  public Tablebase(Path directory) throws IllegalArgumentException {
+    if (directory == null || !Files.isDirectory(directory)) {
+      throw new IllegalArgumentException("Tablebase directory must exist!");
+    }
+    this.directory = directory;
+  }
+
+  /**
+   * Returns the result of a position.
+   *
+   * @param board the position
+   * @param side  the color of the side to move
+   * @return the score for the side to move, or NOT_FOUND if the tablebase has no
+   *         slice for the material on the board
+   */
+  public int probe(Board board, Color side) {
+    return probe(board.getBlack(), board.getWhite(), board.getKings(), side);
+  }
+
+  /**
+   * Returns the result of a position given by its masks.
+   *
+   * @param black the mask of black pieces
+   * @param white the mask of white pieces
+   * @param kings the mask of Kings
+   * @param side  the color of the side to move
+   * @return the score for the side to move, or NOT_FOUND
+   */
+  int probe(int black, int white, int kings, Color side) {
+    int value = probeValue(black, white, kings, side);
+    if (value < 0) {
+      return NOT_FOUND;
+    }
+    return toScore(value);
+  }
+
+  /**
+   * Returns the stored value of a position.
+   *
+   * @return the value, or -1 if the position is not in the tablebase
+   */
+  int probeValue(int black, int white, int kings, Color side) {
+    if (Symmetry.isSwapped(side)) {
+      int turned = Symmetry.mirror(black);
+      black = Symmetry.mirror(white);
+      white = turned;
+      kings = Symmetry.mirror(kings);
+    }
+    if (black == 0) {
+      return 1; // the side to move has no piece left, and has lost
+    }
+    if (white == 0
+        || (black & ~kings & Board.BLACK_KINGS_ROW) != 0
+        || (white & ~kings & Board.WHITE_KINGS_ROW) != 0) {
+      return -1;
+    }
+    int code = Material.code(black, white, kings);
+    if (code < 0) {
+      return -1;
+    }
+    ByteBuffer[] slice = slice(code);
+    if (slice == MISSING) {
+      return -1;
+    }
+    long position = HEADER_SIZE + 2 * Material.index(black, white, kings);
+    return slice[(int) (position >>> SEGMENT_SHIFT)].getShort((int) (position & SEGMENT_MASK))
+        & 0xFFFF;
+  }
+
+  /**
+   * Returns the longest distance to the end of the game, in plies, of a slice.
+   *
+   * @return the distance, or -1 if the slice is not in the tablebase
+   */
+  int maxPlies(Material material) {
+    ByteBuffer[] slice = slice(material.code());
+    return slice == MISSING ? -1 : slice[0].getInt(MAX_PLIES_OFFSET);
+  }
+
+  /**
+   * Turns a stored value into a score for the side to move.
+   */
+  static int toScore(int value) {
+    if (value == DRAW_VALUE) {
+      return 0;
+    }
+    int plies = value - 1;
+    return plies % 2 == 1 ? SearchEngine.WIN - plies : -SearchEngine.WIN + plies;
+  }
+
+  /**
+   * Returns the mapped segments of the file of a slice, mapping it the first time.
+   */
+  private ByteBuffer[] slice(int code) {
+    ByteBuffer[] slice = slices.get(code);
+    if (slice == null) {
+      slice = map(code);
+      if (!slices.compareAndSet(code, null, slice)) {
+        slice = slices.get(code);
+      }
+    }
+    return slice;
+  }
+
+  private ByteBuffer[] map(int code) {
+    int base = Material.MAX_COUNT + 1;
+    Material material = new Material(code / (base * base * base), code / (base * base) % base,
+        code / base % base, code % base);
+    Path file = directory.resolve(material.fileName());
+    if (!Files.isRegularFile(file)) {
+      return MISSING;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      ByteBuffer[] slice = new ByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+      for (int i = 0; i < slice.length; i++) {
+        long start = (long) i << SEGMENT_SHIFT;
+        slice[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+            Math.min(size - start, 1L << SEGMENT_SHIFT));
+      }
+      if (size < HEADER_SIZE || slice[0].getInt(0) != MAGIC
+          || slice[0].getLong(SIZE_OFFSET) != material.size()
+          || size != HEADER_SIZE + 2 * material.size()) {
+        throw new IllegalStateException("Not a tablebase file for " + material + ": " + file);
+      }
+      return slice;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,327 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Solves every endgame with up to a given number of pieces and writes the results
+ * into one file per material slice, to be read back by a Tablebase.
+ *
+ * <p>Slices are solved from the fewest pieces up, and among slices with as many pieces,
+ * from the fewest men up, so that every position a move can reach is either in the slice
+ * being solved or in one solved before (a capture removes a piece, a crowning turns a Man
+ * into a King). A slice is solved one distance at a time: first the positions where the
+ * side to move has no move (lost in 0 plies), then the ones won in 1 ply, lost in 2 plies,
+ * and so on, until a pass finds nothing new. Whatever is left is a draw. Each pass works
+ * on all processors at once.
+ *
+ * <p>Solving a slice gives the values of its positions with either side to move. Those
+ * with black to move are its file; those with white to move are the file of the slice
+ * with the colors swapped, turned round as in Symmetry. So slices are solved in pairs and
+ * each value is stored once.
+ *
+ * <p>A slice file is first written under a temporary name and renamed when complete,
+ * so a generation that is stopped can be started again and only redoes the slice it
+ * was working on.
+ */
+public final class TablebaseGenerator {
+
+  /* how many indexes one parallel task handles in a pass */
+  private static final int CHUNK = 4096;
+
+  /* the most indexes of a slice, as its values are solved in one array */
+  static final long MAX_SLICE_SIZE = Integer.MAX_VALUE - 8;
+
+  private final Path directory;
+  private final int maxPieces;
+  private final Tablebase tablebase;
+
+  /**
+   * Construct a generator.
+   *
+   * @param directory the directory to write the slice files into; it is created if needed
+   * @param maxPieces the most pieces on the board of the endgames to solve
+   * @throws IllegalArgumentException if the number of pieces is below 2, or so many that
+   *                                  a slice has more than MAX_SLICE_SIZE indexes
+   * @throws IOException              if the directory cannot be created
+   */
+  public TablebaseGenerator(Path directory, int maxPieces)
+      throws IllegalArgumentException, IOException {
+    if (maxPieces < 2 || maxPieces > Material.MAX_COUNT * 2) {
+      throw new IllegalArgumentException("Number of pieces must be in the range of [2,"
+          + Material.MAX_COUNT * 2 + "]!");
+    }
+    this.maxPieces = maxPieces;
+    for (Material material : slices()) {
+      if (material.size() > MAX_SLICE_SIZE) {
+        throw new IllegalArgumentException("Slice is too large to solve: " + material);
+      }
+    }
+    this.directory = Files.createDirectories(directory);
+    this.tablebase = new Tablebase(this.directory);
+  }
+
+  /**
+   * Returns every slice to solve, in the order they must be solved.
+   *
+   * @return the slices
+   */
+  List<Material> slices() {
+    List<Material> slices = new ArrayList<>();
+    for (int blackMen = 0; blackMen <= Math.min(maxPieces, Material.MAX_COUNT); blackMen++) {
+      for (int blackKings = 0; blackKings <= Material.MAX_COUNT; blackKings++) {
+        for (int whiteMen = 0; whiteMen <= Material.MAX_COUNT; whiteMen++) {
+          for (int whiteKings = 0; whiteKings <= Material.MAX_COUNT; whiteKings++) {
+            if (blackMen + blackKings > 0 && whiteMen + whiteKings > 0
+                && blackMen + blackKings + whiteMen + whiteKings <= maxPieces) {
+              slices.add(new Material(blackMen, blackKings, whiteMen, whiteKings));
+            }
+          }
+        }
+      }
+    }
+    slices.sort(Comparator.comparingInt(Material::pieces).thenComparingInt(Material::men));
+    return slices;
+  }
+
+  /**
+   * Solves and writes every slice that does not have a file yet.
+   *
+   * @throws IOException if a file cannot be written
+   */
+  public void generate() throws IOException {
+    int dependencyPlies = 0;
+    for (Material material : slices()) {
+      Material swapped = new Material(material.whiteMen, material.whiteKings,
+          material.blackMen, material.blackKings);
+      Path file = directory.resolve(material.fileName());
+      Path swappedFile = directory.resolve(swapped.fileName());
+      if (!Files.exists(file) || !Files.exists(swappedFile)) {
+        short[][] values = solve(material, dependencyPlies);
+        write(material, values[0], file);
+        if (swapped.code() != material.code()) {
+          write(swapped, turn(material, swapped, values[1]), swappedFile);
+        }
+      }
+      dependencyPlies = Math.max(dependencyPlies, tablebase.maxPlies(material));
+    }
+  }
+
+  /**
+   * Solves one slice.
+   *
+   * @param material        the slice
+   * @param dependencyPlies the longest distance to the end in the slices solved before
+   * @return the value of every index, for black to move and for white to move
+   */
+  short[][] solve(Material material, int dependencyPlies) {
+    long size = material.size();
+    if (size > MAX_SLICE_SIZE) {
+      throw new IllegalArgumentException("Slice is too large: " + material);
+    }
+    short[][] values = new short[2][(int) size];
+    int chunks = (int) ((size + CHUNK - 1) / CHUNK);
+    AtomicBoolean changed = new AtomicBoolean();
+    for (int plies = 0; changed.getAndSet(false) || plies <= dependencyPlies + 1; plies++) {
+      int pass = plies;
+      IntStream.range(0, chunks).parallel().forEach(chunk -> {
+        if (solveChunk(material, values, chunk, pass)) {
+          changed.set(true);
+        }
+      });
+    }
+    return values;
+  }
+
+  /**
+   * Finds the positions of a chunk that end the game in the given number of plies.
+   *
+   * @return true if any was found
+   */
+  private boolean solveChunk(Material material, short[][] values, int chunk, int plies) {
+    int[] masks = new int[3];
+    long[] moves = new long[MoveGenerator.MAX_MOVES];
+    boolean changed = false;
+    int end = (int) Math.min(material.size(), (long) (chunk + 1) * CHUNK);
+    for (int index = chunk * CHUNK; index < end; index++) {
+      if (values[0][index] != Tablebase.DRAW_VALUE && values[1][index] != Tablebase.DRAW_VALUE) {
+        continue;
+      }
+      if (!material.decode(index, masks)) {
+        continue;
+      }
+      for (Color side : Color.values()) {
+        short[] own = values[side.ordinal()];
+        if (own[index] == Tablebase.DRAW_VALUE) {
+          int value = solvePosition(masks[0], masks[1], masks[2], side, values, moves, plies);
+          if (value != Tablebase.DRAW_VALUE) {
+            own[index] = (short) value;
+            changed = true;
+          }
+        }
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * Works out whether a position ends the game in exactly the given number of plies:
+   * a win if a move reaches a position lost one ply sooner, a loss if every move reaches
+   * a position won and the longest of those wins is one ply shorter.
+   *
+   * @return the value of the position, or DRAW_VALUE if it is not decided in that many plies
+   */
+  private int solvePosition(int black, int white, int kings, Color side, short[][] values,
+                            long[] moves, int plies) {
+    int count = MoveGenerator.generate(black, white, kings, side, moves, 0);
+    if (count == 0) {
+      return plies == 0 ? 1 : Tablebase.DRAW_VALUE;
+    }
+    if (plies == 0) {
+      return Tablebase.DRAW_VALUE;
+    }
+    Color opponent = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+    int code = Material.code(black, white, kings);
+    boolean allWon = true;
+    int longestWin = -1;
+    for (int i = 0; i < count; i++) {
+      long move = moves[i];
+      int fromBit = 1 << Move.from(move);
+      int toBit = 1 << Move.to(move);
+      int captured = Move.captured(move);
+      int newBlack = black & ~captured;
+      int newWhite = white & ~captured;
+      int newKings = kings & ~captured;
+      if (side == Color.BLACK) {
+        newBlack = (newBlack & ~fromBit) | toBit;
+      } else {
+        newWhite = (newWhite & ~fromBit) | toBit;
+      }
+      if ((kings & fromBit) != 0 || Move.isPromotion(move)) {
+        newKings = (newKings & ~fromBit) | toBit;
+      }
+
+      int value;
+      if (Material.code(newBlack, newWhite, newKings) == code) {
+        value = values[opponent.ordinal()][(int) Material.index(newBlack, newWhite, newKings)]
+            & 0xFFFF;
+        if (value > plies) {
+          value = Tablebase.DRAW_VALUE; // found in this pass, so not known to be that short
+        }
+      } else {
+        value = tablebase.probeValue(newBlack, newWhite, newKings, opponent);
+        if (value < 0) {
+          throw new IllegalStateException("Slice missing for " + new Board(newBlack, newWhite,
+              newKings));
+        }
+      }
+
+      if (value == Tablebase.DRAW_VALUE) {
+        allWon = false;
+        continue;
+      }
+      int childPlies = value - 1;
+      if (childPlies % 2 == 0) { // the opponent loses there
+        if (childPlies == plies - 1) {
+          return plies + 1;
+        }
+        allWon = false;
+      } else {
+        longestWin = Math.max(longestWin, childPlies);
+      }
+    }
+    return allWon && longestWin == plies - 1 ? plies + 1 : Tablebase.DRAW_VALUE;
+  }
+
+  /**
+   * Moves the values of a slice with white to move to the indexes of their twins, with
+   * black to move in the slice with the colors swapped.
+   */
+  private static short[] turn(Material material, Material swapped, short[] values) {
+    short[] turned = new short[values.length];
+    int[] masks = new int[3];
+    for (int index = 0; index < values.length; index++) {
+      if (values[index] != Tablebase.DRAW_VALUE && material.decode(index, masks)) {
+        turned[(int) Material.index(Symmetry.mirror(masks[1]), Symmetry.mirror(masks[0]),
+            Symmetry.mirror(masks[2]))] = values[index];
+      }
+    }
+    return turned;
+  }
+
+  /**
+   * Writes the values of a slice with black to move under a temporary name, then
+   * renames the file.
+   */
+  private void write(Material material, short[] values, Path file) throws IOException {
+    int maxPlies = 0;
+    for (short value : values) {
+      maxPlies = Math.max(maxPlies, (value & 0xFFFF) - 1);
+    }
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer header = ByteBuffer.allocate(Tablebase.HEADER_SIZE);
+      header.putInt(0, Tablebase.MAGIC);
+      header.put(4, (byte) material.blackMen);
+      header.put(5, (byte) material.blackKings);
+      header.put(6, (byte) material.whiteMen);
+      header.put(7, (byte) material.whiteKings);
+      header.putLong(Tablebase.SIZE_OFFSET, material.size());
+      header.putInt(Tablebase.MAX_PLIES_OFFSET, maxPlies);
+      writeFully(channel, header);
+
+      ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+      for (short value : values) {
+        if (!buffer.hasRemaining()) {
+          buffer.flip();
+          writeFully(channel, buffer);
+          buffer.clear();
+        }
+        buffer.putShort(value);
+      }
+      buffer.flip();
+      writeFully(channel, buffer);
+      channel.force(false);
+    }
+    Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Generates a tablebase and prints how long it took.
+   * Usage: {@code TablebaseGenerator <directory> <pieces>}
+   *
+   * @param args the directory to write into and the most pieces of the endgames
+   * @throws IOException if a file cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.out.println("Usage: TablebaseGenerator <directory> <pieces>");
+      return;
+    }
+    long start = System.nanoTime();
+    TablebaseGenerator generator = new TablebaseGenerator(Paths.get(args[0]),
+        Integer.parseInt(args[1]));
+    generator.generate();
+    System.out.printf("%d slices in %,.1f ms%n", generator.slices().size(),
+        (System.nanoTime() - start) / 1e6);
+  }
+}
@@ -0,0 +1,179 @@
+package checkers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Plays many games between two players at once, each game on its own virtual thread,
+ * so every core is kept busy without one platform thread per game.
+ *
+ * <p>Games are played in pairs: both games of a pair start with the same random opening
+ * moves, and the players swap colors between them, so neither player is favored by
+ * the opening. A game is a draw when it reaches the move limit, and is adjudicated as a
+ * win when one side is ahead by enough pieces. A player that returns an illegal move
+ * loses the game.
+ */
+public final class Tournament {
+
+  private final int games;
+  private final int openingPlies;
+  private final int maxPlies;
+  private final int adjudicationMargin;
+  private final long seed;
+
+  /**
+   * Construct a tournament.
+   *
+   * @param games              the number of games to play
+   * @param openingPlies       the number of random moves each game starts with
+   * @param maxPlies           the number of moves after which a game is drawn
+   * @param adjudicationMargin how many pieces ahead a side must be for the game to be
+   *                           adjudicated as its win, or 0 to never adjudicate
+   * @param seed               the seed of the random openings
+   * @throws IllegalArgumentException if a count is negative, or there are no games
+   */
+  public Tournament(int games, int openingPlies, int maxPlies, int adjudicationMargin, long seed)
+      throws IllegalArgumentException {
+    if (games <= 0) {
+      throw new IllegalArgumentException("Number of games must be positive!");
+    }
+    if (openingPlies < 0 || maxPlies <= 0 || adjudicationMargin < 0) {
+      throw new IllegalArgumentException("Opening plies and margin must not be negative, "
+          + "and the move limit must be positive!");
+    }
+    this.games = games;
+    this.openingPlies = openingPlies;
+    this.maxPlies = maxPlies;
+    this.adjudicationMargin = adjudicationMargin;
+    this.seed = seed;
+  }
+
+  /**
+   * Plays the tournament. Each game gets its own players from the suppliers, since
+   * players like search engines must not be shared between threads.
+   *
+   * @param first  makes the first player
+   * @param second makes the second player
+   * @return the result, counted for the first player
+   * @throws IllegalArgumentException if a supplier is null
+   * @throws IllegalStateException    if a game fails, as when a player throws; the other
+   *                                  games are still played to the end
+   */
+  public TournamentResult play(Supplier<Player> first, Supplier<Player> second)
+      throws IllegalArgumentException, IllegalStateException {
+    if (first == null || second == null) {
+      throw new IllegalArgumentException("Players must not be null!");
+    }
+    long start = System.nanoTime();
+    AtomicInteger wins = new AtomicInteger();
+    AtomicInteger draws = new AtomicInteger();
+    AtomicInteger losses = new AtomicInteger();
+    List<Future<?>> running = new ArrayList<>(games);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < games; i++) {
+        int game = i;
+        running.add(executor.submit(() -> {
+          Color firstColor = game % 2 == 0 ? Color.BLACK : Color.WHITE;
+          Color winner = playGame(first.get(), second.get(), firstColor, game / 2);
+          if (winner == null) {
+            draws.incrementAndGet();
+          } else if (winner == firstColor) {
+            wins.incrementAndGet();
+          } else {
+            losses.incrementAndGet();
+          }
+        }));
+      }
+    } // waits for every game to end
+    try {
+      for (Future<?> game : running) {
+        game.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the games", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A game failed", e.getCause());
+    }
+    return new TournamentResult(wins.get(), draws.get(), losses.get(),
+        System.nanoTime() - start);
+  }
+
+  /**
+   * Plays one game.
+   *
+   * @param first      the first player
+   * @param second     the second player
+   * @param firstColor the color the first player plays
+   * @param pair       the number of the pair of games, which chooses the opening
+   * @return the color of the winner, or null for a draw
+   */
+  Color playGame(Player first, Player second, Color firstColor, int pair) {
+    SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + pair);
+    long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    Board board = Board.initial();
+    Color side = Color.BLACK;
+    for (int ply = 0; ply < maxPlies; ply++) {
+      Color opponent = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+      int count = MoveGenerator.generate(board, side, buffer, 0);
+      if (count == 0) {
+        return opponent;
+      }
+      if (adjudicationMargin > 0) {
+        int lead = Integer.bitCount(board.getPieces(side))
+            - Integer.bitCount(board.getPieces(opponent));
+        if (Math.abs(lead) >= adjudicationMargin) {
+          return lead > 0 ? side : opponent;
+        }
+      }
+
+      long move;
+      if (ply < openingPlies) {
+        move = buffer[random.nextInt(count)];
+      } else {
+        move = (side == firstColor ? first : second).chooseMove(board, side);
+        if (!isLegal(move, buffer, count)) {
+          return opponent;
+        }
+      }
+      board = board.play(move);
+      side = opponent;
+    }
+    return null;
+  }
+
+  private static boolean isLegal(long move, long[] buffer, int count) {
+    for (int i = 0; i < count; i++) {
+      if (buffer[i] == move) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Plays two search depths against each other and prints the result.
+   * Usage: {@code Tournament <games> <first depth> <second depth>}
+   *
+   * @param args the number of games and the search depth of each player
+   */
+  public static void main(String[] args) {
+    if (args.length < 3) {
+      System.out.println("Usage: Tournament <games> <first depth> <second depth>");
+      return;
+    }
+    SearchLimits first = SearchLimits.depth(Integer.parseInt(args[1]));
+    SearchLimits second = SearchLimits.depth(Integer.parseInt(args[2]));
+    Tournament tournament = new Tournament(Integer.parseInt(args[0]), 4, 200, 4,
+        System.nanoTime());
+    System.out.println(tournament.play(() -> Player.engine(1, first),
+        () -> Player.engine(1, second)));
+  }
+}
@@ -0,0 +1,138 @@
+package checkers;
+
+/**
+ * The outcome of a tournament between two players, counted for the first player.
+ */
+public final class TournamentResult {
+
+  private final int wins;
+  private final int draws;
+  private final int losses;
+  private final long nanos;
+
+  /**
+   * Construct a tournament result.
+   *
+   * @param wins   the number of games the first player won
+   * @param draws  the number of drawn games
+   * @param losses the number of games the first player lost
+   * @param nanos  the time the tournament took, in nanoseconds
+   * @throws IllegalArgumentException if a count is negative
+   */
+  public TournamentResult(int wins, int draws, int losses, long nanos)
+      throws IllegalArgumentException {
+    if (wins < 0 || draws < 0 || losses < 0) {
+      throw new IllegalArgumentException("Game counts must not be negative!");
+    }
+    this.wins = wins;
+    this.draws = draws;
+    this.losses = losses;
+    this.nanos = nanos;
+  }
+
+  /**
+   * Returns the number of games the first player won.
+   *
+   * @return the number of wins
+   */
+  public int getWins() {
+    return wins;
+  }
+
+  /**
+   * Returns the number of drawn games.
+   *
+   * @return the number of draws
+   */
+  public int getDraws() {
+    return draws;
+  }
+
+  /**
+   * Returns the number of games the first player lost.
+   *
+   * @return the number of losses
+   */
+  public int getLosses() {
+    return losses;
+  }
+
+  /**
+   * Returns the number of games played.
+   *
+   * @return the number of games
+   */
+  public int getGames() {
+    return wins + draws + losses;
+  }
+
+  /**
+   * Returns the time the tournament took.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getNanos() {
+    return nanos;
+  }
+
+  /**
+   * Returns the share of the points the first player scored, a win counting 1 point
+   * and a draw half a point.
+   *
+   * @return the score, from 0 to 1
+   */
+  public double getScore() {
+    return getGames() == 0 ? 0.5 : (wins + 0.5 * draws) / getGames();
+  }
+
+  /**
+   * Returns how much stronger the first player is, in Elo points, estimated from the score.
+   *
+   * @return the Elo difference, infinite if one player scored every point
+   */
+  public double getElo() {
+    return elo(getScore());
+  }
+
+  /**
+   * Returns the half-width of the 95% confidence interval of the Elo difference.
+   *
+   * @return the margin in Elo points
+   */
+  public double getEloMargin() {
+    int games = getGames();
+    if (games == 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double score = getScore();
+    double variance = (wins * (1 - score) * (1 - score) + draws * (0.5 - score) * (0.5 - score)
+        + losses * score * score) / games;
+    double deviation = Math.sqrt(variance / games);
+    return (elo(score + 1.96 * deviation) - elo(score - 1.96 * deviation)) / 2;
+  }
+
+  /**
+   * Returns how many games were played per minute.
+   *
+   * @return the games per minute
+   */
+  public double getGamesPerMinute() {
+    return getGames() * 60e9 / Math.max(nanos, 1);
+  }
+
+  private static double elo(double score) {
+    if (score <= 0) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    if (score >= 1) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return -400 * Math.log10(1 / score - 1);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("+%d =%d -%d  score %.1f%%  Elo %+.1f +/- %.1f  %.1f games/min",
+        wins, draws, losses, 100 * getScore(), getElo(), getEloMargin(), getGamesPerMinute());
+  }
+}
@@ -0,0 +1,182 @@
+package checkers;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size hash table of search results, keyed by the Zobrist key of the position.
+ * Each entry remembers the score, the depth it was searched to, whether the score is
+ * exact or only a bound, and the from and to squares of the best move.
+ *
+ * <p>Entries come in buckets of two. The first slot keeps the deepest result (unless it
+ * is left over from an older search), the second slot always takes the newest one, so
+ * deep results survive while shallow ones still get cached.
+ *
+ * <p>Several search threads may share one table without locks. Each slot stores the
+ * key XORed with the entry, so if two threads write the same slot at once and a reader
+ * sees the key of one with the entry of the other, the XOR no longer gives back the
+ * key and the slot is treated as a miss.
+ */
+public final class TranspositionTable {
+
+  /* the kind of score an entry holds */
+  static final int EXACT = 0;
+  static final int LOWER_BOUND = 1;
+  static final int UPPER_BOUND = 2;
+
+  /* an entry is packed in one long: score (16 bits), depth (8 bits), bound (2 bits),
+   * move from and to (5 bits each), a bit saying the move is set, and the age (8 bits) */
+  private static final int DEPTH_SHIFT = 16;
+  private static final int BOUND_SHIFT = 24;
+  private static final int FROM_SHIFT = 26;
+  private static final int TO_SHIFT = 31;
+  private static final long HAS_MOVE = 1L << 36;
+  private static final int AGE_SHIFT = 37;
+  private static final long USED = 1L << 45;
+
+  private static final int ENTRY_BYTES = 16;
+
+  /* the key of each slot, XORed with its entry */
+  private final long[] keys;
+  private final long[] entries;
+  private final int mask;
+  private volatile int age;
+
+  /**
+   * Construct a table using about the given amount of memory.
+   *
+   * @param megabytes the size of the table in megabytes, rounded down to a power of two
+   * @throws IllegalArgumentException if the size is not positive
+   */
+  public TranspositionTable(int megabytes) throws IllegalArgumentException {
+    if (megabytes <= 0) {
+      throw new IllegalArgumentException("Table size must be positive!");
+    }
+    long wanted = (long) megabytes * 1024 * 1024 / ENTRY_BYTES;
+    int size = (int) Math.min(Long.highestOneBit(wanted), 1 << 30);
+    this.keys = new long[size];
+    this.entries = new long[size];
+    this.mask = size - 2; // the index of the first slot of a bucket is always even
+  }
+
+  /**
+   * Returns the number of entries the table can hold.
+   *
+   * @return the number of entries
+   */
+  public int capacity() {
+    return entries.length;
+  }
+
+  /**
+   * Starts a new search, so the entries of earlier searches can be replaced first.
+   */
+  public void newSearch() {
+    age = (age + 1) & 0xFF;
+  }
+
+  /**
+   * Empties the table.
+   */
+  public void clear() {
+    Arrays.fill(keys, 0L);
+    Arrays.fill(entries, 0L);
+  }
+
+  /**
+   * Looks up a position.
+   *
+   * @param key the Zobrist key of the position
+   * @return the packed entry, or 0 if the position is not in the table
+   */
+  long probe(long key) {
+    int index = (int) key & mask;
+    for (int slot = index; slot <= index + 1; slot++) {
+      long entry = entries[slot];
+      if (entry != 0 && (keys[slot] ^ entry) == key) {
+        return entry;
+      }
+    }
+    return 0L;
+  }
+
+  /**
+   * Stores a search result.
+   *
+   * @param key   the Zobrist key of the position
+   * @param move  the best move found, or Move.NONE
+   * @param score the score of the position
+   * @param depth the depth the position was searched to
+   * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+   */
+  void store(long key, long move, int score, int depth, int bound) {
+    int age = this.age;
+    long entry = (score & 0xFFFFL)
+        | ((long) Math.min(depth, 255) << DEPTH_SHIFT)
+        | ((long) bound << BOUND_SHIFT)
+        | ((long) age << AGE_SHIFT)
+        | USED;
+    if (move != Move.NONE) {
+      entry |= ((long) Move.from(move) << FROM_SHIFT) | ((long) Move.to(move) << TO_SHIFT)
+          | HAS_MOVE;
+    }
+    int index = (int) key & mask;
+    long first = entries[index];
+    if (first == 0 || (keys[index] ^ first) == key || age(first) != age
+        || depth(first) <= depth) {
+      entries[index] = entry;
+      keys[index] = key ^ entry;
+    } else {
+      entries[index + 1] = entry;
+      keys[index + 1] = key ^ entry;
+    }
+  }
+
+  /**
+   * Returns the score of a packed entry.
+   *
+   * @param entry a packed entry
+   * @return the score
+   */
+  static int score(long entry) {
+    return (short) entry;
+  }
+
+  /**
+   * Returns the depth of a packed entry.
+   *
+   * @param entry a packed entry
+   * @return the depth
+   */
+  static int depth(long entry) {
+    return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+  }
+
+  /**
+   * Returns the kind of score of a packed entry.
+   *
+   * @param entry a packed entry
+   * @return EXACT, LOWER_BOUND or UPPER_BOUND
+   */
+  static int bound(long entry) {
+    return (int) (entry >>> BOUND_SHIFT) & 3;
+  }
+
+  /**
+   * Decide if a move of the given position matches the best move of a packed entry.
+   * Only the from and to squares are kept, which is enough to find the move again
+   * among the legal ones.
+   *
+   * @param entry a packed entry
+   * @param move  an encoded move
+   * @return true if the entry has a move with the same from and to squares
+   */
+  static boolean isMove(long entry, long move) {
+    return (entry & HAS_MOVE) != 0
+        && ((entry >>> FROM_SHIFT) & 31) == Move.from(move)
+        && ((entry >>> TO_SHIFT) & 31) == Move.to(move);
+  }
+
+  private static int age(long entry) {
+    return (int) (entry >>> AGE_SHIFT) & 0xFF;
+  }
+}
@@ -0,0 +1,214 @@
+package checkers;
+
+/**
+ * An immutable position on any Geometry, kept as three 64-bit masks (black pieces, white
+ * pieces and Kings of both colors) with one bit per dark square. It is the Board of
+ * boards other than 8x8, whose moves come from the WideMoveGenerator.
+ */
+public final class WideBoard {
+
+  private final Geometry geometry;
+  private final long black;
+  private final long white;
+  private final long kings;
+
+  /**
+   * Construct a board.
+   *
+   * @param geometry the shape of the board
+   * @param black    the mask of black pieces
+   * @param white    the mask of white pieces
+   * @param kings    the mask of Kings of both colors
+   * @throws IllegalArgumentException if the geometry is null or has too many squares, a
+   *                                  square holds two pieces, a King has no piece, or a
+   *                                  mask has bits beyond the last square
+   */
+  public WideBoard(Geometry geometry, long black, long white, long kings)
+      throws IllegalArgumentException {
+    if (geometry == null || geometry.getSquares() > WideMove.MAX_SQUARES) {
+      throw new IllegalArgumentException("Geometry must have at most "
+          + WideMove.MAX_SQUARES + " squares!");
+    }
+    long outside = -1L << geometry.getSquares();
+    if ((black & white) != 0 || (kings & ~(black | white)) != 0
+        || ((black | white) & outside) != 0) {
+      throw new IllegalArgumentException("Masks do not describe a position on "
+          + geometry + "!");
+    }
+    this.geometry = geometry;
+    this.black = black;
+    this.white = white;
+    this.kings = kings;
+  }
+
+  /**
+   * Returns the starting board of a geometry: Men on every row but the two in the middle.
+   *
+   * @param geometry the shape of the board
+   * @return the starting board
+   */
+  public static WideBoard initial(Geometry geometry) {
+    return new WideBoard(geometry, geometry.startSquares(Color.BLACK),
+        geometry.startSquares(Color.WHITE), 0);
+  }
+
+  /**
+   * Returns the shape of the board.
+   *
+   * @return the geometry
+   */
+  public Geometry getGeometry() {
+    return geometry;
+  }
+
+  /**
+   * Returns the mask of black pieces.
+   *
+   * @return the mask of black pieces
+   */
+  public long getBlack() {
+    return black;
+  }
+
+  /**
+   * Returns the mask of white pieces.
+   *
+   * @return the mask of white pieces
+   */
+  public long getWhite() {
+    return white;
+  }
+
+  /**
+   * Returns the mask of Kings of both colors.
+   *
+   * @return the mask of Kings
+   */
+  public long getKings() {
+    return kings;
+  }
+
+  /**
+   * Writes every legal move of the side to move into the buffer.
+   *
+   * @param rules  the rules to play by
+   * @param side   the color of the side to move
+   * @param moves  the buffer the moves are written into
+   * @param offset the index of the buffer where the first move goes
+   * @return the number of moves written, 0 if the side to move has lost
+   * @throws IllegalArgumentException if the buffer is too small for all the moves
+   */
+  public int generateMoves(Rules rules, Color side, long[] moves, int offset)
+      throws IllegalArgumentException {
+    return WideMoveGenerator.generate(geometry, rules, black, white, kings, side, moves, offset);
+  }
+
+  /**
+   * Plays a move on this board. The move is not checked, so it should come from
+   * generateMoves.
+   *
+   * @param move an encoded move, as in the WideMove class
+   * @return the board after the move
+   */
+  public WideBoard play(long move) {
+    long fromBit = 1L << WideMove.from(move);
+    long toBit = 1L << WideMove.to(move);
+    long captured = WideMove.captured(move);
+    long newBlack = black & ~captured;
+    long newWhite = white & ~captured;
+    long newKings = kings & ~captured;
+    if ((black & fromBit) != 0) {
+      newBlack = (newBlack & ~fromBit) | toBit;
+    } else {
+      newWhite = (newWhite & ~fromBit) | toBit;
+    }
+    if ((kings & fromBit) != 0 || WideMove.isPromotion(move)) {
+      newKings = (newKings & ~fromBit) | toBit;
+    }
+    return new WideBoard(geometry, newBlack, newWhite, newKings);
+  }
+
+  /**
+   * Returns the mask of pieces that can step onto an empty square, with whole-mask
+   * steps as in Board.movers. A flying King can step if it can fly.
+   *
+   * @param geometry the shape of the board
+   * @param pieces   the mask of pieces of the given color
+   * @param empty    the mask of empty squares
+   * @param kings    the mask of Kings
+   * @param color    the color of the pieces
+   * @return the mask of pieces that can step
+   */
+  static long movers(Geometry geometry, long pieces, long empty, long kings, Color color) {
+    /* walking one step back from the empty squares finds the pieces that can reach them */
+    long stepDown = geometry.step(empty, Geometry.UP_LEFT)
+        | geometry.step(empty, Geometry.UP_RIGHT);
+    long stepUp = geometry.step(empty, Geometry.DOWN_LEFT)
+        | geometry.step(empty, Geometry.DOWN_RIGHT);
+    if (color == Color.BLACK) { // black men only move down the rows
+      return pieces & (stepDown | (kings & stepUp));
+    } else { // white men only move up the rows
+      return pieces & (stepUp | (kings & stepDown));
+    }
+  }
+
+  /**
+   * Returns the mask of pieces that can capture, with whole-mask steps as in
+   * Board.jumpers. Under the rules, Men may jump backward and Kings may fly: a flying
+   * King can capture if, along a diagonal, only empty squares lie between it and an
+   * opponent with an empty square behind.
+   *
+   * @param geometry  the shape of the board
+   * @param rules     the rules to play by
+   * @param pieces    the mask of pieces of the given color
+   * @param opponents the mask of opponent pieces
+   * @param empty     the mask of empty squares
+   * @param kings     the mask of Kings
+   * @param color     the color of the pieces
+   * @return the mask of pieces that can capture
+   */
+  static long jumpers(Geometry geometry, Rules rules, long pieces, long opponents, long empty,
+                      long kings, Color color) {
+    long down = 0;
+    long up = 0;
+    long flying = 0;
+    for (int direction = 0; direction < 4; direction++) {
+      int back = Geometry.opposite(direction);
+      // the opponents that have an empty square behind them in this direction
+      long targets = opponents & geometry.step(empty, back);
+      long jumps = geometry.step(targets, back);
+      if (direction == Geometry.DOWN_LEFT || direction == Geometry.DOWN_RIGHT) {
+        down |= jumps;
+      } else {
+        up |= jumps;
+      }
+      if (rules.hasFlyingKings()) {
+        // walk back further over empty squares for as long as there are any
+        for (long reach = jumps & empty; reach != 0; reach = geometry.step(reach, back) & empty) {
+          flying |= geometry.step(reach, back);
+        }
+      }
+    }
+    long forward = color == Color.BLACK ? down : up;
+    long men = pieces & ~kings & (rules.menCaptureBackward() ? down | up : forward);
+    return men | (pieces & kings & (down | up | flying));
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof WideBoard)) {
+      return false;
+    }
+    WideBoard board = (WideBoard) other;
+    return geometry == board.geometry && black == board.black && white == board.white
+        && kings == board.kings;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(black * 31 + white) * 31 + Long.hashCode(kings);
+  }
+}
@@ -0,0 +1,92 @@
+package checkers;
+
+/**
+ * Encodes a move on a board of up to 50 squares as a single long, like Move does for the
+ * 8x8 board. The lowest 50 bits are the mask of captured squares, bits 50 to 55 are the
+ * square the piece moves from, bits 56 to 61 are the square it lands on, and bit 62 is
+ * set when a Man is crowned by the move.
+ */
+public final class WideMove {
+
+  /**
+   * A value that is never a legal move, e.g. to mark "no move found".
+   */
+  public static final long NONE = 0L;
+
+  /**
+   * The most squares a board can have for its moves to be encoded.
+   */
+  public static final int MAX_SQUARES = 50;
+
+  private static final long CAPTURED = (1L << MAX_SQUARES) - 1;
+  private static final int FROM_SHIFT = 50;
+  private static final int TO_SHIFT = 56;
+  private static final long PROMOTION = 1L << 62;
+
+  private WideMove() {
+  }
+
+  /**
+   * Encodes a move.
+   *
+   * @param from      the square index the piece moves from
+   * @param to        the square index the piece lands on
+   * @param captured  the mask of squares whose pieces are captured, 0 for a simple move
+   * @param promotion true if a Man is crowned by this move
+   * @return the encoded move
+   */
+  public static long of(int from, int to, long captured, boolean promotion) {
+    long move = ((long) from << FROM_SHIFT) | ((long) to << TO_SHIFT) | (captured & CAPTURED);
+    return promotion ? move | PROMOTION : move;
+  }
+
+  /**
+   * Returns the square index the piece moves from.
+   *
+   * @param move an encoded move
+   * @return the square index the piece moves from
+   */
+  public static int from(long move) {
+    return (int) (move >>> FROM_SHIFT) & 63;
+  }
+
+  /**
+   * Returns the square index the piece lands on.
+   *
+   * @param move an encoded move
+   * @return the square index the piece lands on
+   */
+  public static int to(long move) {
+    return (int) (move >>> TO_SHIFT) & 63;
+  }
+
+  /**
+   * Returns the mask of captured squares.
+   *
+   * @param move an encoded move
+   * @return the mask of captured squares, 0 for a simple move
+   */
+  public static long captured(long move) {
+    return move & CAPTURED;
+  }
+
+  /**
+   * Decide if the move captures at least one piece.
+   *
+   * @param move an encoded move
+   * @return true if the move is a capture
+   */
+  public static boolean isCapture(long move) {
+    return (move & CAPTURED) != 0;
+  }
+
+  /**
+   * Decide if the move crowns a Man.
+   *
+   * @param move an encoded move
+   * @return true if the move is a promotion
+   */
+  public static boolean isPromotion(long move) {
+    return (move & PROMOTION) != 0;
+  }
+}
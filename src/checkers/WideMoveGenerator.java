@@ -0,0 +1,212 @@
+package checkers;
+
+/**
+ * Generates every legal move of a position on any Geometry and under any Rules, with
+ * positions as 64-bit masks. It is the MoveGenerator of the 10x10 board, and works the
+ * same way:
+ * <ul>
+ *   <li>the pieces that can capture, and the ones that can step, are found for all
+ *   pieces at once with whole-mask steps (see WideBoard.jumpers and movers), so only
+ *   pieces that can capture are searched for capture chains;</li>
+ *   <li>steps are found a direction at a time for all pieces, by stepping the mask of
+ *   pieces and keeping the empty squares; only a flying King is followed square by
+ *   square along its diagonals;</li>
+ *   <li>moves are written into a buffer owned by the caller, and all the state of a
+ *   capture search is in the buffer and in parameters, so generating moves does not
+ *   allocate.</li>
+ * </ul>
+ *
+ * <p>During a capture the pieces taken stay on the board until the move ends: they can
+ * be neither jumped twice nor passed over by a flying King. Captures that take the same
+ * pieces from the same square to the same square by different paths are one move. Under
+ * the majority rule, a capture that takes fewer pieces than one already written is
+ * dropped at once, and one that takes more replaces all of them, so the buffer only
+ * ever holds captures of the most pieces found so far.
+ */
+public final class WideMoveGenerator {
+
+  /**
+   * The size of a move buffer that is always big enough for one position.
+   */
+  public static final int MAX_MOVES = 256;
+
+  private static final int[] WHITE_FORWARD = {Geometry.UP_LEFT, Geometry.UP_RIGHT};
+  private static final int[] BLACK_FORWARD = {Geometry.DOWN_LEFT, Geometry.DOWN_RIGHT};
+  private static final int[] ALL_DIRECTIONS = {
+      Geometry.UP_LEFT, Geometry.UP_RIGHT, Geometry.DOWN_LEFT, Geometry.DOWN_RIGHT
+  };
+
+  private WideMoveGenerator() {
+  }
+
+  /**
+   * Writes every legal move of the side to move into the buffer.
+   *
+   * @param geometry the shape of the board
+   * @param rules    the rules to play by
+   * @param black    the mask of black pieces
+   * @param white    the mask of white pieces
+   * @param kings    the mask of Kings
+   * @param side     the color of the side to move
+   * @param moves    the buffer the moves are written into, encoded as in WideMove
+   * @param offset   the index of the buffer where the first move goes
+   * @return the number of moves written
+   * @throws IllegalArgumentException if the buffer is too small for all the moves
+   */
+  public static int generate(Geometry geometry, Rules rules, long black, long white, long kings,
+                             Color side, long[] moves, int offset)
+      throws IllegalArgumentException {
+    long own = side == Color.BLACK ? black : white;
+    long opponents = side == Color.BLACK ? white : black;
+    long empty = ~(black | white) & ((1L << geometry.getSquares()) - 1);
+    long kingsRow = geometry.kingsRow(side);
+    int[] forward = side == Color.BLACK ? BLACK_FORWARD : WHITE_FORWARD;
+    int count = offset;
+
+    long jumpers = WideBoard.jumpers(geometry, rules, own, opponents, empty, kings, side);
+    if (jumpers != 0) { // capturing is mandatory
+      for (; jumpers != 0; jumpers &= jumpers - 1) {
+        int from = Long.numberOfTrailingZeros(jumpers);
+        boolean king = (kings & (1L << from)) != 0;
+        int[] directions = king || rules.menCaptureBackward() ? ALL_DIRECTIONS : forward;
+        // the square the piece leaves is free to land on again later in the chain
+        count = jump(geometry, rules, opponents, kingsRow, from, from, king, directions,
+            empty | (1L << from), 0, moves, offset, count);
+      }
+      return count - offset;
+    }
+
+    long movers = WideBoard.movers(geometry, own, empty, kings, side);
+    long men = movers & ~kings;
+    long steppingKings = rules.hasFlyingKings() ? 0 : movers & kings;
+    for (int direction : ALL_DIRECTIONS) {
+      boolean isForward = direction == forward[0] || direction == forward[1];
+      long targets = geometry.step(steppingKings | (isForward ? men : 0), direction) & empty;
+      int back = Geometry.opposite(direction);
+      for (; targets != 0; targets &= targets - 1) {
+        int to = Long.numberOfTrailingZeros(targets);
+        int from = geometry.neighbour(to, back);
+        boolean promotion = (men & (1L << from)) != 0 && (kingsRow & (1L << to)) != 0;
+        count = add(moves, count, WideMove.of(from, to, 0, promotion));
+      }
+    }
+    if (rules.hasFlyingKings()) {
+      for (long flying = movers & kings; flying != 0; flying &= flying - 1) {
+        int from = Long.numberOfTrailingZeros(flying);
+        for (int direction : ALL_DIRECTIONS) {
+          long to = geometry.step(1L << from, direction) & empty;
+          for (; to != 0; to = geometry.step(to, direction) & empty) {
+            count = add(moves, count, WideMove.of(from, Long.numberOfTrailingZeros(to), 0, false));
+          }
+        }
+      }
+    }
+    return count - offset;
+  }
+
+  /**
+   * Extends a capture from the square the piece stands on, writing a move for every
+   * chain that cannot jump any further.
+   *
+   * @param geometry   the shape of the board
+   * @param rules      the rules to play by
+   * @param opponents  the mask of opponent pieces
+   * @param kingsRow   the row where a Man of the side to move is crowned
+   * @param from       the square where the capture started
+   * @param square     the square the piece stands on now
+   * @param king       true if the piece is a King
+   * @param directions the directions the piece may jump in
+   * @param empty      the mask of empty squares
+   * @param captured   the mask of pieces jumped so far, which cannot be jumped again
+   * @param moves      the buffer the moves are written into
+   * @param offset     the index of the first capture in the buffer
+   * @param count      the index of the next free slot in the buffer
+   * @return the index of the next free slot in the buffer
+   */
+  private static int jump(Geometry geometry, Rules rules, long opponents, long kingsRow,
+                          int from, int square, boolean king, int[] directions, long empty,
+                          long captured, long[] moves, int offset, int count) {
+    boolean extended = false;
+    for (int direction : directions) {
+      int over;
+      if (king && rules.hasFlyingKings()) {
+        // past any empty squares, to the first piece on the diagonal
+        int[] ray = geometry.ray(square, direction);
+        int i = 0;
+        while (i < ray.length && (empty & (1L << ray[i])) != 0) {
+          i++;
+        }
+        if (i + 1 >= ray.length) {
+          continue;
+        }
+        over = ray[i];
+      } else {
+        over = geometry.neighbour(square, direction);
+      }
+      if (over < 0 || (opponents & ~captured & (1L << over)) == 0) {
+        continue;
+      }
+      int landing = geometry.neighbour(over, direction);
+      if (landing < 0 || (empty & (1L << landing)) == 0) {
+        continue;
+      }
+      extended = true;
+      long taken = captured | (1L << over);
+      if (king && rules.hasFlyingKings()) {
+        // onto any of the empty squares behind the piece
+        for (; landing >= 0 && (empty & (1L << landing)) != 0;
+             landing = geometry.neighbour(landing, direction)) {
+          count = jump(geometry, rules, opponents, kingsRow, from, landing, true, directions,
+              empty, taken, moves, offset, count);
+        }
+      } else if (!king && !rules.menCaptureBackward() && (kingsRow & (1L << landing)) != 0) {
+        // a Man that is crowned stops there
+        count = addCapture(rules, moves, offset, count, WideMove.of(from, landing, taken, true));
+      } else {
+        count = jump(geometry, rules, opponents, kingsRow, from, landing, king, directions,
+            empty, taken, moves, offset, count);
+      }
+    }
+    if (!extended && captured != 0) {
+      boolean promotion = !king && (kingsRow & (1L << square)) != 0;
+      count = addCapture(rules, moves, offset, count,
+          WideMove.of(from, square, captured, promotion));
+    }
+    return count;
+  }
+
+  /**
+   * Writes a capture into the buffer, keeping only the captures of the most pieces if
+   * the rules say so, and not writing it twice.
+   */
+  private static int addCapture(Rules rules, long[] moves, int offset, int count, long move)
+      throws IllegalArgumentException {
+    if (rules.hasMaximumCapture() && count > offset) {
+      int taken = Long.bitCount(WideMove.captured(move));
+      int most = Long.bitCount(WideMove.captured(moves[offset]));
+      if (taken < most) {
+        return count;
+      }
+      if (taken > most) {
+        return add(moves, offset, move); // drops every shorter capture
+      }
+    }
+    // the same capture by another path comes from the same piece, whose captures are
+    // the last ones written
+    int from = WideMove.from(move);
+    for (int i = count - 1; i >= offset && WideMove.from(moves[i]) == from; i--) {
+      if (moves[i] == move) {
+        return count;
+      }
+    }
+    return add(moves, count, move);
+  }
+
+  private static int add(long[] moves, int count, long move) throws IllegalArgumentException {
+    if (count >= moves.length) {
+      throw new IllegalArgumentException("Move buffer is too small!");
+    }
+    moves[count] = move;
+    return count + 1;
+  }
+}
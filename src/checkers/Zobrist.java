@@ -0,0 +1,153 @@
+package checkers;
+
+import java.util.SplittableRandom;
+
+/**
+ * Computes 64-bit Zobrist keys of positions. Every (square, color, Man or King)
+ * has a fixed random number, and the key of a position is the XOR of the numbers
+ * of its pieces, plus one more number when white is to move.
+ *
+ * <p>Because XOR undoes itself, a move changes the key by XORing in only the
+ * squares it touches. update gives the key after a move from the key before it,
+ * and calling it again with the same board and move gives back the key before,
+ * so keys can follow make and unmake without ever scanning the pieces.
+ */
+public final class Zobrist {
+
+  /* random numbers indexed by kind of piece (black man, black king, white man,
+   * white king) and then by square */
+  private static final long[][] PIECES = new long[4][32];
+  /* the number of each piece's Symmetry twin: the other color, on the opposite square */
+  private static final long[][] TWIN_PIECES = new long[4][32];
+  private static final long WHITE_TO_MOVE;
+
+  static {
+    // a fixed seed, so keys are the same in every run and can be stored in files
+    SplittableRandom random = new SplittableRandom(0x636865636B657273L);
+    for (long[] squares : PIECES) {
+      for (int square = 0; square < squares.length; square++) {
+        squares[square] = random.nextLong();
+      }
+    }
+    WHITE_TO_MOVE = random.nextLong();
+    for (int kind = 0; kind < 4; kind++) {
+      for (int square = 0; square < 32; square++) {
+        TWIN_PIECES[kind][square] = PIECES[kind ^ 2][31 - square];
+      }
+    }
+  }
+
+  private Zobrist() {
+  }
+
+  /**
+   * Computes the key of a position from scratch.
+   *
+   * @param board the position
+   * @param side  the color of the side to move
+   * @return the key of the position
+   */
+  public static long hash(Board board, Color side) {
+    return hash(board.getBlack(), board.getWhite(), board.getKings(), side);
+  }
+
+  /**
+   * Computes the key of a position from scratch, taking the position as its masks.
+   *
+   * @param black the mask of black pieces
+   * @param white the mask of white pieces
+   * @param kings the mask of Kings
+   * @param side  the color of the side to move
+   * @return the key of the position
+   */
+  static long hash(int black, int white, int kings, Color side) {
+    return hash(PIECES, black, white, kings, side == Color.WHITE);
+  }
+
+  /**
+   * Computes the key of the Symmetry twin of a position, the board turned round with
+   * its colors swapped and the other side to move, without turning the board.
+   *
+   * @param black the mask of black pieces
+   * @param white the mask of white pieces
+   * @param kings the mask of Kings
+   * @param side  the color of the side to move in the position, not in its twin
+   * @return the key of the twin
+   */
+  static long twinHash(int black, int white, int kings, Color side) {
+    return hash(TWIN_PIECES, black, white, kings, side == Color.BLACK);
+  }
+
+  private static long hash(long[][] pieces, int black, int white, int kings,
+                           boolean whiteToMove) {
+    long key = whiteToMove ? WHITE_TO_MOVE : 0L;
+    key ^= hashSquares(pieces[0], black & ~kings) ^ hashSquares(pieces[1], black & kings);
+    key ^= hashSquares(pieces[2], white & ~kings) ^ hashSquares(pieces[3], white & kings);
+    return key;
+  }
+
+  /**
+   * Returns the key after a move, or before it when given the key after it.
+   *
+   * @param key   the key of the position
+   * @param board the position before the move
+   * @param move  an encoded move, legal on the board
+   * @return the key after the move
+   */
+  public static long update(long key, Board board, long move) {
+    return update(key, board.getBlack(), board.getKings(), move);
+  }
+
+  /**
+   * Returns the key after a move, taking the position before the move as its masks.
+   * Only the black and King masks are needed to know which piece is where.
+   *
+   * @param key   the key of the position
+   * @param black the mask of black pieces before the move
+   * @param kings the mask of Kings before the move
+   * @param move  an encoded move, legal on the board
+   * @return the key after the move
+   */
+  static long update(long key, int black, int kings, long move) {
+    return update(PIECES, key, black, kings, move);
+  }
+
+  /**
+   * Returns the key of the Symmetry twin after a move, from the key of the twin before
+   * it, taking the position itself before the move as its masks.
+   *
+   * @param key   the key of the twin
+   * @param black the mask of black pieces before the move
+   * @param kings the mask of Kings before the move
+   * @param move  an encoded move, legal in the position
+   * @return the key of the twin after the move
+   */
+  static long twinUpdate(long key, int black, int kings, long move) {
+    return update(TWIN_PIECES, key, black, kings, move);
+  }
+
+  private static long update(long[][] pieces, long key, int black, int kings, long move) {
+    int from = Move.from(move);
+    int captured = Move.captured(move);
+    int moverKind = (black & (1 << from)) != 0 ? 0 : 2;
+    int opponentKind = 2 - moverKind;
+    boolean king = (kings & (1 << from)) != 0;
+
+    key ^= pieces[moverKind + (king ? 1 : 0)][from];
+    key ^= pieces[moverKind + (king || Move.isPromotion(move) ? 1 : 0)][Move.to(move)];
+    if (captured != 0) {
+      key ^= hashSquares(pieces[opponentKind], captured & ~kings);
+      key ^= hashSquares(pieces[opponentKind + 1], captured & kings);
+    }
+    return key ^ WHITE_TO_MOVE;
+  }
+
+  private static long hashSquares(long[] numbers, int squares) {
+    long key = 0L;
+    while (squares != 0) {
+      key ^= numbers[Integer.numberOfTrailingZeros(squares)];
+      squares &= squares - 1;
+    }
+    return key;
+  }
+}
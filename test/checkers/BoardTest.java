@@ -0,0 +1,135 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Board class.
+ */
+public class BoardTest {
+
+  private Board initialBoard;
+  private Board captureBoard;
+
+  /**
+   * Set up some objects. Assume good input in the constructors.
+   */
+  @Before
+  public void setUp() {
+    this.initialBoard = Board.initial();
+    // a white man on (2, 2), a black man on (3, 1), a black king on (5, 5)
+    // and a white man on (4, 4) right below the king
+    this.captureBoard = new Board(bit(3, 1) | bit(5, 5), bit(2, 2) | bit(4, 4), bit(5, 5));
+  }
+
+  private static int bit(int row, int column) {
+    return 1 << (row * 4 + column / 2);
+  }
+
+  /**
+   * Test that an exception is thrown when a square holds pieces of both colors.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverlappingColors() {
+    Board data = new Board(bit(0, 0), bit(0, 0), 0);
+  }
+
+  /**
+   * Test that an exception is thrown when a King is placed on an empty square.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testKingOnEmptySquare() {
+    Board data = new Board(bit(0, 0), 0, bit(1, 1));
+  }
+
+  /**
+   * Test that an exception is thrown when asking for a piece on a light square.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testPieceAtLightSquare() {
+    this.initialBoard.pieceAt(0, 1);
+  }
+
+  /**
+   * Test the masks of the starting board.
+   */
+  @Test
+  public void testInitial() {
+    assertEquals(12, Integer.bitCount(this.initialBoard.getBlack()));
+    assertEquals(12, Integer.bitCount(this.initialBoard.getWhite()));
+    assertEquals(0, this.initialBoard.getKings());
+    assertEquals(8, Integer.bitCount(this.initialBoard.getEmpty()));
+    assertEquals(this.initialBoard.getBlack(), this.initialBoard.getPieces(Color.BLACK));
+  }
+
+  /**
+   * Test the canMove method.
+   */
+  @Test
+  public void testCanMove() {
+    // only the front rows can move at the start
+    assertEquals(0x00F00000, this.initialBoard.canMove(Color.BLACK));
+    assertEquals(0x00000F00, this.initialBoard.canMove(Color.WHITE));
+
+    // the black king can step back up, the black man can step down
+    assertEquals(bit(3, 1) | bit(5, 5), this.captureBoard.canMove(Color.BLACK));
+  }
+
+  /**
+   * Test the canCapture method.
+   */
+  @Test
+  public void testCanCapture() {
+    assertEquals(0, this.initialBoard.canCapture(Color.BLACK));
+    assertEquals(0, this.initialBoard.canCapture(Color.WHITE));
+
+    // white man on (2, 2) jumps (3, 1), white man on (4, 4) jumps the king
+    assertEquals(bit(2, 2) | bit(4, 4), this.captureBoard.canCapture(Color.WHITE));
+    // black man on (3, 1) jumps (2, 2), the black king jumps (4, 4) going down
+    assertEquals(bit(3, 1) | bit(5, 5), this.captureBoard.canCapture(Color.BLACK));
+  }
+
+  /**
+   * Test that the board answers the same as a Man or a King would,
+   * for every pair of pieces on an otherwise empty board.
+   */
+  @Test
+  public void testAgreesWithPieces() {
+    for (int square = 0; square < 32; square++) {
+      for (int other = 0; other < 32; other++) {
+        if (square == other) {
+          continue;
+        }
+        for (int kings = 0; kings < 2; kings++) {
+          Board board = new Board(1 << square, 1 << other, kings << square);
+          CheckersPiece piece = board.pieceAt(square / 4, 2 * (square % 4) + (square / 4) % 2);
+          CheckersPiece opponent = board.pieceAt(other / 4, 2 * (other % 4) + (other / 4) % 2);
+          boolean capture = (board.canCapture(Color.BLACK) & (1 << square)) != 0;
+          assertEquals(piece.canCapture(opponent), capture);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test the pieceAt method.
+   */
+  @Test
+  public void testPieceAt() {
+    CheckersPiece king = this.captureBoard.pieceAt(5, 5);
+    assertTrue(king instanceof King);
+    assertEquals(Color.BLACK, king.getColor());
+    assertEquals(5, king.getRow());
+    assertEquals(5, king.getColumn());
+
+    CheckersPiece man = this.captureBoard.pieceAt(2, 2);
+    assertTrue(man instanceof Man);
+    assertEquals(Color.WHITE, man.getColor());
+
+    assertNull(this.captureBoard.pieceAt(0, 0));
+  }
+}
@@ -0,0 +1,106 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the CaptureEnumerator class.
+ */
+public class CaptureEnumeratorTest {
+
+  private long[] moves;
+
+  /**
+   * Set up a move buffer.
+   */
+  @Before
+  public void setUp() {
+    this.moves = new long[MoveGenerator.MAX_MOVES];
+  }
+
+  private static int square(int row, int column) {
+    return Coordinates.of(row, column).getSquare();
+  }
+
+  private static int bit(int row, int column) {
+    return 1 << square(row, column);
+  }
+
+  private int enumerate(int from, int kind, int black, int white) {
+    int empty = ~(black | white) | (1 << from);
+    return CaptureEnumerator.enumerate(from, kind, black, empty, Board.WHITE_KINGS_ROW,
+        this.moves, 0, 0);
+  }
+
+  /**
+   * Test that only chains that cannot jump any further are written, one per branch.
+   */
+  @Test
+  public void testMaximalChains() {
+    // white man on (0, 0) jumps (1, 1), then either (3, 1) or (3, 3)
+    int black = bit(1, 1) | bit(3, 1) | bit(3, 3);
+    assertEquals(2, enumerate(square(0, 0), MoveTables.WHITE_MAN, black, bit(0, 0)));
+    assertEquals(Move.of(square(0, 0), square(4, 0), bit(1, 1) | bit(3, 1), false),
+        this.moves[0]);
+    assertEquals(Move.of(square(0, 0), square(4, 4), bit(1, 1) | bit(3, 3), false),
+        this.moves[1]);
+  }
+
+  /**
+   * Test that a Man crowned during a capture stops there.
+   */
+  @Test
+  public void testCrowned() {
+    // white man on (5, 3) jumps either black man onto row 7, where a King could go on
+    int black = bit(6, 2) | bit(6, 4) | bit(6, 6);
+    assertEquals(2, enumerate(square(5, 3), MoveTables.WHITE_MAN, black, bit(5, 3)));
+    assertEquals(Move.of(square(5, 3), square(7, 1), bit(6, 2), true), this.moves[0]);
+    assertEquals(Move.of(square(5, 3), square(7, 5), bit(6, 4), true), this.moves[1]);
+  }
+
+  /**
+   * Test that the King going round the same pieces either way is one capture,
+   * and that no piece is jumped twice.
+   */
+  @Test
+  public void testSameResult() {
+    int black = bit(1, 1) | bit(1, 3) | bit(3, 1) | bit(3, 3);
+    assertEquals(1, enumerate(square(0, 2), MoveTables.KING, black, bit(0, 2)));
+    assertEquals(Move.of(square(0, 2), square(0, 2), black, false), this.moves[0]);
+
+    long round = Move.of(square(0, 2), square(0, 2), black, false);
+    long otherRound = Move.of(square(4, 2), square(4, 2), black, false);
+    assertTrue(CaptureEnumerator.sameResult(round, otherRound));
+    assertFalse(CaptureEnumerator.sameResult(round,
+        Move.of(square(0, 2), square(2, 0), black, false)));
+  }
+
+  /**
+   * Test that the captures already in the buffer are kept and not written again.
+   */
+  @Test
+  public void testOffset() {
+    int black = bit(1, 1) | bit(1, 3) | bit(3, 1) | bit(3, 3);
+    int empty = ~(black | bit(0, 2));
+    this.moves[0] = Move.NONE;
+    int count = CaptureEnumerator.enumerate(square(0, 2), MoveTables.KING, black,
+        empty | bit(0, 2), Board.WHITE_KINGS_ROW, this.moves, 1, 1);
+    assertEquals(2, count);
+    assertEquals(count, CaptureEnumerator.enumerate(square(0, 2), MoveTables.KING, black,
+        empty | bit(0, 2), Board.WHITE_KINGS_ROW, this.moves, 1, count));
+  }
+
+  /**
+   * Test that an exception is thrown when the buffer is too small.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSmallBuffer() {
+    int black = bit(1, 1) | bit(3, 1) | bit(3, 3);
+    CaptureEnumerator.enumerate(square(0, 0), MoveTables.WHITE_MAN, black,
+        ~(black | bit(0, 0)) | bit(0, 0), Board.WHITE_KINGS_ROW, new long[1], 0, 0);
+  }
+}
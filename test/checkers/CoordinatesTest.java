@@ -2,6 +2,7 @@ package checkers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Before;
@@ -103,4 +104,46 @@ public class CoordinatesTest {
     assertFalse(Coordinates.isValid(4, 5)); //on board, but is also a light square
 
   }
-}
\ No newline at end of file
+
+  /**
+   * Test that the of method returns the shared object of every dark square.
+   */
+  @Test
+  public void testOf() {
+    assertSame(Coordinates.of(6, 0), Coordinates.of(6, 0));
+    assertEquals(this.sampleCoordinates1, Coordinates.of(6, 0));
+    assertEquals(1, Coordinates.of(1, 7).getRow());
+    assertEquals(7, Coordinates.of(1, 7).getColumn());
+  }
+
+  /**
+   * Test that an exception is thrown when the of method gets a light square.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfIllegalCoordinates() {
+    Coordinates.of(5, 6);
+  }
+
+  /**
+   * Test the ofSquare and getSquare methods.
+   */
+  @Test
+  public void testOfSquare() {
+    assertEquals(24, this.sampleCoordinates1.getSquare());
+    assertEquals(7, this.sampleCoordinates2.getSquare());
+    for (int square = 0; square < 32; square++) {
+      Coordinates coordinates = Coordinates.ofSquare(square);
+      assertEquals(square, coordinates.getSquare());
+      assertTrue(Coordinates.isValid(coordinates.getRow(), coordinates.getColumn()));
+      assertSame(coordinates, Coordinates.of(coordinates.getRow(), coordinates.getColumn()));
+    }
+  }
+
+  /**
+   * Test that an exception is thrown when the square index is out of bound.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfSquareOutOfBound() {
+    Coordinates.ofSquare(32);
+  }
+}
@@ -0,0 +1,87 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Evaluation class.
+ */
+public class EvaluationTest {
+
+  private static int bit(int row, int column) {
+    return 1 << Coordinates.squareOf(row, column);
+  }
+
+  /**
+   * Test that the starting position is even for both sides.
+   */
+  @Test
+  public void testInitial() {
+    assertEquals(0, Evaluation.evaluate(Board.initial(), Color.BLACK));
+    assertEquals(0, Evaluation.evaluate(Board.initial(), Color.WHITE));
+  }
+
+  /**
+   * Test that turning the board round and swapping the colors gives the same score.
+   */
+  @Test
+  public void testSymmetry() {
+    Board board = new Board(bit(5, 1) | bit(2, 2) | bit(7, 7), bit(4, 4) | bit(0, 6),
+        bit(2, 2));
+    Board turned = new Board(bit(7 - 4, 7 - 4) | bit(7 - 0, 7 - 6),
+        bit(7 - 5, 7 - 1) | bit(7 - 2, 7 - 2) | bit(7 - 7, 7 - 7), bit(7 - 2, 7 - 2));
+    assertEquals(Evaluation.evaluate(board, Color.BLACK),
+        Evaluation.evaluate(turned, Color.WHITE));
+    assertEquals(-Evaluation.evaluate(board, Color.BLACK),
+        Evaluation.evaluate(board, Color.WHITE));
+  }
+
+  /**
+   * Test the terms: a King is worth more than a Man, an advanced Man more than one
+   * behind it, and a Man on the back rank more than one just in front of it.
+   */
+  @Test
+  public void testTerms() {
+    int white = bit(0, 0);
+    assertTrue(Evaluation.evaluate(new Board(bit(4, 0), white, bit(4, 0)), Color.BLACK)
+        > Evaluation.evaluate(new Board(bit(4, 0), white, 0), Color.BLACK));
+    assertTrue(Evaluation.evaluate(new Board(bit(2, 0), white, 0), Color.BLACK)
+        > Evaluation.evaluate(new Board(bit(5, 1), white, 0), Color.BLACK));
+    assertTrue(Evaluation.evaluate(new Board(bit(7, 1), white, 0), Color.BLACK)
+        > Evaluation.evaluate(new Board(bit(6, 0), white, 0), Color.BLACK));
+    assertTrue(Evaluation.evaluate(new Board(bit(5, 1) | bit(5, 3), white, 0), Color.BLACK)
+        > Evaluation.evaluate(new Board(bit(5, 1), white, 0), Color.BLACK));
+  }
+
+  /**
+   * Test that the score kept up to date by a Position through random games is the
+   * one computed from scratch, after every move made and taken back.
+   */
+  @Test
+  public void testIncremental() {
+    SplittableRandom random = new SplittableRandom(9);
+    long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    for (int game = 0; game < 50; game++) {
+      Position position = new Position(Board.initial(), Color.BLACK, 200);
+      int[] scores = new int[201];
+      scores[0] = position.evaluate();
+      while (position.getPly() < 200) {
+        int count = position.generateMoves(buffer, 0);
+        if (count == 0) {
+          break;
+        }
+        position.makeMove(buffer[random.nextInt(count)]);
+        scores[position.getPly()] = position.evaluate();
+        assertEquals(Evaluation.evaluate(position.toBoard(), position.getSide()),
+            position.evaluate());
+      }
+      while (position.getPly() > 0) {
+        position.unmakeMove();
+        assertEquals(scores[position.getPly()], position.evaluate());
+      }
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the GameRecord, GameRecordWriter and GameRecordReader classes.
+ */
+public class GameRecordTest {
+
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("games", ".cgr");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  /**
+   * Test that games written to a file are read back the same, in any order.
+   */
+  @Test
+  public void testRoundTrip() throws IOException {
+    GameRecord[] games = new GameRecord[200];
+    SplittableRandom random = new SplittableRandom(11);
+    for (int i = 0; i < games.length; i++) {
+      games[i] = randomGame(random);
+    }
+    // a set-up game with white to move and a double jump by a King
+    int black = (1 << Coordinates.squareOf(1, 1)) | (1 << Coordinates.squareOf(3, 3));
+    int white = 1;
+    games[7] = new GameRecord(new Board(black, white, white), Color.WHITE,
+        new long[] {Move.of(0, Coordinates.squareOf(4, 4), black, false)});
+    games[8] = new GameRecord(Board.initial(), Color.BLACK, new long[0]);
+
+    try (GameRecordWriter writer = new GameRecordWriter(file)) {
+      for (GameRecord game : games) {
+        writer.write(game);
+      }
+    }
+    try (GameRecordReader reader = new GameRecordReader(file)) {
+      assertEquals(games.length, reader.getGameCount());
+      for (int i = games.length - 1; i >= 0; i--) {
+        assertEquals(games[i], reader.read(i));
+      }
+    }
+  }
+
+  /**
+   * Test that a move takes two bytes, and a multi-jump four more.
+   */
+  @Test
+  public void testSize() throws IOException {
+    GameRecord game = randomGame(new SplittableRandom(3));
+    try (GameRecordWriter writer = new GameRecordWriter(file)) {
+      writer.write(game);
+    }
+    long expected = 4 + 1 + 2 + 2L * game.getMoveCount() + 8 + GameRecordWriter.TRAILER_SIZE;
+    for (long move : game.getMoves()) {
+      if (Integer.bitCount(Move.captured(move)) > 1) {
+        expected += 4; // the mask of the pieces a multi-jump takes
+      }
+    }
+    assertEquals(expected, Files.size(file));
+  }
+
+  /**
+   * Test that the position after some moves gives the pieces of the piece model.
+   */
+  @Test
+  public void testGetBoard() {
+    long move = Move.of(Coordinates.squareOf(5, 1), Coordinates.squareOf(4, 0), 0, false);
+    GameRecord game = new GameRecord(Board.initial(), Color.BLACK, new long[] {move});
+    assertEquals(Man.of(4, 0, Color.BLACK), game.getBoard(1).pieceAt(4, 0));
+    assertEquals(Board.initial(), game.getBoard(0));
+  }
+
+  /**
+   * Test that an exception is thrown when the file is not a game-record file.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testNotARecordFile() throws IOException {
+    Files.write(file, new byte[64]);
+    GameRecordReader data = new GameRecordReader(file);
+  }
+
+  /**
+   * Test that an exception is thrown for a game number out of bound.
+   */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testNoSuchGame() throws IOException {
+    new GameRecordWriter(file).close();
+    try (GameRecordReader reader = new GameRecordReader(file)) {
+      reader.read(0);
+    }
+  }
+
+  /**
+   * Plays random legal moves from the starting board until the game ends or has 150 moves.
+   */
+  private static GameRecord randomGame(SplittableRandom random) {
+    long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    long[] moves = new long[150];
+    Board board = Board.initial();
+    Color side = Color.BLACK;
+    int played = 0;
+    while (played < moves.length) {
+      int count = MoveGenerator.generate(board, side, buffer, 0);
+      if (count == 0) {
+        break;
+      }
+      moves[played] = buffer[random.nextInt(count)];
+      board = board.play(moves[played++]);
+      side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+    }
+    return new GameRecord(Board.initial(), Color.BLACK, Arrays.copyOf(moves, played));
+  }
+}
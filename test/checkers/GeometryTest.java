@@ -0,0 +1,81 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Geometry class.
+ */
+public class GeometryTest {
+
+  /**
+   * Test that the 8x8 geometry numbers its squares as Coordinates and Board do.
+   */
+  @Test
+  public void testCheckers() {
+    Geometry geometry = Geometry.CHECKERS;
+    assertEquals(32, geometry.getSquares());
+    for (int square = 0; square < 32; square++) {
+      Coordinates coordinates = Coordinates.ofSquare(square);
+      assertEquals(coordinates.getRow(), geometry.getRow(square));
+      assertEquals(coordinates.getColumn(), geometry.getColumn(square));
+      assertEquals(square, geometry.squareOf(coordinates.getRow(), coordinates.getColumn()));
+    }
+    assertEquals(Board.initial().getBlack(), (int) geometry.startSquares(Color.BLACK));
+    assertEquals(Board.initial().getWhite(), (int) geometry.startSquares(Color.WHITE));
+    assertEquals(Board.BLACK_KINGS_ROW, (int) geometry.kingsRow(Color.BLACK));
+    assertEquals(Board.WHITE_KINGS_ROW, (int) geometry.kingsRow(Color.WHITE));
+  }
+
+  /**
+   * Test the squares and tables of the 10x10 geometry.
+   */
+  @Test
+  public void testInternational() {
+    Geometry geometry = Geometry.INTERNATIONAL;
+    assertEquals(10, geometry.getSize());
+    assertEquals(50, geometry.getSquares());
+    assertTrue(geometry.isValid(9, 9));
+    assertFalse(geometry.isValid(9, 8));
+    assertFalse(geometry.isValid(10, 0));
+    assertEquals(-1, geometry.squareOf(0, 1));
+    for (int square = 0; square < 50; square++) {
+      assertEquals(square, geometry.squareOf(geometry.getRow(square),
+          geometry.getColumn(square)));
+    }
+    assertEquals(20, Long.bitCount(geometry.startSquares(Color.BLACK)));
+    assertEquals(0x1FL, geometry.kingsRow(Color.BLACK));
+    // the long diagonal from (0, 0) to (9, 9)
+    assertEquals(9, geometry.ray(0, Geometry.UP_RIGHT).length);
+    assertEquals(geometry.squareOf(9, 9), geometry.ray(0, Geometry.UP_RIGHT)[8]);
+    assertEquals(-1, geometry.neighbour(0, Geometry.DOWN_RIGHT));
+  }
+
+  /**
+   * Test that whole-mask steps and the diagonal masks agree with the tables.
+   */
+  @Test
+  public void testSteps() {
+    for (Geometry geometry : new Geometry[] {Geometry.CHECKERS, Geometry.INTERNATIONAL}) {
+      for (int square = 0; square < geometry.getSquares(); square++) {
+        long diagonals = 0;
+        long flyOvers = 0;
+        for (int direction = 0; direction < 4; direction++) {
+          int neighbour = geometry.neighbour(square, direction);
+          assertEquals(geometry + " " + square + " " + direction,
+              neighbour < 0 ? 0 : 1L << neighbour, geometry.step(1L << square, direction));
+          int[] ray = geometry.ray(square, direction);
+          for (int i = 0; i < ray.length; i++) {
+            diagonals |= 1L << ray[i];
+            flyOvers |= i + 1 < ray.length ? 1L << ray[i] : 0;
+          }
+        }
+        assertEquals(diagonals, geometry.diagonals(square));
+        assertEquals(flyOvers, geometry.flyOvers(square));
+      }
+    }
+  }
+}
@@ -2,6 +2,7 @@ package checkers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Before;
@@ -178,4 +179,43 @@ public class KingTest {
     assertTrue(this.justCrownedBlackKing.canCapture(capturableWhitePiece));
 
   }
-}
\ No newline at end of file
+
+  /**
+   * Test that the of and ofSquare methods return shared pieces.
+   */
+  @Test
+  public void testOf() {
+    assertSame(King.of(0, 0, Color.BLACK), King.of(0, 0, Color.BLACK));
+    assertSame(King.of(0, 0, Color.BLACK), King.ofSquare(0, Color.BLACK));
+    assertEquals(this.justCrownedBlackKing, King.of(0, 0, Color.BLACK));
+    assertEquals(0, King.ofSquare(0, Color.WHITE).getSquare());
+  }
+
+  /**
+   * Test that an exception is thrown when a null is
+   * passed into the ofSquare method as a color.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfSquareNullColor() {
+    King.ofSquare(0, null);
+  }
+
+  /**
+   * Test that a flying King moves and captures at any distance along a diagonal,
+   * and that without the option it is the usual King.
+   */
+  @Test
+  public void testFlyingKing() {
+    King king = King.of(0, 0, Color.BLACK);
+    assertTrue(king.canMove(7, 7, Rules.INTERNATIONAL));
+    assertFalse(king.canMove(7, 7, Rules.ENGLISH));
+    assertFalse(king.canMove(0, 0, Rules.INTERNATIONAL));
+    assertFalse(king.canMove(2, 4, Rules.INTERNATIONAL));
+
+    assertTrue(king.canCapture(Man.of(5, 5, Color.WHITE), Rules.INTERNATIONAL));
+    assertFalse(king.canCapture(Man.of(5, 5, Color.WHITE), Rules.ENGLISH));
+    // no square behind the piece
+    assertFalse(king.canCapture(Man.of(7, 7, Color.WHITE), Rules.INTERNATIONAL));
+    assertFalse(king.canCapture(Man.of(5, 5, Color.BLACK), Rules.INTERNATIONAL));
+  }
+}
@@ -2,6 +2,7 @@ package checkers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -177,4 +178,38 @@ public class ManTest {
     // and 100% for the interface
 
   }
-}
\ No newline at end of file
+
+  /**
+   * Test that the of and ofSquare methods return shared pieces.
+   */
+  @Test
+  public void testOf() {
+    assertSame(Man.of(5, 1, Color.BLACK), Man.of(5, 1, Color.BLACK));
+    assertSame(Man.of(5, 1, Color.BLACK), Man.ofSquare(20, Color.BLACK));
+    assertEquals(this.frontBlackMan, Man.of(5, 1, Color.BLACK));
+    assertEquals(20, Man.ofSquare(20, Color.WHITE).getSquare());
+  }
+
+  /**
+   * Test that an exception is thrown when a null is
+   * passed into the ofSquare method as a color.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfSquareNullColor() {
+    Man.ofSquare(0, null);
+  }
+
+  /**
+   * Test that a Man captures backward only when the rules allow it.
+   */
+  @Test
+  public void testCaptureBackward() {
+    Man man = Man.of(4, 2, Color.BLACK);
+    Man behind = Man.of(5, 3, Color.WHITE);
+    assertFalse(man.canCapture(behind));
+    assertFalse(man.canCapture(behind, Rules.ENGLISH));
+    assertTrue(man.canCapture(behind, Rules.INTERNATIONAL));
+    assertTrue(man.canCapture(Man.of(3, 1, Color.WHITE), Rules.INTERNATIONAL));
+    assertFalse(man.canMove(5, 3, Rules.INTERNATIONAL));
+  }
+}
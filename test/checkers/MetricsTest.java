@@ -0,0 +1,101 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Metrics class and the Flight Recorder events.
+ * The build runs it twice, with counting off and on: off, every counter must stay at 0
+ * and no event may be recorded.
+ */
+public class MetricsTest {
+
+  /**
+   * Test the names of the counters.
+   */
+  @Test
+  public void testSnapshotNames() {
+    assertEquals(Arrays.asList("canMove.calls", "canCapture.calls", "generator.calls",
+        "generator.positions", "search.nodes", "quiescence.nodes", "table.hits",
+        "table.misses", "search.cutoffs"), new ArrayList<>(Metrics.snapshot().keySet()));
+  }
+
+  /**
+   * Test that the rules and a search are counted, only when counting is on.
+   */
+  @Test
+  public void testCounting() {
+    Metrics.reset();
+    Man man = Man.of(5, 1, Color.BLACK);
+    man.canMove(4, 0);
+    man.canCapture(Man.of(4, 2, Color.WHITE));
+    SearchResult result = new SearchEngine(1).search(Board.initial(), Color.BLACK,
+        SearchLimits.depth(6));
+    Map<String, Long> values = Metrics.snapshot();
+    if (Metrics.ENABLED) {
+      assertEquals(1, (long) values.get("canMove.calls"));
+      assertEquals(1, (long) values.get("canCapture.calls"));
+      assertEquals(result.getNodes(), (long) values.get("search.nodes"));
+      assertEquals(result.getQuiescenceNodes(), (long) values.get("quiescence.nodes"));
+      assertTrue(values.get("generator.calls") > 0);
+      assertTrue(values.get("generator.positions") >= values.get("generator.calls"));
+      assertTrue(values.get("table.hits") > 0);
+      assertTrue(values.get("table.misses") > 0);
+      assertTrue(values.get("search.cutoffs") > 0);
+    } else {
+      for (long value : values.values()) {
+        assertEquals(0, value);
+      }
+    }
+    Metrics.reset();
+    assertEquals(0, (long) Metrics.snapshot().get("search.nodes"));
+  }
+
+  /**
+   * Test that every iteration and replay is recorded, only when counting is on.
+   */
+  @Test
+  public void testEvents() throws Exception {
+    Path file = Files.createTempFile("metrics", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("checkers.SearchIteration");
+      recording.enable("checkers.GameReplay");
+      recording.start();
+      new SearchEngine(1).search(Board.initial(), Color.BLACK, SearchLimits.depth(5));
+      new PdnReader(new StringReader("1. 11-15 23-19 *")).next().replay();
+      recording.stop();
+      recording.dump(file);
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      int iterations = 0;
+      int replays = 0;
+      for (RecordedEvent event : events) {
+        if (event.getEventType().getName().equals("checkers.SearchIteration")) {
+          iterations++;
+          assertEquals(iterations, event.getInt("depth"));
+          assertTrue(event.getBoolean("finished"));
+        } else if (event.getEventType().getName().equals("checkers.GameReplay")) {
+          replays++;
+          assertEquals(2, event.getInt("moves"));
+          assertTrue(event.getBoolean("legal"));
+        }
+      }
+      assertEquals(Metrics.ENABLED ? 5 : 0, iterations);
+      assertEquals(Metrics.ENABLED ? 1 : 0, replays);
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the MonteCarloSearch class.
+ */
+public class MonteCarloSearchTest {
+
+  private MonteCarloSearch search;
+
+  /**
+   * Set up a search with two threads and a small tree.
+   */
+  @Before
+  public void setUp() {
+    this.search = new MonteCarloSearch(2, 4);
+  }
+
+  /**
+   * Stop the helper threads.
+   */
+  @After
+  public void tearDown() {
+    this.search.close();
+  }
+
+  private static int bit(int row, int column) {
+    return 1 << Coordinates.of(row, column).getSquare();
+  }
+
+  private static boolean isLegal(Board board, Color side, long move) {
+    long[] moves = new long[MoveGenerator.MAX_MOVES];
+    int count = MoveGenerator.generate(board, side, moves, 0);
+    for (int i = 0; i < count; i++) {
+      if (moves[i] == move) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Test that an exception is thrown when no threads are asked for.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoThreads() {
+    new MonteCarloSearch(0, 4);
+  }
+
+  /**
+   * Test that an exception is thrown when the limits would never stop the search.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoLimit() {
+    this.search.search(Board.initial(), Color.BLACK, SearchLimits.depth(6));
+  }
+
+  /**
+   * Test that the search plays the number of playouts asked for and returns a line
+   * of legal moves.
+   */
+  @Test
+  public void testLine() {
+    SearchResult result = this.search.search(Board.initial(), Color.BLACK,
+        SearchLimits.nodes(20000));
+    assertEquals(20000, result.getNodes());
+    assertTrue(result.getDepth() > 1);
+    assertTrue(Math.abs(result.getScore()) <= 1000);
+
+    Board board = Board.initial();
+    Color side = Color.BLACK;
+    for (long move : result.getLine()) {
+      assertTrue(isLegal(board, side, move));
+      board = board.play(move);
+      side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+    }
+  }
+
+  /**
+   * Test that a move that wins at once is scored as a sure win.
+   */
+  @Test
+  public void testFindsWin() {
+    // black king on (4, 4) must take the last white man on (3, 3), which wins at once
+    Board board = new Board(bit(4, 4), bit(3, 3), bit(4, 4));
+    SearchResult result = this.search.search(board, Color.BLACK, SearchLimits.nodes(1000));
+    assertEquals(Move.of(Coordinates.of(4, 4).getSquare(), Coordinates.of(2, 2).getSquare(),
+        bit(3, 3), false), result.getBestMove());
+    assertEquals(1000, result.getScore());
+  }
+
+  /**
+   * Test that a side with no move gets no move and a lost score.
+   */
+  @Test
+  public void testNoMove() {
+    Board board = new Board(bit(1, 1) | bit(2, 2), bit(0, 0), 0);
+    SearchResult result = this.search.search(board, Color.WHITE, SearchLimits.nodes(100));
+    assertEquals(Move.NONE, result.getBestMove());
+    assertEquals(-SearchEngine.WIN, result.getScore());
+  }
+
+  /**
+   * Test that a time limit stops the search about on time.
+   */
+  @Test
+  public void testTimeLimit() {
+    long start = System.nanoTime();
+    SearchResult result = this.search.search(Board.initial(), Color.BLACK,
+        SearchLimits.time(100));
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    assertTrue(millis + " ms", millis < 1000);
+    assertTrue(result.getNodes() > 0);
+    assertTrue(isLegal(Board.initial(), Color.BLACK, result.getBestMove()));
+  }
+}
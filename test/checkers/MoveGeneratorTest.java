@@ -0,0 +1,167 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the MoveGenerator class.
+ */
+public class MoveGeneratorTest {
+
+  private long[] moves;
+
+  /**
+   * Set up a move buffer.
+   */
+  @Before
+  public void setUp() {
+    this.moves = new long[MoveGenerator.MAX_MOVES];
+  }
+
+  private static int square(int row, int column) {
+    return Coordinates.of(row, column).getSquare();
+  }
+
+  private static int bit(int row, int column) {
+    return 1 << square(row, column);
+  }
+
+  /**
+   * Test the moves of the starting board.
+   */
+  @Test
+  public void testInitial() {
+    assertEquals(7, MoveGenerator.generate(Board.initial(), Color.BLACK, this.moves, 0));
+    assertEquals(7, MoveGenerator.generate(Board.initial(), Color.WHITE, this.moves, 0));
+    for (int i = 0; i < 7; i++) {
+      assertFalse(Move.isCapture(this.moves[i]));
+      assertEquals(2, Coordinates.ofSquare(Move.from(this.moves[i])).getRow());
+      assertEquals(3, Coordinates.ofSquare(Move.to(this.moves[i])).getRow());
+    }
+  }
+
+  /**
+   * Test that the moves are written from the offset, leaving the rest of the buffer alone.
+   */
+  @Test
+  public void testOffset() {
+    this.moves[0] = 42;
+    assertEquals(7, MoveGenerator.generate(Board.initial(), Color.BLACK, this.moves, 1));
+    assertEquals(42, this.moves[0]);
+    assertEquals(0, this.moves[8]);
+  }
+
+  /**
+   * Test that an exception is thrown when the buffer is too small.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testBufferTooSmall() {
+    MoveGenerator.generate(Board.initial(), Color.BLACK, new long[3], 0);
+  }
+
+  /**
+   * Test that a capture must be played when there is one.
+   */
+  @Test
+  public void testMandatoryCapture() {
+    // white man on (2, 2) can jump (3, 1), the white man on (0, 6) could only step
+    Board board = new Board(bit(3, 1), bit(2, 2) | bit(0, 6), 0);
+    assertEquals(1, MoveGenerator.generate(board, Color.WHITE, this.moves, 0));
+    assertEquals(Move.of(square(2, 2), square(4, 0), bit(3, 1), false), this.moves[0]);
+  }
+
+  /**
+   * Test that a capture keeps jumping, and branches when it can.
+   */
+  @Test
+  public void testMultiJump() {
+    // white man on (0, 0) jumps (1, 1) then either (3, 1) or (3, 3)
+    Board board = new Board(bit(1, 1) | bit(3, 1) | bit(3, 3), bit(0, 0), 0);
+    assertEquals(2, MoveGenerator.generate(board, Color.WHITE, this.moves, 0));
+    assertEquals(Move.of(square(0, 0), square(4, 0), bit(1, 1) | bit(3, 1), false), this.moves[0]);
+    assertEquals(Move.of(square(0, 0), square(4, 4), bit(1, 1) | bit(3, 3), false), this.moves[1]);
+  }
+
+  /**
+   * Test that a Man is crowned on the last row, and that crowning ends its capture.
+   */
+  @Test
+  public void testPromotion() {
+    // white man on (6, 0) steps to (7, 1)
+    Board step = new Board(bit(0, 0), bit(6, 0), 0);
+    assertEquals(1, MoveGenerator.generate(step, Color.WHITE, this.moves, 0));
+    assertTrue(Move.isPromotion(this.moves[0]));
+    assertTrue((step.play(this.moves[0]).getKings() & bit(7, 1)) != 0);
+
+    // white man on (5, 1) jumps to (7, 3) and stops, although a King could go on
+    Board jump = new Board(bit(6, 2) | bit(6, 4), bit(5, 1), 0);
+    assertEquals(1, MoveGenerator.generate(jump, Color.WHITE, this.moves, 0));
+    assertEquals(Move.of(square(5, 1), square(7, 3), bit(6, 2), true), this.moves[0]);
+  }
+
+  /**
+   * Test that a King captures backward and does not jump a piece twice.
+   */
+  @Test
+  public void testKingCapture() {
+    // black king on (0, 2) jumps around the four white men, either way round, which
+    // is one move, and ends where it started because every neighbour has been jumped
+    int whites = bit(1, 1) | bit(1, 3) | bit(3, 1) | bit(3, 3);
+    Board board = new Board(bit(0, 2), whites, bit(0, 2));
+    assertEquals(1, MoveGenerator.generate(board, Color.BLACK, this.moves, 0));
+    assertEquals(Move.of(square(0, 2), square(0, 2), whites, false), this.moves[0]);
+    assertEquals(new Board(bit(0, 2), 0, bit(0, 2)), board.play(this.moves[0]));
+  }
+
+  /**
+   * Test that a side with no moves has no moves generated.
+   */
+  @Test
+  public void testNoMoves() {
+    // white man on (0, 0) is blocked by two black men
+    Board board = new Board(bit(1, 1) | bit(2, 2), bit(0, 0), 0);
+    assertEquals(0, MoveGenerator.generate(board, Color.WHITE, this.moves, 0));
+    assertEquals(0, MoveGenerator.generate(new Board(bit(1, 1), 0, 0), Color.WHITE,
+        this.moves, 0));
+  }
+
+  /**
+   * Test that every generated step agrees with the canMove method of the piece,
+   * and every first jump agrees with its canCapture method.
+   */
+  @Test
+  public void testAgreesWithPieces() {
+    Board board = Board.initial();
+    Color side = Color.BLACK;
+    for (int ply = 0; ply < 40; ply++) {
+      int count = MoveGenerator.generate(board, side, this.moves, 0);
+      if (count == 0) {
+        break;
+      }
+      for (int i = 0; i < count; i++) {
+        Coordinates from = Coordinates.ofSquare(Move.from(this.moves[i]));
+        Coordinates to = Coordinates.ofSquare(Move.to(this.moves[i]));
+        CheckersPiece piece = board.pieceAt(from.getRow(), from.getColumn());
+        if (!Move.isCapture(this.moves[i])) {
+          assertTrue(piece.canMove(to.getRow(), to.getColumn()));
+          continue;
+        }
+        boolean firstJump = false;
+        for (int over : MoveTables.NEIGHBOUR[Move.from(this.moves[i])]) {
+          if (over >= 0 && (Move.captured(this.moves[i]) & (1 << over)) != 0) {
+            Coordinates coordinates = Coordinates.ofSquare(over);
+            firstJump |= piece.canCapture(
+                board.pieceAt(coordinates.getRow(), coordinates.getColumn()));
+          }
+        }
+        assertTrue(firstJump);
+      }
+      board = board.play(this.moves[ply % count]);
+      side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the MoveOrderer class.
+ */
+public class MoveOrdererTest {
+
+  private static final long QUIET = Move.of(20, 16, 0, false);
+  private static final long OTHER_QUIET = Move.of(21, 17, 0, false);
+  private static final long KILLER = Move.of(22, 18, 0, false);
+  private static final long PROMOTION = Move.of(5, 1, 0, true);
+  private static final long CAPTURE = Move.of(23, 14, 1 << 18, false);
+  private static final long DOUBLE_CAPTURE = Move.of(23, 5, (1 << 18) | (1 << 9), false);
+
+  /**
+   * Test the order of the kinds of moves.
+   */
+  @Test
+  public void testOrder() {
+    MoveOrderer orderer = new MoveOrderer();
+    orderer.recordCutoff(KILLER, 3, 2);
+    orderer.recordCutoff(OTHER_QUIET, 1, 5); // only in the history at this ply
+    long[] moves = {QUIET, OTHER_QUIET, KILLER, PROMOTION, CAPTURE, DOUBLE_CAPTURE};
+    orderer.order(moves, moves.length, 0, false, 2);
+    assertEquals(DOUBLE_CAPTURE, moves[0]);
+    assertEquals(CAPTURE, moves[1]);
+    assertEquals(PROMOTION, moves[2]);
+    assertEquals(KILLER, moves[3]);
+    assertEquals(OTHER_QUIET, moves[4]);
+    assertEquals(QUIET, moves[5]);
+  }
+
+  /**
+   * Test that the move of the transposition table comes before everything else.
+   */
+  @Test
+  public void testTableMoveFirst() {
+    TranspositionTable table = new TranspositionTable(1);
+    table.store(1L, QUIET, 0, 1, TranspositionTable.EXACT);
+    long[] moves = {CAPTURE, PROMOTION, QUIET};
+    new MoveOrderer().order(moves, moves.length, table.probe(1L), false, 0);
+    assertEquals(QUIET, moves[0]);
+    assertEquals(CAPTURE, moves[1]);
+
+    // an entry stored for the twin position holds the move turned round
+    table.store(2L, Symmetry.mirrorMove(QUIET), 0, 1, TranspositionTable.EXACT);
+    moves = new long[] {CAPTURE, PROMOTION, QUIET};
+    new MoveOrderer().order(moves, moves.length, table.probe(2L), true, 0);
+    assertEquals(QUIET, moves[0]);
+  }
+
+  /**
+   * Test that a new search forgets the killer moves.
+   */
+  @Test
+  public void testNewSearch() {
+    MoveOrderer orderer = new MoveOrderer();
+    orderer.recordCutoff(KILLER, 1, 0);
+    orderer.newSearch();
+    long[] moves = {QUIET, KILLER};
+    orderer.order(moves, moves.length, 0, false, 0);
+    assertEquals(QUIET, moves[0]);
+  }
+}
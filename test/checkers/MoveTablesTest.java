@@ -0,0 +1,66 @@
+package checkers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the MoveTables class.
+ */
+public class MoveTablesTest {
+
+  /**
+   * Test the squareAt method.
+   */
+  @Test
+  public void testSquareAt() {
+    assertEquals(0, MoveTables.squareAt(0, 0));
+    assertEquals(31, MoveTables.squareAt(7, 7));
+    assertEquals(-1, MoveTables.squareAt(0, 1)); //light square
+    assertEquals(-1, MoveTables.squareAt(-1, 1)); //out of bound
+    assertEquals(-1, MoveTables.squareAt(8, 0)); //out of bound
+  }
+
+  /**
+   * Test the neighbours and landings of a corner and a center square.
+   */
+  @Test
+  public void testNeighbours() {
+    // (0, 0) only has an upper right neighbour (1, 1) and landing (2, 2)
+    assertArrayEquals(new int[] {-1, 4, -1, -1}, MoveTables.NEIGHBOUR[0]);
+    assertArrayEquals(new int[] {-1, 9, -1, -1}, MoveTables.LANDING[0]);
+
+    // (3, 3) is square 13
+    assertArrayEquals(new int[] {17, 18, 9, 10}, MoveTables.NEIGHBOUR[13]);
+    assertArrayEquals(new int[] {20, 22, 4, 6}, MoveTables.LANDING[13]);
+  }
+
+  /**
+   * Test the step and jump lists of each kind of piece.
+   */
+  @Test
+  public void testTargets() {
+    assertArrayEquals(new int[] {17, 18}, MoveTables.STEP_TARGETS[MoveTables.WHITE_MAN][13]);
+    assertArrayEquals(new int[] {9, 10}, MoveTables.STEP_TARGETS[MoveTables.BLACK_MAN][13]);
+    assertEquals(4, MoveTables.STEP_TARGETS[MoveTables.KING][13].length);
+
+    assertArrayEquals(new int[] {4, 9}, MoveTables.JUMPS[MoveTables.WHITE_MAN][0]);
+    assertEquals(0, MoveTables.JUMPS[MoveTables.BLACK_MAN][0].length);
+    assertEquals(1 << 4, MoveTables.CAPTURE_MASK[MoveTables.KING][0]);
+  }
+
+  /**
+   * Test that every step in the tables agrees with the one-step shifts of Board.
+   */
+  @Test
+  public void testAgreesWithBoard() {
+    for (int square = 0; square < 32; square++) {
+      int bit = 1 << square;
+      assertEquals(Board.upLeft(bit) | Board.upRight(bit),
+          MoveTables.STEP_MASK[MoveTables.WHITE_MAN][square]);
+      assertEquals(Board.downLeft(bit) | Board.downRight(bit),
+          MoveTables.STEP_MASK[MoveTables.BLACK_MAN][square]);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the OpeningBook and OpeningBookBuilder classes.
+ */
+public class OpeningBookTest {
+
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("book", ".cob");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private static long move(int fromRow, int fromColumn, int toRow, int toColumn) {
+    return Move.of(Coordinates.squareOf(fromRow, fromColumn),
+        Coordinates.squareOf(toRow, toColumn), 0, false);
+  }
+
+  private static GameRecord game(long... moves) {
+    return new GameRecord(Board.initial(), Color.BLACK, moves);
+  }
+
+  /**
+   * Test that an exception is thrown when a number of plies that is not positive is
+   * passed into the constructor.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoPlies() {
+    OpeningBookBuilder data = new OpeningBookBuilder(0);
+  }
+
+  /**
+   * Test that the moves of a position come back with their counts, heaviest first.
+   */
+  @Test
+  public void testProbe() throws IOException {
+    long first = move(5, 1, 4, 0);
+    long second = move(5, 3, 4, 2);
+    long reply = move(2, 2, 3, 3);
+    OpeningBookBuilder builder = new OpeningBookBuilder(2);
+    builder.add(game(first, reply));
+    builder.add(game(second, reply, move(5, 5, 4, 4)));
+    builder.add(game(second, reply));
+    assertEquals(4, builder.size());
+    builder.write(file);
+
+    OpeningBook book = new OpeningBook(file);
+    assertEquals(4, book.size());
+    long[] moves = new long[8];
+    int[] weights = new int[8];
+    assertEquals(2, book.probe(Board.initial(), Color.BLACK, moves, weights));
+    assertEquals(second, moves[0]);
+    assertEquals(2, weights[0]);
+    assertEquals(first, moves[1]);
+    assertEquals(1, weights[1]);
+
+    Board afterSecond = Board.initial().play(second);
+    assertEquals(1, book.probe(afterSecond, Color.WHITE, moves, weights));
+    assertEquals(reply, moves[0]);
+    assertEquals(reply, book.choose(afterSecond, Color.WHITE, 0.5));
+
+    // the third move of a game is past the two plies of the book
+    Board deeper = afterSecond.play(reply);
+    assertEquals(0, book.probe(deeper, Color.BLACK, moves, weights));
+    assertEquals(Move.NONE, book.choose(deeper, Color.BLACK, 0.5));
+  }
+
+  /**
+   * Test that choosing picks moves as often as their weights say.
+   */
+  @Test
+  public void testChoose() throws IOException {
+    long first = move(5, 1, 4, 0);
+    long second = move(5, 3, 4, 2);
+    OpeningBookBuilder builder = new OpeningBookBuilder(1);
+    builder.add(game(first));
+    for (int i = 0; i < 3; i++) {
+      builder.add(game(second));
+    }
+    builder.write(file);
+    OpeningBook book = new OpeningBook(file);
+    assertEquals(second, book.choose(Board.initial(), Color.BLACK, 0.0));
+    assertEquals(second, book.choose(Board.initial(), Color.BLACK, 0.74));
+    assertEquals(first, book.choose(Board.initial(), Color.BLACK, 0.76));
+  }
+
+  /**
+   * Test that a book built from many positions finds every one of them.
+   */
+  @Test
+  public void testManyPositions() throws IOException {
+    OpeningBookBuilder builder = new OpeningBookBuilder(12);
+    long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    Board[] boards = new Board[100];
+    for (int g = 0; g < boards.length; g++) {
+      long[] moves = new long[12];
+      Board board = Board.initial();
+      Color side = Color.BLACK;
+      for (int ply = 0; ply < moves.length; ply++) {
+        int count = MoveGenerator.generate(board, side, buffer, 0);
+        moves[ply] = buffer[(g * 7 + ply * 13) % count];
+        board = board.play(moves[ply]);
+        side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+        if (ply == 10) {
+          boards[g] = board;
+        }
+      }
+      builder.add(game(moves));
+    }
+    builder.write(file);
+    OpeningBook book = new OpeningBook(file);
+    long[] moves = new long[8];
+    int[] weights = new int[8];
+    for (Board board : boards) {
+      assertTrue(book.probe(board, Color.WHITE, moves, weights) > 0);
+    }
+  }
+
+  /**
+   * Test that an exception is thrown when the file is not a book file.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testNotABookFile() throws IOException {
+    Files.write(file, new byte[40]);
+    OpeningBook data = new OpeningBook(file);
+  }
+}
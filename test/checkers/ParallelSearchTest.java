@@ -0,0 +1,59 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the ParallelSearch class.
+ */
+public class ParallelSearchTest {
+
+  /**
+   * Test that an exception is thrown when a number of threads that is not positive is
+   * passed into the constructor.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoThreads() {
+    ParallelSearch data = new ParallelSearch(0, 1);
+  }
+
+  /**
+   * Test that a parallel search finishes its depth and returns a legal move.
+   */
+  @Test
+  public void testSearch() {
+    try (ParallelSearch search = new ParallelSearch(3, 1)) {
+      assertEquals(3, search.getThreads());
+      SearchResult result = search.search(Board.initial(), Color.BLACK, SearchLimits.depth(7));
+      assertEquals(7, result.getDepth());
+
+      long[] moves = new long[MoveGenerator.MAX_MOVES];
+      int count = MoveGenerator.generate(Board.initial(), Color.BLACK, moves, 0);
+      boolean legal = false;
+      for (int i = 0; i < count; i++) {
+        legal |= moves[i] == result.getBestMove();
+      }
+      assertTrue(legal);
+
+      // the search can be run again on the same threads
+      SearchResult again = search.search(Board.initial(), Color.WHITE, SearchLimits.nodes(5000));
+      assertTrue(again.getDepth() >= 1);
+    }
+  }
+
+  /**
+   * Test that the parallel search finds the same win as a single engine.
+   */
+  @Test
+  public void testFindsWin() {
+    int black = 1;
+    int white = (1 << 4) | (1 << 13); // (1, 1) and (3, 3), jumped in a row from (0, 0)
+    Board board = new Board(black, white, black);
+    try (ParallelSearch search = new ParallelSearch(2, 1)) {
+      SearchResult result = search.search(board, Color.BLACK, SearchLimits.depth(8));
+      assertEquals(SearchEngine.WIN - 1, result.getScore());
+    }
+  }
+}
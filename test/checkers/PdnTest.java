@@ -0,0 +1,142 @@
+package checkers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Pdn, PdnReader and PdnGame classes.
+ */
+public class PdnTest {
+
+  private static final String ARCHIVE = "[Event \"Club night\"]\n"
+      + "[Black \"A\"] [White \"B\"]\n"
+      + "1. 11-15 22-18 {the Single Corner} 2. 15x22 (2. 8-11 18x11) 25x18 $1\n"
+      + "3. 8-11! 29-25 1/2-1/2\n"
+      + "\n"
+      + "[Event \"Setup\"]\n"
+      + "[FEN \"W:W18,K30:B14,23\"]\n"
+      + "1... 18x9 ; white jumps 14\n"
+      + "2. 23-27 30-26 *\n"
+      + "[Event \"No result\"]\n"
+      + "1. 11-16 22-17\n";
+
+  /**
+   * Test that PDN square numbers map onto the dark squares from the black side.
+   */
+  @Test
+  public void testSquares() {
+    assertEquals(Coordinates.of(7, 1), Pdn.coordinatesOf(1));
+    assertEquals(Coordinates.of(7, 7), Pdn.coordinatesOf(4));
+    assertEquals(Coordinates.of(6, 0), Pdn.coordinatesOf(5));
+    assertEquals(Coordinates.of(0, 6), Pdn.coordinatesOf(32));
+    for (int number = 1; number <= 32; number++) {
+      assertEquals(number, Pdn.numberOf(Pdn.squareOf(number)));
+    }
+    // black starts on squares 1 to 12
+    int black = 0;
+    for (int number = 1; number <= 12; number++) {
+      black |= 1 << Pdn.squareOf(number);
+    }
+    assertEquals(Board.initial().getBlack(), black);
+  }
+
+  /**
+   * Test that an exception is thrown for a square number out of bound.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadSquare() {
+    Pdn.squareOf(33);
+  }
+
+  /**
+   * Test reading and writing FEN positions.
+   */
+  @Test
+  public void testFen() {
+    String fen = "W:W18,K30:B1-3,K14";
+    Board board = Pdn.parseBoard(fen);
+    assertEquals(Color.WHITE, Pdn.parseSide(fen));
+    assertEquals(4, Integer.bitCount(board.getBlack()));
+    assertEquals(2, Integer.bitCount(board.getKings()));
+    assertEquals("W:W18,K30:B1,2,3,K14", Pdn.toFen(board, Color.WHITE));
+    assertEquals(board, Pdn.parseBoard(Pdn.toFen(board, Color.WHITE)));
+  }
+
+  /**
+   * Test that the reader splits an archive into games with their tags, moves and results,
+   * skipping comments, variations and annotations.
+   */
+  @Test
+  public void testReader() throws IOException {
+    try (PdnReader reader = new PdnReader(new StringReader(ARCHIVE))) {
+      PdnGame first = reader.next();
+      assertEquals("Club night", first.getTag("Event"));
+      assertEquals("B", first.getTag("White"));
+      assertEquals(Arrays.asList("11-15", "22-18", "15x22", "25x18", "8-11", "29-25"),
+          first.getMoves());
+      assertEquals("1/2-1/2", first.getResult());
+
+      PdnGame second = reader.next();
+      assertEquals(Arrays.asList("18x9", "23-27", "30-26"), second.getMoves());
+      assertEquals("*", second.getResult());
+
+      PdnGame third = reader.next();
+      assertEquals("No result", third.getTag("Event"));
+      assertEquals(2, third.getMoves().size());
+      assertNull(reader.next());
+    }
+  }
+
+  /**
+   * Test that replaying legal games gives the moves of the MoveGenerator.
+   */
+  @Test
+  public void testReplay() throws IOException {
+    try (PdnReader reader = new PdnReader(new StringReader(ARCHIVE))) {
+      long[] moves = reader.next().replay();
+      assertEquals(6, moves.length);
+      assertEquals(Move.of(Pdn.squareOf(11), Pdn.squareOf(15), 0, false), moves[0]);
+      assertEquals(1 << Pdn.squareOf(18), Move.captured(moves[2]));
+
+      long[] setup = reader.next().replay();
+      assertEquals(1 << Pdn.squareOf(14), Move.captured(setup[0]));
+      assertEquals(3, setup.length);
+    }
+  }
+
+  /**
+   * Test that a move breaking the rules is reported with its number.
+   */
+  @Test
+  public void testIllegal() throws IOException {
+    String text = "1. 11-15 22-18 2. 9-13 *"; // black must capture 18
+    try (PdnReader reader = new PdnReader(new StringReader(text))) {
+      reader.next().replay();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().startsWith("Move 3 (9-13)"));
+      return;
+    }
+    throw new AssertionError("the illegal move was not found");
+  }
+
+  /**
+   * Test that a multi-jump written with every landing square is matched by its path.
+   */
+  @Test
+  public void testMultiJump() {
+    // a black King on 1 can take 6 and 15 one after the other
+    PdnGame game = new PdnGame(Collections.singletonMap("FEN", "B:W6,15:BK1"),
+        Arrays.asList("1x10x19"), "2-0");
+    long[] moves = game.replay();
+    assertArrayEquals(new long[] {Move.of(Pdn.squareOf(1), Pdn.squareOf(19),
+        (1 << Pdn.squareOf(6)) | (1 << Pdn.squareOf(15)), false)}, moves);
+  }
+}
@@ -0,0 +1,57 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Perft class.
+ */
+public class PerftTest {
+
+  /**
+   * Test that an exception is thrown when a negative depth is
+   * passed into the constructor.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDepth() {
+    Perft data = new Perft(-1, false);
+  }
+
+  /**
+   * Test that an exception is thrown when counting deeper than the counter was built for.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooDeep() {
+    new Perft(2, false).count(Board.initial(), Color.BLACK, 3);
+  }
+
+  /**
+   * Test the counts from the starting board against the known ones.
+   */
+  @Test
+  public void testStartCounts() {
+    Perft perft = new Perft(8, false);
+    for (int depth = 0; depth <= 8; depth++) {
+      assertEquals(Perft.knownCount(depth), perft.count(Board.initial(), Color.BLACK, depth));
+    }
+  }
+
+  /**
+   * Test that every move of the tree agrees with the Man and King rules.
+   */
+  @Test
+  public void testVerify() {
+    assertEquals(Perft.knownCount(6), new Perft(6, true).count(Board.initial(), Color.BLACK, 6));
+  }
+
+  /**
+   * Test the knownCount method out of the table.
+   */
+  @Test
+  public void testKnownCount() {
+    assertEquals(7, Perft.knownCount(1));
+    assertEquals(-1, Perft.knownCount(-1));
+    assertEquals(-1, Perft.knownCount(100));
+  }
+}
@@ -0,0 +1,68 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the PonderingEngine class.
+ */
+public class PonderingEngineTest {
+
+  private PonderingEngine engine;
+
+  /**
+   * Set up a pondering engine with a small table.
+   */
+  @Before
+  public void setUp() {
+    this.engine = new PonderingEngine(16);
+  }
+
+  /**
+   * Stop the background thread.
+   */
+  @After
+  public void tearDown() {
+    this.engine.close();
+  }
+
+  /**
+   * Test that pondering runs until it is stopped.
+   */
+  @Test
+  public void testStopPondering() throws InterruptedException {
+    assertFalse(this.engine.isPondering());
+    this.engine.ponder(Board.initial(), Color.BLACK, Move.NONE);
+    Thread.sleep(20);
+    assertTrue(this.engine.isPondering());
+    this.engine.stopPondering();
+    assertFalse(this.engine.isPondering());
+  }
+
+  /**
+   * Test that a search after pondering on the expected reply needs fewer nodes than a
+   * search from a cold table.
+   */
+  @Test
+  public void testPonderHit() throws InterruptedException {
+    SearchResult first = this.engine.search(Board.initial(), Color.BLACK,
+        SearchLimits.depth(6));
+    Board board = Board.initial().play(first.getBestMove());
+    long reply = first.getLine()[1];
+    this.engine.ponder(board, Color.WHITE, reply);
+    Thread.sleep(200);
+
+    Board expected = board.play(reply);
+    SearchResult warm = this.engine.search(expected, Color.BLACK, SearchLimits.depth(10));
+    assertFalse(this.engine.isPondering());
+    SearchResult cold = new SearchEngine(16).search(expected, Color.BLACK,
+        SearchLimits.depth(10));
+    assertEquals(cold.getDepth(), warm.getDepth());
+    assertTrue(warm.getNodes() + " >= " + cold.getNodes(), warm.getNodes() < cold.getNodes());
+  }
+}
@@ -0,0 +1,98 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Position class.
+ */
+public class PositionTest {
+
+  private static int bit(int row, int column) {
+    return 1 << Coordinates.squareOf(row, column);
+  }
+
+  /**
+   * Test that an exception is thrown when a null board is
+   * passed into the constructor.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullBoard() {
+    Position data = new Position(null, Color.BLACK, 4);
+  }
+
+  /**
+   * Test that making moves agrees with Board.play and the Zobrist keys, and that taking
+   * them all back gives the starting position again.
+   */
+  @Test
+  public void testMakeUnmake() {
+    SplittableRandom random = new SplittableRandom(5);
+    long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    for (int game = 0; game < 20; game++) {
+      Position position = new Position(Board.initial(), Color.BLACK, 200);
+      Board board = Board.initial();
+      Color side = Color.BLACK;
+      Board[] boards = new Board[201];
+      boards[0] = board;
+      while (position.getPly() < 200) {
+        int count = position.generateMoves(buffer, 0);
+        if (count == 0) {
+          break;
+        }
+        long move = buffer[random.nextInt(count)];
+        position.makeMove(move);
+        board = board.play(move);
+        side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+        boards[position.getPly()] = board;
+        assertEquals(board, position.toBoard());
+        assertEquals(side, position.getSide());
+        assertEquals(Zobrist.hash(board, side), position.getKey());
+        assertEquals(move, position.lastMove());
+      }
+      while (position.getPly() > 0) {
+        position.unmakeMove();
+        assertEquals(boards[position.getPly()], position.toBoard());
+      }
+      assertEquals(Color.BLACK, position.getSide());
+      assertEquals(Zobrist.hash(Board.initial(), Color.BLACK), position.getKey());
+    }
+  }
+
+  /**
+   * Test that taking back a capture that crowns a Man gives back the Man and the King
+   * it took.
+   */
+  @Test
+  public void testUnmakePromotion() {
+    Board board = new Board(bit(2, 2), bit(1, 1), bit(1, 1));
+    Position position = new Position(board, Color.BLACK, 1);
+    long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    assertEquals(1, position.generateMoves(buffer, 0));
+    assertTrue(Move.isPromotion(buffer[0]));
+    position.makeMove(buffer[0]);
+    assertEquals(new Board(bit(0, 0), 0, bit(0, 0)), position.toBoard());
+    position.unmakeMove();
+    assertEquals(board, position.toBoard());
+  }
+
+  /**
+   * Test that an exception is thrown when the undo stack is full.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testStackFull() {
+    Position position = new Position(Board.initial(), Color.BLACK, 0);
+    position.makeMove(Move.of(Coordinates.squareOf(5, 1), Coordinates.squareOf(4, 0), 0, false));
+  }
+
+  /**
+   * Test that an exception is thrown when there is no move to take back.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testNothingToUnmake() {
+    new Position(Board.initial(), Color.BLACK, 4).unmakeMove();
+  }
+}
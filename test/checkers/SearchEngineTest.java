@@ -0,0 +1,225 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the SearchEngine class.
+ */
+public class SearchEngineTest {
+
+  private SearchEngine engine;
+
+  /**
+   * Set up a search engine with a small table.
+   */
+  @Before
+  public void setUp() {
+    this.engine = new SearchEngine(1);
+  }
+
+  private static int bit(int row, int column) {
+    return 1 << Coordinates.of(row, column).getSquare();
+  }
+
+  private static boolean isLegal(Board board, Color side, long move) {
+    long[] moves = new long[MoveGenerator.MAX_MOVES];
+    int count = MoveGenerator.generate(board, side, moves, 0);
+    for (int i = 0; i < count; i++) {
+      if (moves[i] == move) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Test that an exception is thrown when a null table is
+   * passed into the constructor.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullTable() {
+    SearchEngine data = new SearchEngine((TranspositionTable) null);
+  }
+
+  /**
+   * Test that the search returns a legal move and a line of legal moves.
+   */
+  @Test
+  public void testLine() {
+    SearchResult result = this.engine.search(Board.initial(), Color.BLACK, SearchLimits.depth(6));
+    assertEquals(6, result.getDepth());
+    assertTrue(result.getNodes() > 0);
+
+    Board board = Board.initial();
+    Color side = Color.BLACK;
+    long[] line = result.getLine();
+    assertTrue(line.length > 0 && line.length <= 6);
+    assertEquals(line[0], result.getBestMove());
+    for (long move : line) {
+      assertTrue(isLegal(board, side, move));
+      board = board.play(move);
+      side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+    }
+  }
+
+  /**
+   * Test that the search finds a win: the black king on (0, 0) captures both white men,
+   * and white has no move left one ply later.
+   */
+  @Test
+  public void testFindsWin() {
+    Board board = new Board(bit(0, 0), bit(1, 1) | bit(3, 3), bit(0, 0));
+    SearchResult result = this.engine.search(board, Color.BLACK, SearchLimits.depth(10));
+    assertEquals(SearchEngine.WIN - 1, result.getScore());
+    assertTrue(Move.isCapture(result.getBestMove()));
+  }
+
+  /**
+   * Test that a side with no move gets no move and a lost score.
+   */
+  @Test
+  public void testNoMove() {
+    Board board = new Board(bit(1, 1) | bit(2, 2), bit(0, 0), 0);
+    SearchResult result = this.engine.search(board, Color.WHITE, SearchLimits.depth(5));
+    assertEquals(Move.NONE, result.getBestMove());
+    assertEquals(-SearchEngine.WIN, result.getScore());
+  }
+
+  /**
+   * Test that the search stops close to its node limit.
+   */
+  @Test
+  public void testNodeLimit() {
+    SearchResult result = this.engine.search(Board.initial(), Color.BLACK,
+        SearchLimits.nodes(20000));
+    assertTrue(result.getNodes() <= 20000);
+    assertTrue(result.getDepth() >= 1);
+    assertTrue(result.getDepth() < SearchLimits.MAX_DEPTH);
+  }
+
+  /**
+   * Test that the listener hears about every iteration, in order.
+   */
+  @Test
+  public void testListener() {
+    List<SearchResult> results = new ArrayList<>();
+    this.engine.setListener(results::add);
+    SearchResult last = this.engine.search(Board.initial(), Color.BLACK, SearchLimits.depth(4));
+    assertEquals(4, results.size());
+    for (int i = 0; i < results.size(); i++) {
+      assertEquals(i + 1, results.get(i).getDepth());
+    }
+    assertEquals(last, results.get(3));
+  }
+
+  /**
+   * Test that two searches of the same position give equal results, although they take
+   * different times.
+   */
+  @Test
+  public void testEqualResults() {
+    SearchResult first = this.engine.search(Board.initial(), Color.BLACK, SearchLimits.depth(6));
+    SearchResult second = new SearchEngine(1).search(Board.initial(), Color.BLACK,
+        SearchLimits.depth(6));
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertNotEquals(first, new SearchResult(first.getScore(), first.getDepth(),
+        first.getNodes() + 1, first.getQuiescenceNodes(), first.getNanos(), first.getLine()));
+  }
+
+  /**
+   * Test that ordering moves searches fewer nodes to the same depth.
+   */
+  @Test
+  public void testMoveOrdering() {
+    SearchEngine unordered = new SearchEngine(1);
+    unordered.setMoveOrdering(false);
+    long without = unordered.search(Board.initial(), Color.BLACK, SearchLimits.depth(9))
+        .getNodes();
+    long with = this.engine.search(Board.initial(), Color.BLACK, SearchLimits.depth(9))
+        .getNodes();
+    assertTrue(with + " >= " + without, with < without);
+  }
+
+  /**
+   * Test that a move into a capture is seen as losing a piece at depth 1.
+   */
+  @Test
+  public void testQuiescence() {
+    // black man on (3, 3) can step to (2, 2), where the white man on (1, 1) must take it,
+    // or to (2, 4), where it is safe
+    Board board = new Board(bit(3, 3) | bit(6, 6), bit(1, 1), 0);
+    SearchResult result = this.engine.search(board, Color.BLACK, SearchLimits.depth(1));
+    long blunder = Move.of(Coordinates.of(3, 3).getSquare(), Coordinates.of(2, 2).getSquare(),
+        0, false);
+    assertTrue(result.getBestMove() != blunder);
+    assertTrue(result.getScore() > Evaluation.MAN_VALUE / 2);
+    assertTrue(result.getQuiescenceNodes() > 0);
+
+    SearchEngine horizon = new SearchEngine(1);
+    horizon.setQuiescence(false);
+    assertEquals(0, horizon.search(board, Color.BLACK, SearchLimits.depth(1))
+        .getQuiescenceNodes());
+  }
+
+  /**
+   * Test that an exception is thrown when a depth above MAX_DEPTH is asked for.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooDeep() {
+    SearchLimits.depth(SearchLimits.MAX_DEPTH + 1);
+  }
+
+  /**
+   * Test that an exception is thrown when the soft time limit is above the hard one.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSoftAboveHard() {
+    SearchLimits.time(200, 100);
+  }
+
+  /**
+   * Test that no iteration is started after the soft time limit, well before the hard one.
+   */
+  @Test
+  public void testSoftLimit() {
+    SearchResult result = this.engine.search(Board.initial(), Color.BLACK,
+        SearchLimits.time(20, 60_000));
+    assertTrue(result.getDepth() > 1);
+    assertTrue(result.getDepth() < SearchLimits.MAX_DEPTH);
+    assertTrue(result.getNanos() / 1_000_000 + " ms", result.getNanos() < 10_000_000_000L);
+  }
+
+  /**
+   * Test that a search with a deadline returns a legal move in time, even when the
+   * deadline has already passed. The engine is warmed up first, so that what is
+   * measured is the search and not the compiler.
+   */
+  @Test
+  public void testDeadline() {
+    for (int i = 0; i < 5; i++) {
+      this.engine.search(Board.initial(), Color.BLACK, Instant.now().plusMillis(100));
+    }
+    long worst = Long.MIN_VALUE;
+    SearchResult result = null;
+    for (int i = 0; i < 5; i++) {
+      Instant deadline = Instant.now().plusMillis(100);
+      result = this.engine.search(Board.initial(), Color.BLACK, deadline);
+      worst = Math.max(worst, Duration.between(deadline, Instant.now()).toMillis());
+      assertTrue(isLegal(Board.initial(), Color.BLACK, result.getBestMove()));
+    }
+    assertTrue(worst + " ms late", worst <= 5);
+
+    result = this.engine.search(Board.initial(), Color.BLACK, Instant.now().minusMillis(10));
+    assertTrue(isLegal(Board.initial(), Color.BLACK, result.getBestMove()));
+  }
+}
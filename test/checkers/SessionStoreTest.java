@@ -0,0 +1,142 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the SessionStore class.
+ */
+public class SessionStoreTest {
+
+  private static final int FROM = Coordinates.squareOf(5, 1);
+  private static final int TO = Coordinates.squareOf(4, 0);
+
+  /**
+   * Test that an exception is thrown when a negative size is
+   * passed into the constructor.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSize() {
+    SessionStore data = new SessionStore(-1);
+  }
+
+  /**
+   * Test creating, reading and removing games.
+   */
+  @Test
+  public void testCreateAndRemove() {
+    SessionStore store = new SessionStore(10);
+    assertTrue(store.create(42));
+    assertFalse(store.create(42));
+    assertTrue(store.create(Long.MIN_VALUE, new Board(1, 1 << 31, 0), Color.WHITE));
+    assertEquals(2, store.size());
+
+    assertEquals(Board.initial(), store.getBoard(42));
+    assertEquals(Color.BLACK, store.getSide(42));
+    assertEquals(0, store.getMoveCount(42));
+    assertEquals(new Board(1, 1 << 31, 0), store.getBoard(Long.MIN_VALUE));
+    assertEquals(Color.WHITE, store.getSide(Long.MIN_VALUE));
+
+    assertTrue(store.remove(42));
+    assertFalse(store.remove(42));
+    assertNull(store.getBoard(42));
+    assertEquals(-1, store.getMoveCount(42));
+    assertEquals(1, store.size());
+  }
+
+  /**
+   * Test that legal moves are played and illegal ones are refused.
+   */
+  @Test
+  public void testPlay() {
+    SessionStore store = new SessionStore(10);
+    store.create(7);
+    long move = Move.of(FROM, TO, 0, false);
+    assertFalse(store.play(7, Move.of(FROM, Coordinates.squareOf(3, 3), 0, false)));
+    assertFalse(store.play(8, move));
+    assertTrue(store.play(7, move));
+    assertEquals(Board.initial().play(move), store.getBoard(7));
+    assertEquals(Color.WHITE, store.getSide(7));
+    assertEquals(1, store.getMoveCount(7));
+
+    // the same move again is not legal for white
+    assertEquals(Move.NONE, store.play(7, FROM, TO));
+    int whiteFrom = Coordinates.squareOf(2, 2);
+    int whiteTo = Coordinates.squareOf(3, 3);
+    assertEquals(Move.of(whiteFrom, whiteTo, 0, false), store.play(7, whiteFrom, whiteTo));
+    assertEquals(2, store.getMoveCount(7));
+  }
+
+  /**
+   * Test that many games survive growing the table and removing games in between.
+   */
+  @Test
+  public void testManyGames() {
+    SessionStore store = new SessionStore(0);
+    for (long id = 0; id < 20000; id++) {
+      assertTrue(store.create(id * 1_000_003));
+    }
+    for (long id = 0; id < 20000; id += 2) {
+      assertTrue(store.remove(id * 1_000_003));
+    }
+    assertEquals(10000, store.size());
+    for (long id = 0; id < 20000; id++) {
+      assertEquals(id % 2 == 1, store.getBoard(id * 1_000_003) != null);
+    }
+  }
+
+  /**
+   * Test that games played from several threads at once all end up as expected.
+   */
+  @Test
+  public void testConcurrentPlay() throws InterruptedException {
+    SessionStore store = new SessionStore(1000);
+    int threads = 4;
+    int gamesPerThread = 250;
+    List<Thread> workers = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      int first = t * gamesPerThread;
+      Thread worker = new Thread(() -> {
+        try {
+          SplittableRandom random = new SplittableRandom(first);
+          long[] buffer = new long[MoveGenerator.MAX_MOVES];
+          for (int id = first; id < first + gamesPerThread; id++) {
+            store.create(id);
+            Board board = Board.initial();
+            Color side = Color.BLACK;
+            for (int ply = 0; ply < 40; ply++) {
+              int count = MoveGenerator.generate(board, side, buffer, 0);
+              if (count == 0) {
+                break;
+              }
+              long move = buffer[random.nextInt(count)];
+              assertTrue(store.play(id, move));
+              board = board.play(move);
+              side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+            }
+            assertEquals(board, store.getBoard(id));
+          }
+        } catch (Throwable e) {
+          synchronized (failures) {
+            failures.add(e);
+          }
+        }
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    assertTrue(failures.toString(), failures.isEmpty());
+    assertEquals(threads * gamesPerThread, store.size());
+  }
+}
@@ -0,0 +1,98 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Symmetry class.
+ */
+public class SymmetryTest {
+
+  /**
+   * Test that turning the board takes every square to the opposite one.
+   */
+  @Test
+  public void testMirror() {
+    for (int square = 0; square < 32; square++) {
+      assertEquals(1 << (31 - square), Symmetry.mirror(1 << square));
+      Coordinates coordinates = Coordinates.ofSquare(square);
+      Coordinates turned = Coordinates.ofSquare(31 - square);
+      assertEquals(7 - coordinates.getRow(), turned.getRow());
+      assertEquals(7 - coordinates.getColumn(), turned.getColumn());
+    }
+    assertEquals(Board.initial().getWhite(), Symmetry.mirror(Board.initial().getBlack()));
+  }
+
+  /**
+   * Test that a position and its twin have the same canonical form and key, and that
+   * the moves of the twin are the moves of the position turned round.
+   */
+  @Test
+  public void testCanonical() {
+    SplittableRandom random = new SplittableRandom(3);
+    long[] moves = new long[MoveGenerator.MAX_MOVES];
+    long[] twinMoves = new long[MoveGenerator.MAX_MOVES];
+    Board board = Board.initial();
+    Color side = Color.BLACK;
+    for (int ply = 0; ply < 60; ply++) {
+      int count = MoveGenerator.generate(board, side, moves, 0);
+      if (count == 0) {
+        break;
+      }
+      Board canonical = Symmetry.canonical(board, side);
+      Board twin = Symmetry.canonical(canonical, Color.WHITE);
+      assertEquals(Symmetry.canonicalKey(board, side),
+          Symmetry.canonicalKey(twin, Color.WHITE));
+      assertEquals(Zobrist.hash(canonical, Color.BLACK), Symmetry.canonicalKey(board, side));
+
+      assertEquals(count, MoveGenerator.generate(canonical, Color.BLACK, twinMoves, 0));
+      for (int i = 0; i < count; i++) {
+        if (Symmetry.isSwapped(side)) {
+          twinMoves[i] = Symmetry.mirrorMove(twinMoves[i]);
+        }
+      }
+      Arrays.sort(moves, 0, count);
+      Arrays.sort(twinMoves, 0, count);
+      assertEquals(Arrays.toString(Arrays.copyOf(moves, count)),
+          Arrays.toString(Arrays.copyOf(twinMoves, count)));
+
+      board = board.play(moves[random.nextInt(count)]);
+      side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+    }
+    assertSame(board, Symmetry.canonical(board, Color.BLACK));
+    assertNotEquals(Symmetry.canonicalKey(Board.initial(), Color.BLACK),
+        Symmetry.canonicalKey(Board.initial().play(moves[0]), Color.BLACK));
+  }
+
+  /**
+   * Test that the canonical key a Position keeps up to date is the one computed from
+   * scratch, after every move made and taken back.
+   */
+  @Test
+  public void testPositionKey() {
+    SplittableRandom random = new SplittableRandom(4);
+    long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    Position position = new Position(Board.initial(), Color.WHITE, 100);
+    long[] keys = new long[101];
+    keys[0] = position.getCanonicalKey();
+    while (position.getPly() < 100) {
+      int count = position.generateMoves(buffer, 0);
+      if (count == 0) {
+        break;
+      }
+      position.makeMove(buffer[random.nextInt(count)]);
+      keys[position.getPly()] = position.getCanonicalKey();
+      assertEquals(Symmetry.canonicalKey(position.toBoard(), position.getSide()),
+          position.getCanonicalKey());
+    }
+    while (position.getPly() > 0) {
+      position.unmakeMove();
+      assertEquals(keys[position.getPly()], position.getCanonicalKey());
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Tablebase, TablebaseGenerator and Material classes.
+ */
+public class TablebaseTest {
+
+  private Path directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("tablebase");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+  }
+
+  /**
+   * Test that decoding the index of a position gives the position back.
+   */
+  @Test
+  public void testIndex() {
+    Material material = new Material(2, 1, 1, 2);
+    SplittableRandom random = new SplittableRandom(7);
+    int[] masks = new int[3];
+    int decoded = 0;
+    for (int i = 0; i < 1000; i++) {
+      long index = random.nextLong(material.size());
+      if (material.decode(index, masks)) {
+        assertEquals(material.code(), Material.code(masks[0], masks[1], masks[2]));
+        assertEquals(index, Material.index(masks[0], masks[1], masks[2]));
+        decoded++;
+      }
+    }
+    assertTrue(decoded > 500);
+  }
+
+  /**
+   * Test that slices whose counts differ only in how they split into digits get
+   * different files.
+   */
+  @Test
+  public void testFileName() {
+    assertEquals("1-10-0-1.ctb", new Material(1, 10, 0, 1).fileName());
+    assertNotEquals(new Material(1, 10, 0, 1).fileName(),
+        new Material(11, 0, 0, 1).fileName());
+  }
+
+  /**
+   * Test that an exception is thrown when too few pieces are asked for.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooFewPieces() throws IOException {
+    TablebaseGenerator data = new TablebaseGenerator(directory, 1);
+  }
+
+  /**
+   * Test that every slice of the most pieces the generator accepts can be solved in one
+   * array.
+   */
+  @Test
+  public void testSliceSize() throws IOException {
+    long largest = 0;
+    for (Material material : new TablebaseGenerator(directory, 6).slices()) {
+      largest = Math.max(largest, material.size());
+    }
+    assertEquals(new Material(1, 2, 1, 2).size(), largest);
+    assertTrue(largest <= TablebaseGenerator.MAX_SLICE_SIZE);
+  }
+
+  /**
+   * Test that an exception is thrown, before anything is solved, when a slice has too
+   * many indexes to be solved: one black Man and two Kings against two white Men and
+   * two Kings has over 2.6 billion.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyPieces() throws IOException {
+    TablebaseGenerator data = new TablebaseGenerator(directory, 7);
+  }
+
+  /**
+   * Test a few positions of a generated tablebase whose result is easy to see.
+   */
+  @Test
+  public void testProbe() throws IOException {
+    new TablebaseGenerator(directory, 3).generate();
+    Tablebase tablebase = new Tablebase(directory);
+
+    // a black Man on (2, 0) blocked by white Kings on (1, 1) and (0, 2) has no move
+    int man = bit(2, 0);
+    int kings = bit(1, 1) | bit(0, 2);
+    assertEquals(-SearchEngine.WIN, tablebase.probe(new Board(man, kings, kings), Color.BLACK));
+
+    // a black King next to the only white piece jumps it
+    int blackKing = bit(3, 3);
+    int whiteKing = bit(4, 4);
+    Board board = new Board(blackKing, whiteKing, blackKing | whiteKing);
+    assertEquals(SearchEngine.WIN - 1, tablebase.probe(board, Color.BLACK));
+
+    // two Kings beat one
+    board = new Board(bit(7, 7) | bit(7, 5), bit(0, 0), bit(7, 7) | bit(7, 5) | bit(0, 0));
+    int score = tablebase.probe(board, Color.BLACK);
+    assertTrue(score > 0 && score != Tablebase.NOT_FOUND);
+    assertTrue(tablebase.probe(board, Color.WHITE) < 0);
+
+    // four pieces were not generated
+    assertEquals(Tablebase.NOT_FOUND, tablebase.probe(Board.initial(), Color.BLACK));
+  }
+
+  /**
+   * Test that every result of a slice agrees with the results one move later.
+   */
+  @Test
+  public void testConsistent() throws IOException {
+    new TablebaseGenerator(directory, 3).generate();
+    Tablebase tablebase = new Tablebase(directory);
+    Material material = new Material(1, 0, 0, 2);
+    int[] masks = new int[3];
+    long[] moves = new long[MoveGenerator.MAX_MOVES];
+    for (long index = 0; index < material.size(); index++) {
+      if (!material.decode(index, masks)) {
+        continue;
+      }
+      Board board = new Board(masks[0], masks[1], masks[2]);
+      for (Color side : Color.values()) {
+        Color opponent = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+        int count = MoveGenerator.generate(board, side, moves, 0);
+        int expected = count == 0 ? -SearchEngine.WIN : -SearchEngine.WIN - 1;
+        for (int i = 0; i < count; i++) {
+          Board child = board.play(moves[i]);
+          int childScore = child.getPieces(opponent) == 0 ? -SearchEngine.WIN
+              : tablebase.probe(child, opponent);
+          int score = childScore == 0 ? 0 : -childScore + (childScore > 0 ? 1 : -1);
+          expected = Math.max(expected, score);
+        }
+        assertEquals(board + " " + side, expected, tablebase.probe(board, side));
+      }
+    }
+  }
+
+  /**
+   * Test that generating again skips the slices that are already written.
+   */
+  @Test
+  public void testRestart() throws IOException {
+    TablebaseGenerator generator = new TablebaseGenerator(directory, 2);
+    generator.generate();
+    Material material = new Material(0, 1, 0, 1);
+    Path file = directory.resolve(material.fileName());
+    assertTrue(Files.exists(file));
+    // only black to move is stored
+    assertEquals(Tablebase.HEADER_SIZE + 2 * material.size(), Files.size(file));
+    long modified = Files.getLastModifiedTime(file).toMillis();
+    Files.setLastModifiedTime(file, FileTime.fromMillis(modified - 10000));
+    generator.generate();
+    assertEquals(modified - 10000, Files.getLastModifiedTime(file).toMillis());
+  }
+
+  private static int bit(int row, int column) {
+    return 1 << Coordinates.squareOf(row, column);
+  }
+}
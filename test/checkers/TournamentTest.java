@@ -0,0 +1,87 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Tournament and TournamentResult classes.
+ */
+public class TournamentTest {
+
+  private static Player random(long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    long[] buffer = new long[MoveGenerator.MAX_MOVES];
+    return (board, side) ->
+        buffer[random.nextInt(MoveGenerator.generate(board, side, buffer, 0))];
+  }
+
+  /**
+   * Test that an exception is thrown when no games are asked for.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoGames() {
+    Tournament data = new Tournament(0, 4, 100, 0, 1);
+  }
+
+  /**
+   * Test that every game of a tournament is counted.
+   */
+  @Test
+  public void testPlay() {
+    Tournament tournament = new Tournament(200, 4, 150, 0, 7);
+    TournamentResult result = tournament.play(() -> random(1), () -> random(2));
+    assertEquals(200, result.getGames());
+    assertTrue(result.getGamesPerMinute() > 0);
+  }
+
+  /**
+   * Test that a game that fails makes the tournament fail instead of going missing.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testFailedGame() {
+    Tournament tournament = new Tournament(4, 0, 100, 0, 1);
+    tournament.play(() -> random(1), () -> (board, side) -> {
+      throw new IllegalArgumentException("broken player");
+    });
+  }
+
+  /**
+   * Test that a searching player beats a random one.
+   */
+  @Test
+  public void testStrongerWins() {
+    Tournament tournament = new Tournament(20, 2, 200, 3, 3);
+    TournamentResult result = tournament.play(() -> Player.engine(1, SearchLimits.depth(4)),
+        () -> random(5));
+    assertTrue(result.toString(), result.getScore() > 0.75);
+    assertTrue(result.getElo() > 0);
+  }
+
+  /**
+   * Test that a player returning an illegal move loses, and that the move limit draws.
+   */
+  @Test
+  public void testIllegalMoveAndLimit() {
+    Tournament tournament = new Tournament(2, 0, 100, 0, 1);
+    Player illegal = (board, side) -> Move.NONE;
+    assertEquals(Color.WHITE, tournament.playGame(illegal, random(1), Color.BLACK, 0));
+
+    Tournament quick = new Tournament(2, 0, 2, 0, 1);
+    assertNull(quick.playGame(random(1), random(2), Color.BLACK, 0));
+  }
+
+  /**
+   * Test the Elo estimate of a few results.
+   */
+  @Test
+  public void testElo() {
+    assertEquals(0, new TournamentResult(10, 0, 10, 1).getElo(), 1e-9);
+    assertEquals(191, new TournamentResult(75, 0, 25, 1).getElo(), 1);
+    assertTrue(new TournamentResult(75, 0, 25, 1).getEloMargin() > 0);
+    assertEquals(Double.POSITIVE_INFINITY, new TournamentResult(3, 0, 0, 1).getElo(), 0);
+  }
+}
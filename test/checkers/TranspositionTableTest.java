@@ -0,0 +1,76 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the TranspositionTable class.
+ */
+public class TranspositionTableTest {
+
+  private TranspositionTable table;
+  private long move;
+
+  /**
+   * Set up a small table and a move.
+   */
+  @Before
+  public void setUp() {
+    this.table = new TranspositionTable(1);
+    this.move = Move.of(21, 17, 0, false);
+  }
+
+  /**
+   * Test that an exception is thrown when a size that is not positive is
+   * passed into the constructor.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalSize() {
+    TranspositionTable data = new TranspositionTable(0);
+  }
+
+  /**
+   * Test that a stored entry is found again with all its fields.
+   */
+  @Test
+  public void testStoreAndProbe() {
+    assertEquals(65536, this.table.capacity());
+    assertEquals(0, this.table.probe(12345L));
+
+    this.table.store(12345L, this.move, -250, 7, TranspositionTable.LOWER_BOUND);
+    long entry = this.table.probe(12345L);
+    assertEquals(-250, TranspositionTable.score(entry));
+    assertEquals(7, TranspositionTable.depth(entry));
+    assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+    assertTrue(TranspositionTable.isMove(entry, this.move));
+    assertFalse(TranspositionTable.isMove(entry, Move.of(21, 16, 0, false)));
+
+    this.table.clear();
+    assertEquals(0, this.table.probe(12345L));
+  }
+
+  /**
+   * Test that a deep entry is kept when a shallower one lands in the same bucket,
+   * and that both can be found.
+   */
+  @Test
+  public void testReplacement() {
+    long deepKey = 2L;
+    long shallowKey = 2L + this.table.capacity(); // same bucket, different key
+    this.table.store(deepKey, this.move, 10, 9, TranspositionTable.EXACT);
+    this.table.store(shallowKey, Move.NONE, 20, 1, TranspositionTable.EXACT);
+    assertEquals(9, TranspositionTable.depth(this.table.probe(deepKey)));
+    assertEquals(1, TranspositionTable.depth(this.table.probe(shallowKey)));
+
+    // after a new search, the old deep entry gives way
+    this.table.newSearch();
+    long newKey = 2L + 2L * this.table.capacity();
+    this.table.store(newKey, Move.NONE, 30, 1, TranspositionTable.EXACT);
+    assertEquals(0, this.table.probe(deepKey));
+    assertEquals(30, TranspositionTable.score(this.table.probe(newKey)));
+  }
+}
@@ -0,0 +1,170 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the WideMoveGenerator, WideMove and WideBoard classes.
+ */
+public class WideMoveGeneratorTest {
+
+  /* leaf counts of international draughts from the starting board, indexed by depth */
+  private static final long[] INTERNATIONAL_COUNTS = {1, 9, 81, 658, 4265, 27117, 167140};
+
+  private static final Geometry TEN = Geometry.INTERNATIONAL;
+
+  private static long bit(int row, int column) {
+    return 1L << TEN.squareOf(row, column);
+  }
+
+  private static long perft(WideBoard board, Rules rules, Color side, int depth) {
+    if (depth == 0) {
+      return 1;
+    }
+    long[] moves = new long[WideMoveGenerator.MAX_MOVES];
+    int count = board.generateMoves(rules, side, moves, 0);
+    long leaves = 0;
+    for (int i = 0; i < count; i++) {
+      leaves += perft(board.play(moves[i]), rules, side == Color.BLACK ? Color.WHITE
+          : Color.BLACK, depth - 1);
+    }
+    return leaves;
+  }
+
+  /**
+   * Test that the 8x8 board under the English rules gives the perft counts of the
+   * MoveGenerator.
+   */
+  @Test
+  public void testCheckersPerft() {
+    WideBoard initial = WideBoard.initial(Geometry.CHECKERS);
+    for (int depth = 0; depth <= 6; depth++) {
+      assertEquals(Perft.knownCount(depth), perft(initial, Rules.ENGLISH, Color.BLACK, depth));
+    }
+  }
+
+  /**
+   * Test the known perft counts of international draughts.
+   */
+  @Test
+  public void testInternationalPerft() {
+    WideBoard initial = WideBoard.initial(TEN);
+    for (int depth = 0; depth < INTERNATIONAL_COUNTS.length; depth++) {
+      assertEquals(INTERNATIONAL_COUNTS[depth],
+          perft(initial, Rules.INTERNATIONAL, Color.WHITE, depth));
+    }
+  }
+
+  /**
+   * Test that a flying King reaches every empty square of its diagonals.
+   */
+  @Test
+  public void testFlyingKing() {
+    WideBoard board = new WideBoard(TEN, bit(0, 0), bit(9, 1), bit(0, 0));
+    long[] moves = new long[WideMoveGenerator.MAX_MOVES];
+    assertEquals(9, board.generateMoves(Rules.INTERNATIONAL, Color.BLACK, moves, 0));
+    assertEquals(1, board.generateMoves(Rules.ENGLISH, Color.BLACK, moves, 0));
+  }
+
+  /**
+   * Test that a flying King captures from afar, landing on any empty square behind.
+   */
+  @Test
+  public void testFlyingCapture() {
+    WideBoard board = new WideBoard(TEN, bit(0, 0), bit(5, 5), bit(0, 0));
+    long[] moves = new long[WideMoveGenerator.MAX_MOVES];
+    int count = board.generateMoves(Rules.INTERNATIONAL, Color.BLACK, moves, 0);
+    assertEquals(4, count); // onto (6, 6) to (9, 9)
+    for (int i = 0; i < count; i++) {
+      assertEquals(bit(5, 5), WideMove.captured(moves[i]));
+    }
+  }
+
+  /**
+   * Test that a Man captures backward, and that the capture taking the most pieces
+   * must be played.
+   */
+  @Test
+  public void testMaximumCapture() {
+    // a black Man on (4, 4) can take (5, 5) backward, or (3, 3) and then (1, 3)
+    long white = bit(5, 5) | bit(3, 3) | bit(1, 3);
+    WideBoard board = new WideBoard(TEN, bit(4, 4), white, 0);
+    long[] moves = new long[WideMoveGenerator.MAX_MOVES];
+    int count = board.generateMoves(Rules.INTERNATIONAL, Color.BLACK, moves, 0);
+    assertEquals(1, count);
+    assertEquals(bit(3, 3) | bit(1, 3), WideMove.captured(moves[0]));
+    assertEquals(TEN.squareOf(0, 4), WideMove.to(moves[0]));
+    assertTrue(WideMove.isPromotion(moves[0]));
+
+    Rules noMaximum = new Rules(true, true, false);
+    assertEquals(2, board.generateMoves(noMaximum, Color.BLACK, moves, 0));
+  }
+
+  /**
+   * Test that the pieces found to capture and to step by whole-mask steps are the ones
+   * the generated moves start from, along random games under several rules.
+   */
+  @Test
+  public void testJumpersAndMovers() {
+    SplittableRandom random = new SplittableRandom(11);
+    long[] moves = new long[WideMoveGenerator.MAX_MOVES];
+    Rules[] rules = {Rules.INTERNATIONAL, Rules.ENGLISH, new Rules(true, false, false)};
+    for (Geometry geometry : new Geometry[] {TEN, Geometry.CHECKERS}) {
+      for (Rules rule : rules) {
+        for (int game = 0; game < 20; game++) {
+          WideBoard board = WideBoard.initial(geometry);
+          Color side = Color.WHITE;
+          for (int ply = 0; ply < 200; ply++) {
+            int count = board.generateMoves(rule, side, moves, 0);
+            long own = side == Color.BLACK ? board.getBlack() : board.getWhite();
+            long opponents = side == Color.BLACK ? board.getWhite() : board.getBlack();
+            long empty = ~(own | opponents) & ((1L << geometry.getSquares()) - 1);
+            long jumpers = WideBoard.jumpers(geometry, rule, own, opponents, empty,
+                board.getKings(), side);
+            long movers = WideBoard.movers(geometry, own, empty, board.getKings(), side);
+            long froms = 0;
+            for (int i = 0; i < count; i++) {
+              froms |= 1L << WideMove.from(moves[i]);
+              assertEquals(jumpers != 0, WideMove.captured(moves[i]) != 0);
+            }
+            if (jumpers != 0) {
+              // the majority rule may leave some pieces that can capture without a move
+              assertEquals(froms, froms & jumpers);
+              assertTrue(rule.hasMaximumCapture() || froms == jumpers);
+            } else {
+              assertEquals(movers, froms);
+            }
+            if (count == 0) {
+              break;
+            }
+            board = board.play(moves[random.nextInt(count)]);
+            side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test that the plays of a move give the board after it.
+   */
+  @Test
+  public void testPlay() {
+    WideBoard board = WideBoard.initial(TEN);
+    long move = WideMove.of(TEN.squareOf(3, 1), TEN.squareOf(4, 2), 0, false);
+    WideBoard after = board.play(move);
+    assertEquals(board.getWhite() & ~bit(3, 1) | bit(4, 2), after.getWhite());
+    assertEquals(board.getBlack(), after.getBlack());
+  }
+
+  /**
+   * Test that an exception is thrown for masks that are not a position.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadMasks() {
+    new WideBoard(TEN, 1L << 50, 0, 0);
+  }
+}
@@ -0,0 +1,62 @@
+package checkers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+/**
+ * A JUnit test class for the Zobrist class.
+ */
+public class ZobristTest {
+
+  /**
+   * Test that the key depends on the side to move and on the pieces.
+   */
+  @Test
+  public void testHash() {
+    Board board = Board.initial();
+    assertEquals(Zobrist.hash(board, Color.BLACK), Zobrist.hash(Board.initial(), Color.BLACK));
+    assertNotEquals(Zobrist.hash(board, Color.BLACK), Zobrist.hash(board, Color.WHITE));
+
+    // the same squares with a King instead of a Man
+    Board man = new Board(1, 1 << 31, 0);
+    Board king = new Board(1, 1 << 31, 1);
+    assertNotEquals(Zobrist.hash(man, Color.BLACK), Zobrist.hash(king, Color.BLACK));
+  }
+
+  /**
+   * Test that following a game with update gives the same keys as hashing each position,
+   * and that updating again walks the keys back.
+   */
+  @Test
+  public void testUpdate() {
+    long[] moves = new long[MoveGenerator.MAX_MOVES];
+    long[] played = new long[120];
+    Board[] boards = new Board[played.length + 1];
+    long[] keys = new long[played.length + 1];
+    boards[0] = Board.initial();
+    keys[0] = Zobrist.hash(boards[0], Color.BLACK);
+    Color side = Color.BLACK;
+    int ply = 0;
+    while (ply < played.length) {
+      int count = MoveGenerator.generate(boards[ply], side, moves, 0);
+      if (count == 0) {
+        break;
+      }
+      played[ply] = moves[(ply * 7) % count];
+      keys[ply + 1] = Zobrist.update(keys[ply], boards[ply], played[ply]);
+      boards[ply + 1] = boards[ply].play(played[ply]);
+      side = side == Color.BLACK ? Color.WHITE : Color.BLACK;
+      ply++;
+      assertEquals(Zobrist.hash(boards[ply], side), keys[ply]);
+    }
+
+    // unmake every move again
+    long key = keys[ply];
+    for (int i = ply - 1; i >= 0; i--) {
+      key = Zobrist.update(key, boards[i], played[i]);
+      assertEquals(keys[i], key);
+    }
+  }
+}